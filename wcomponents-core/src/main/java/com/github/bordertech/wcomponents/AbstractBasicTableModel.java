@@ -116,14 +116,6 @@ public abstract class AbstractBasicTableModel implements BasicTableModel, Serial
 			columnData[i] = getValueAt(i, col);
 		}
 
-		int[] sortIndices = new int[getRowCount()];
-
-		for (int i = 0; i < sortIndices.length; i++) {
-			sortIndices[i] = i;
-		}
-
-		TableUtil.sortData(columnData, comparator, ascending, 0, columnData.length - 1, sortIndices);
-
-		return sortIndices;
+		return TableUtil.sortIndices(columnData, comparator, ascending);
 	}
 }
@@ -1,6 +1,6 @@
 package com.github.bordertech.wcomponents;
 
-import org.apache.commons.beanutils.PropertyUtils;
+import com.github.bordertech.wcomponents.util.BeanPropertyAccessor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -93,7 +93,7 @@ public abstract class AbstractBeanTableDataModel extends AbstractTableDataModel
 				beanValue = bean;
 			} else {
 				try {
-					beanValue = PropertyUtils.getProperty(bean, property);
+					beanValue = BeanPropertyAccessor.getProperty(bean, property);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + property + " from " + bean, e);
 				}
@@ -132,14 +132,6 @@ public abstract class AbstractTableDataModel implements TableDataModel, Serializ
 			columnData[i] = getValueAt(i, col);
 		}
 
-		int[] sortIndices = new int[getRowCount()];
-
-		for (int i = 0; i < sortIndices.length; i++) {
-			sortIndices[i] = i;
-		}
-
-		TableUtil.sortData(columnData, comparator, ascending, 0, columnData.length - 1, sortIndices);
-
-		return sortIndices;
+		return TableUtil.sortIndices(columnData, comparator, ascending);
 	}
 }
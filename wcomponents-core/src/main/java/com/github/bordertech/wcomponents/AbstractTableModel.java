@@ -1,20 +1,23 @@
 package com.github.bordertech.wcomponents;
 
-import com.github.bordertech.wcomponents.WTable.TableModel;
+import com.github.bordertech.wcomponents.WTable.RowPathTableModel;
 import com.github.bordertech.wcomponents.util.TableUtil;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 /**
  * A skeleton implementation of a simple data model that does not support sorting, selectability, expandability or
  * editability.
+ * <p>
+ * The {@link RowPath} methods call the equivalent list methods, so subclasses only need to implement the list methods.
+ * Subclasses may override the row path methods to read the row indexes without boxing.
+ * </p>
  *
  * @author Jonathan Austin
  * @since 1.0.0
  */
-public abstract class AbstractTableModel implements TableModel, Serializable {
+public abstract class AbstractTableModel implements RowPathTableModel, Serializable {
 
 	/**
 	 * {@inheritDoc}
@@ -131,6 +134,86 @@ public abstract class AbstractTableModel implements TableModel, Serializable {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final RowPath row, final int col) {
+		return getValueAt((List<Integer>) row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final RowPath row, final int col) {
+		return isCellEditable((List<Integer>) row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final RowPath row, final int col) {
+		setValueAt(value, (List<Integer>) row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final RowPath row) {
+		return isDisabled((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final RowPath row) {
+		return isSelectable((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isExpandable(final RowPath row) {
+		return isExpandable((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final RowPath row) {
+		return hasChildren((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getChildCount(final RowPath row) {
+		return getChildCount((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final RowPath row) {
+		return getRendererClass((List<Integer>) row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final RowPath row) {
+		return getRowKey((List<Integer>) row);
+	}
+
 	/**
 	 * Calculates the sort order for the data, using the given column and comparator.
 	 *
@@ -145,19 +228,34 @@ public abstract class AbstractTableModel implements TableModel, Serializable {
 		Object[] columnData = new Object[rowCount];
 
 		for (int i = rowCount - 1; i >= 0; i--) {
-			List<Integer> row = new ArrayList<>();
-			row.add(i);
-			columnData[i] = getValueAt(row, col);
+			columnData[i] = getValueAt(RowPath.of(i), col);
 		}
 
-		int[] sortIndices = new int[rowCount];
+		return TableUtil.sortIndices(columnData, comparator, ascending);
+	}
 
-		for (int i = 0; i < sortIndices.length; i++) {
-			sortIndices[i] = i;
-		}
+	/**
+	 * Calculates the sort order for the data, using several columns. Rows are ordered by the first column, then rows
+	 * with equal values in the first column are ordered by the second column, and so on.
+	 *
+	 * @param comparators the comparator to use for each column
+	 * @param cols the columns to sort on
+	 * @param ascending for each column, true for an ascending sort, false for descending.
+	 * @return the row indices in sort order.
+	 */
+	protected int[] sort(final Comparator<Object>[] comparators, final int[] cols, final boolean[] ascending) {
+		// We cache the column data to avoid repeated and potentially expensive lookups
+		int rowCount = getRowCount();
+		Object[][] columnData = new Object[cols.length][rowCount];
+
+		for (int i = rowCount - 1; i >= 0; i--) {
+			RowPath row = RowPath.of(i);
 
-		TableUtil.sortData(columnData, comparator, ascending, 0, columnData.length - 1, sortIndices);
+			for (int c = 0; c < cols.length; c++) {
+				columnData[c][i] = getValueAt(row, cols[c]);
+			}
+		}
 
-		return sortIndices;
+		return TableUtil.sortIndices(columnData, comparators, ascending);
 	}
 }
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +73,46 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	private boolean locked = false;
 
+	/**
+	 * Indicates whether a component class overrides {@link #getId()}.
+	 */
+	private static final ClassValue<Boolean> OVERRIDES_GET_ID = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			try {
+				return type.getMethod("getId").getDeclaringClass() != AbstractWComponent.class;
+			} catch (NoSuchMethodException e) {
+				return Boolean.TRUE;
+			}
+		}
+	};
+
+	/**
+	 * The next component slot number, or {@link #NO_SLOT} once the slot numbers have run out.
+	 */
+	private static final AtomicInteger NEXT_SLOT = new AtomicInteger(1);
+
+	/**
+	 * The slot of a component which was locked after the slot numbers ran out.
+	 */
+	private static final int NO_SLOT = -1;
+
+	/**
+	 * Advances the slot counter, stopping at {@link #NO_SLOT} rather than wrapping around to slots already in use.
+	 */
+	private static final IntUnaryOperator SLOT_INCREMENT = new IntUnaryOperator() {
+		@Override
+		public int applyAsInt(final int slot) {
+			return slot == NO_SLOT || slot == Integer.MAX_VALUE ? NO_SLOT : slot + 1;
+		}
+	};
+
+	/**
+	 * The number used to index this component's data in a {@link UIContextImpl}, or zero if this component has not
+	 * been locked. Slots are allocated in tree order when a UI is locked, so the slots of a UI are close together.
+	 */
+	private transient int slot;
+
 	/**
 	 * The shared model for this component.
 	 */
@@ -181,29 +223,42 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	@Override
 	public String getId() {
-		// As determining the name involves a fair bit of tree traversal, it is cached in the scratch map.
-		// Try to retrieve the cached name first.
-		Map scratchMap = getScratchMap();
-		if (scratchMap != null) {
-			String name = (String) scratchMap.get("name");
-			if (name != null) {
-				return name;
+		// As determining the id involves a fair bit of tree traversal, it is cached with phase scope.
+		// Try to retrieve the cached id first.
+		ComponentSlotMap<String> idCache = UIContextImpl.getIdCache(UIContextHolder.getCurrent(), this);
+
+		if (idCache != null) {
+			String id = idCache.get(this);
+
+			if (id != null) {
+				return id;
 			}
 		}
 
+		return computeId(idCache, -1);
+	}
+
+	/**
+	 * Computes this component's id, and caches it.
+	 *
+	 * @param idCache the cache to store the id in, or null if ids are not being cached.
+	 * @param index this component's index in its parent, or -1 if it is not known.
+	 * @return the id for this component.
+	 */
+	private String computeId(final ComponentSlotMap<String> idCache, final int index) {
 		// Get ID name
 		String idName = getIdName();
 
 		String name;
 		// No ID name, so generate an ID
 		if (idName == null) {
-			name = generateId();
+			name = generateId(index);
 		} else { // Has ID name, so derive the full context name
 			name = deriveId(idName);
 		}
 
-		if (scratchMap != null) {
-			scratchMap.put("name", name);
+		if (idCache != null) {
+			idCache.put(this, name);
 		}
 
 		// Log warning if an Active Naming Context has no id name
@@ -216,9 +271,69 @@ public abstract class AbstractWComponent implements WComponent {
 	}
 
 	/**
+	 * Computes and caches the ids of the components in this naming context in a single traversal, so that the index
+	 * of each component in its parent does not need to be searched for. Nested naming contexts cache their own ids
+	 * when they are painted, and repeaters are not traversed, as their rows are painted in their own contexts.
+	 */
+	private void cacheNamingContextIds() {
+		if (this instanceof WRepeater) {
+			return;
+		}
+
+		List<WComponent> children = getComponentModel().getChildren();
+
+		if (children != null && !children.isEmpty()) {
+			// All the components in this naming context use the same cache
+			ComponentSlotMap<String> idCache = UIContextImpl.getIdCache(UIContextHolder.getCurrent(), children.get(0));
+
+			if (idCache != null) {
+				cacheChildIds(this, idCache);
+			}
+		}
+	}
+
+	/**
+	 * Computes and caches the ids of the given component's descendants, stopping at nested naming contexts and
+	 * repeaters.
+	 *
+	 * @param parent the component whose descendants' ids are to be cached.
+	 * @param idCache the cache to store the ids in.
+	 */
+	private static void cacheChildIds(final AbstractWComponent parent, final ComponentSlotMap<String> idCache) {
+		List<WComponent> children = parent.getComponentModel().getChildren();
+
+		if (children == null) {
+			return;
+		}
+
+		final int size = children.size();
+
+		for (int i = 0; i < size; i++) {
+			WComponent child = children.get(i);
+
+			if (!(child instanceof AbstractWComponent) || !child.isVisible()) {
+				continue;
+			}
+
+			AbstractWComponent component = (AbstractWComponent) child;
+
+			// Components which determine their own ids are left to compute them when required
+			if (!OVERRIDES_GET_ID.get(component.getClass()) && idCache.get(component) == null
+					&& component.getParent() == parent) {
+				component.computeId(idCache, i);
+			}
+
+			if (!(component instanceof WRepeater) && !WebUtilities.isActiveNamingContext(component)) {
+				cacheChildIds(component, idCache);
+			}
+		}
+	}
+
+	/**
+	 * @param index this component's index in its parent, or -1 if it is not known.
 	 * @return the generated unique id
 	 */
-	private String generateId() {
+	private String generateId(final int index) {
 		// Direct parent
 		Container parent = getParent();
 
@@ -252,7 +367,7 @@ public abstract class AbstractWComponent implements WComponent {
 		}
 
 		// Use the component's position in the tree (ie index) to build a unique ID
-		int idx = getIndexOfChild(parent, this);
+		int idx = index == -1 ? getIndexOfChild(parent, this) : index;
 
 		// Parent has a generated ID (ie no id name)
 		// (NamingContexts must have an id name, so never null)
@@ -621,6 +736,7 @@ public abstract class AbstractWComponent implements WComponent {
 			// If painting a NamingContext, reset its registered IDs
 			if (WebUtilities.isActiveNamingContext(this)) {
 				clearIdRegister();
+				cacheNamingContextIds();
 			}
 
 			registerInContext();
@@ -853,6 +969,11 @@ public abstract class AbstractWComponent implements WComponent {
 	public void setLocked(final boolean lock) {
 		this.locked = lock;
 
+		if (lock && slot == 0) {
+			// Once the slots run out, components are left without a slot
+			slot = NEXT_SLOT.getAndUpdate(SLOT_INCREMENT);
+		}
+
 		for (int i = 0; i < getChildCount(); i++) {
 			getChildAt(i).setLocked(lock);
 		}
@@ -866,6 +987,15 @@ public abstract class AbstractWComponent implements WComponent {
 		return locked;
 	}
 
+	/**
+	 * Retrieves the slot number used to index this component's data in a {@link UIContextImpl}.
+	 *
+	 * @return the slot number, or a value less than one if this component does not have a slot.
+	 */
+	int getSlot() {
+		return slot;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1160,6 +1290,9 @@ public abstract class AbstractWComponent implements WComponent {
 				effectiveContext.setModel(this, model);
 				initialiseComponentModel();
 			}
+		} else if (model != sharedModel) {
+			// The caller is about to modify the session model
+			UIContextImpl.notifyModelChanged(UIContextHolder.getCurrent(), this);
 		}
 
 		return model;
@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.WTable.RowPathTableModel;
 import com.github.bordertech.wcomponents.WTable.TableModel;
 import java.io.Serializable;
 import java.util.List;
@@ -16,7 +17,7 @@ import java.util.List;
  * @author Jonathan Austin
  * @since 1.0.0
  */
-public class AdapterBasicTableModel implements TableModel, Serializable {
+public class AdapterBasicTableModel implements RowPathTableModel, Serializable {
 
 	/**
 	 * The basic table model to adapt for the WTable.
@@ -37,6 +38,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return model;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final RowPath row, final int col) {
+		return getBacking().getValueAt(getRowIndex(row), col);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -45,6 +54,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().getValueAt(getRowIndex(row), col);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final RowPath row, final int col) {
+		return getBacking().isCellEditable(getRowIndex(row), col);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -53,6 +70,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().isCellEditable(getRowIndex(row), col);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final RowPath row, final int col) {
+		getBacking().setValueAt(value, getRowIndex(row), col);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -77,6 +102,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().sort(col, ascending);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final RowPath row) {
+		return getBacking().isDisabled(getRowIndex(row));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -85,6 +118,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().isDisabled(getRowIndex(row));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final RowPath row) {
+		return getBacking().isSelectable(getRowIndex(row));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -93,6 +134,15 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().isSelectable(getRowIndex(row));
 	}
 
+	/**
+	 * @param row the row index
+	 * @return false as data is not expandable
+	 */
+	@Override
+	public boolean isExpandable(final RowPath row) {
+		return false;
+	}
+
 	/**
 	 * @param row the row index
 	 * @return false as data is not expandable
@@ -110,6 +160,15 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return getBacking().getRowCount();
 	}
 
+	/**
+	 * @param row ignored
+	 * @return false as data is not expandable
+	 */
+	@Override
+	public boolean hasChildren(final RowPath row) {
+		return false;
+	}
+
 	/**
 	 * @param row ignored
 	 * @return false as data is not expandable
@@ -119,6 +178,15 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return false;
 	}
 
+	/**
+	 * @param row ignored
+	 * @return 0 as data is not expandable
+	 */
+	@Override
+	public int getChildCount(final RowPath row) {
+		return 0;
+	}
+
 	/**
 	 * @param row ignored
 	 * @return 0 as data is not expandable
@@ -128,6 +196,15 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return 0;
 	}
 
+	/**
+	 * @param row ignored
+	 * @return null as data is not expandable
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final RowPath row) {
+		return null;
+	}
+
 	/**
 	 * @param row ignored
 	 * @return null as data is not expandable
@@ -137,6 +214,14 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final RowPath row) {
+		return getBacking().getRowKey(getRowIndex(row));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -150,7 +235,15 @@ public class AdapterBasicTableModel implements TableModel, Serializable {
 	 * @return the first level index as the data is only one level.
 	 */
 	private int getRowIndex(final List<Integer> row) {
-		return row.get(0);
+		return row instanceof RowPath ? getRowIndex((RowPath) row) : row.get(0);
+	}
+
+	/**
+	 * @param row the row index
+	 * @return the first level index as the data is only one level.
+	 */
+	private int getRowIndex(final RowPath row) {
+		return row.getIndex(0);
 	}
 
 	/**
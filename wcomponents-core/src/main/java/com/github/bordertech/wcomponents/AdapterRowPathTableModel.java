@@ -0,0 +1,220 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.RowPathTableModel;
+import com.github.bordertech.wcomponents.WTable.TableModel;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Adapter to allow classes that only implement the {@link TableModel} interface to be used where a
+ * {@link RowPathTableModel} is required. As a {@link RowPath} is also a list row index, the row paths are passed to the
+ * backing model as they are.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class AdapterRowPathTableModel implements RowPathTableModel, Serializable {
+
+	/**
+	 * The table model to adapt.
+	 */
+	private final TableModel model;
+
+	/**
+	 * @param model the table model to adapt
+	 */
+	public AdapterRowPathTableModel(final TableModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * @return the table model to adapt
+	 */
+	public TableModel getBacking() {
+		return model;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final RowPath row, final int col) {
+		return getBacking().getValueAt(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final List<Integer> row, final int col) {
+		return getBacking().getValueAt(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final RowPath row, final int col) {
+		return getBacking().isCellEditable(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final List<Integer> row, final int col) {
+		return getBacking().isCellEditable(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final RowPath row, final int col) {
+		getBacking().setValueAt(value, row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final List<Integer> row, final int col) {
+		getBacking().setValueAt(value, row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSortable(final int col) {
+		return getBacking().isSortable(col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int[] sort(final int col, final boolean ascending) {
+		return getBacking().sort(col, ascending);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final RowPath row) {
+		return getBacking().isDisabled(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final List<Integer> row) {
+		return getBacking().isDisabled(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final RowPath row) {
+		return getBacking().isSelectable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final List<Integer> row) {
+		return getBacking().isSelectable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isExpandable(final RowPath row) {
+		return getBacking().isExpandable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isExpandable(final List<Integer> row) {
+		return getBacking().isExpandable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount() {
+		return getBacking().getRowCount();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final RowPath row) {
+		return getBacking().hasChildren(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final List<Integer> row) {
+		return getBacking().hasChildren(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getChildCount(final RowPath row) {
+		return getBacking().getChildCount(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getChildCount(final List<Integer> row) {
+		return getBacking().getChildCount(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final RowPath row) {
+		return getBacking().getRendererClass(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final List<Integer> row) {
+		return getBacking().getRendererClass(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final RowPath row) {
+		return getBacking().getRowKey(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final List<Integer> row) {
+		return getBacking().getRowKey(row);
+	}
+}
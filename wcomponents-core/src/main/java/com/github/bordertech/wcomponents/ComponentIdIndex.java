@@ -0,0 +1,474 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.WRepeater.WRepeatRoot;
+import com.github.bordertech.wcomponents.util.TreeUtil;
+import com.github.bordertech.wcomponents.util.Util;
+import com.github.bordertech.wcomponents.util.WComponentTreeVisitor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * An index of the visible components in a WComponent tree, keyed by component id. The index is held in the request
+ * scratch map, so it only lives for the current request.</p>
+ *
+ * <p>
+ * The index is built lazily, one scope at a time. A scope holds the components of a naming context or a repeater row,
+ * and its nested naming contexts and repeaters, but not their contents. A lookup only indexes the scopes which can
+ * contain the requested id, in the same way as the search by id in {@link TreeUtil}: nested naming contexts are only
+ * indexed if the id starts with their naming context id, and only the repeater rows with the id's row render id are
+ * indexed. Each scope is traversed at most once, and a lookup which only needs scopes which have already been indexed
+ * does not traverse the tree at all.</p>
+ *
+ * <p>
+ * The tree may be modified while the index is held (e.g. by subordinate controls changing visibility), so each entry
+ * is checked before it is returned. An entry is only returned if the component still has the requested id, is still
+ * attached to the root (including the repeater row it was found in) and is still visible. If an entry is out of date,
+ * or the id is not in the index and a component model has changed since the index was built, the index is rebuilt
+ * once before the lookup gives up. Otherwise an id which is not in the index is not visible, and the lookup returns
+ * without traversing the indexed scopes again.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+final class ComponentIdIndex {
+
+	/**
+	 * The key used to store the index in the root component's request scratch map.
+	 */
+	static final String SCRATCHMAP_KEY = "ComponentIdIndex";
+
+	/**
+	 * The result of checking an entry against the current state of the tree.
+	 */
+	private enum EntryState {
+		/**
+		 * The entry is attached and visible.
+		 */
+		VISIBLE,
+		/**
+		 * The entry is attached but not visible.
+		 */
+		INVISIBLE,
+		/**
+		 * The entry no longer matches the tree.
+		 */
+		STALE
+	}
+
+	/**
+	 * The primary context the tree is indexed in.
+	 */
+	private final UIContext uic;
+
+	/**
+	 * The root of the tree.
+	 */
+	private final WComponent root;
+
+	/**
+	 * The scope holding the components outside any nested naming context or repeater row.
+	 */
+	private final Scope rootScope;
+
+	/**
+	 * The number of model changes in the context when the index was built, not counting changes made by building the
+	 * index, or -1 if the context does not record changes.
+	 */
+	private int modelChangeCount;
+
+	/**
+	 * Creates a ComponentIdIndex, and indexes the root scope.
+	 *
+	 * @param uic the primary context to index the tree in.
+	 * @param root the root of the tree.
+	 */
+	private ComponentIdIndex(final UIContext uic, final WComponent root) {
+		this.uic = uic;
+		this.root = root;
+		this.modelChangeCount = UIContextImpl.getModelChangeCount(uic);
+		this.rootScope = buildScope(uic, root, null);
+	}
+
+	/**
+	 * Finds a visible component by its id, in the tree of the current primary UIContext.
+	 *
+	 * @param id the id of the component to search for.
+	 * @return the component and context for the given id, or null if not found.
+	 */
+	static ComponentWithContext getVisibleComponentById(final String id) {
+		UIContext uic = UIContextHolder.getCurrentPrimaryUIContext();
+		WComponent root = uic.getUI();
+		Map<Object, Object> scratchMap = uic.getRequestScratchMap(root);
+
+		ComponentIdIndex index = (ComponentIdIndex) scratchMap.get(SCRATCHMAP_KEY);
+		boolean rebuilt = false;
+
+		if (index == null) {
+			index = new ComponentIdIndex(uic, root);
+			scratchMap.put(SCRATCHMAP_KEY, index);
+			rebuilt = true;
+		}
+
+		while (true) {
+			Lookup lookup = new Lookup(id);
+			ComponentWithContext result = index.find(index.rootScope, lookup);
+
+			if (result != null || rebuilt || (!lookup.stale && !index.isTreeChanged())) {
+				return result;
+			}
+
+			// The tree has changed since the index was built
+			index = new ComponentIdIndex(uic, root);
+			scratchMap.put(SCRATCHMAP_KEY, index);
+			rebuilt = true;
+		}
+	}
+
+	/**
+	 * Searches a scope, and the nested scopes which can contain the id, for a visible component. Nested scopes are
+	 * indexed when they are first searched.
+	 *
+	 * @param scope the scope to search.
+	 * @param lookup the lookup being performed.
+	 * @return the component and context for the id, or null if not found.
+	 */
+	private ComponentWithContext find(final Scope scope, final Lookup lookup) {
+		String id = lookup.id;
+		List<ComponentWithContext> entries = scope.components.get(id);
+
+		if (entries != null) {
+			for (ComponentWithContext entry : entries) {
+				EntryState state = checkEntry(entry, id, root);
+
+				if (state == EntryState.VISIBLE) {
+					return entry;
+				} else if (state == EntryState.STALE) {
+					lookup.stale = true;
+				}
+			}
+		}
+
+		for (NamingScope naming : scope.namingContexts) {
+			// Components in a naming context all have ids starting with the naming context id
+			if (id.startsWith(naming.prefix)) {
+				if (naming.scope == null) {
+					ComponentWithContext entry = naming.entry;
+					naming.scope = buildScope(entry.getContext(), entry.getComponent(), entry.getComponent());
+				}
+
+				ComponentWithContext result = find(naming.scope, lookup);
+
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
+		for (RepeaterScope repeater : scope.repeaters) {
+			for (UIContext rowContext : getRowContextsForId(repeater, id)) {
+				Scope rowScope = repeater.rows.get(rowContext);
+
+				if (rowScope == null) {
+					WComponent repeatRoot = ((WRepeater) repeater.entry.getComponent()).getRepeatedComponent().
+							getParent();
+					rowScope = buildScope(rowContext, repeatRoot, null);
+					repeater.rows.put(rowContext, rowScope);
+				}
+
+				ComponentWithContext result = find(rowScope, lookup);
+
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the rows of a repeater which may contain the component with the given id.
+	 *
+	 * @param repeater the repeater.
+	 * @param id the id of the component to search for.
+	 * @return the row contexts which may contain the component.
+	 */
+	private List<UIContext> getRowContextsForId(final RepeaterScope repeater, final String id) {
+		int before = UIContextImpl.getModelChangeCount(uic);
+		UIContextHolder.pushContext(repeater.entry.getContext());
+
+		try {
+			return ((WRepeater) repeater.entry.getComponent()).getRowContextsForId(id);
+		} finally {
+			UIContextHolder.popContext();
+			ignoreOwnChanges(before);
+		}
+	}
+
+	/**
+	 * Indexes the visible components of a scope. Nested naming contexts and repeaters are indexed, but their contents
+	 * are left to be indexed as separate scopes.
+	 *
+	 * @param context the context to traverse the scope in.
+	 * @param start the component to start the traversal from.
+	 * @param indexed the component at the start of the scope, if it is indexed in the enclosing scope, otherwise null.
+	 * @return the indexed scope.
+	 */
+	private Scope buildScope(final UIContext context, final WComponent start, final WComponent indexed) {
+		final Scope scope = new Scope();
+		int before = UIContextImpl.getModelChangeCount(uic);
+
+		WComponentTreeVisitor visitor = new WComponentTreeVisitor() {
+			@Override
+			public VisitorResult visit(final WComponent comp) {
+				if (comp == indexed) {
+					return VisitorResult.CONTINUE;
+				}
+
+				ComponentWithContext entry = new ComponentWithContext(comp, UIContextHolder.getCurrent());
+				String id = comp.getId();
+				List<ComponentWithContext> entries = scope.components.get(id);
+
+				if (entries == null) {
+					entries = new ArrayList<>(1);
+					scope.components.put(id, entries);
+				}
+
+				entries.add(entry);
+
+				if (comp instanceof WRepeater) {
+					scope.repeaters.add(new RepeaterScope(entry));
+					return VisitorResult.ABORT_BRANCH;
+				} else if (comp != start && WebUtilities.isActiveNamingContext(comp)) {
+					String prefix = ((NamingContextable) comp).getNamingContextId();
+					prefix = Util.empty(prefix) ? "" : prefix + WComponent.ID_CONTEXT_SEPERATOR;
+					scope.namingContexts.add(new NamingScope(entry, prefix));
+					return VisitorResult.ABORT_BRANCH;
+				}
+
+				return VisitorResult.CONTINUE;
+			}
+		};
+
+		UIContextHolder.pushContext(context);
+
+		try {
+			TreeUtil.traverseVisible(start, visitor);
+		} finally {
+			UIContextHolder.popContext();
+			ignoreOwnChanges(before);
+		}
+
+		return scope;
+	}
+
+	/**
+	 * Creating row contexts while indexing a scope counts as a model change. If the tree had not changed before the
+	 * index started work, those changes are not counted as changes to the tree.
+	 *
+	 * @param before the number of model changes before the index started work.
+	 */
+	private void ignoreOwnChanges(final int before) {
+		if (modelChangeCount >= 0 && modelChangeCount == before) {
+			modelChangeCount = UIContextImpl.getModelChangeCount(uic);
+		}
+	}
+
+	/**
+	 * Indicates whether the tree may have changed since the index was built.
+	 *
+	 * @return true if a component model has changed, or if the context does not record changes.
+	 */
+	private boolean isTreeChanged() {
+		return modelChangeCount < 0 || modelChangeCount != UIContextImpl.getModelChangeCount(uic);
+	}
+
+	/**
+	 * Checks an index entry against the current state of the tree. The checks mirror the visibility rules used by
+	 * {@link TreeUtil#traverseVisible(WComponent, WComponentTreeVisitor)}.
+	 *
+	 * @param entry the entry to check.
+	 * @param id the id the entry was indexed under.
+	 * @param root the root of the tree.
+	 * @return the state of the entry.
+	 */
+	private static EntryState checkEntry(final ComponentWithContext entry, final String id, final WComponent root) {
+		UIContext context = entry.getContext();
+		UIContextHolder.pushContext(context);
+
+		try {
+			if (!id.equals(entry.getComponent().getId())) {
+				return EntryState.STALE;
+			}
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		boolean visible = true;
+		WComponent child = null;
+		WComponent node = entry.getComponent();
+
+		while (node != null) {
+			UIContextHolder.pushContext(context);
+
+			try {
+				WComponent parent = node.getParent();
+
+				if (node instanceof WInvisibleContainer) {
+					if (parent instanceof WCardManager) {
+						// Only the visible card is processed, never the container itself
+						visible &= child != null && child == ((WCardManager) parent).getVisible();
+					} else if (parent instanceof WWindow) {
+						visible &= ((WWindow) parent).getState() == WWindow.ACTIVE_STATE;
+					}
+				} else if (node instanceof WRepeatRoot) {
+					if (!(context instanceof SubUIContext) || !isCurrentRow((WRepeater) parent,
+							(SubUIContext) context)) {
+						return EntryState.STALE;
+					}
+
+					// Carry on up the tree in the repeater's context
+					context = ((SubUIContext) context).getParentContext();
+				} else {
+					visible &= node.isVisible();
+				}
+
+				if (parent == null && node != root) {
+					return EntryState.STALE;
+				}
+
+				child = node;
+				node = parent;
+			} finally {
+				UIContextHolder.popContext();
+			}
+		}
+
+		return visible ? EntryState.VISIBLE : EntryState.INVISIBLE;
+	}
+
+	/**
+	 * Checks whether a row context is still used by a repeater.
+	 *
+	 * @param repeater the repeater.
+	 * @param rowContext the row context.
+	 * @return true if the repeater still has a row for the context.
+	 */
+	private static boolean isCurrentRow(final WRepeater repeater, final SubUIContext rowContext) {
+		UIContextHolder.pushContext(rowContext.getParentContext());
+
+		try {
+			List<?> beanList = repeater.getBeanList();
+			int rowIndex = rowContext.getRowIndex();
+
+			return rowIndex >= 0 && rowIndex < beanList.size()
+					&& Objects.equals(repeater.getRowId(beanList.get(rowIndex)), rowContext.getRowId());
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * The state of a single lookup.
+	 */
+	private static final class Lookup {
+
+		/**
+		 * The id being looked up.
+		 */
+		private final String id;
+
+		/**
+		 * Indicates whether an out of date entry was found for the id.
+		 */
+		private boolean stale;
+
+		/**
+		 * @param id the id being looked up.
+		 */
+		private Lookup(final String id) {
+			this.id = id;
+		}
+	}
+
+	/**
+	 * The indexed components of a naming context or repeater row.
+	 */
+	private static final class Scope {
+
+		/**
+		 * The indexed components, keyed by id. The list holds more than one entry only if an id is duplicated in the
+		 * scope, in which case the entries are in traversal order.
+		 */
+		private final Map<String, List<ComponentWithContext>> components = new HashMap<>();
+
+		/**
+		 * The naming contexts nested in this scope.
+		 */
+		private final List<NamingScope> namingContexts = new ArrayList<>();
+
+		/**
+		 * The repeaters in this scope.
+		 */
+		private final List<RepeaterScope> repeaters = new ArrayList<>();
+	}
+
+	/**
+	 * A naming context nested in a scope.
+	 */
+	private static final class NamingScope {
+
+		/**
+		 * The naming context component and its context.
+		 */
+		private final ComponentWithContext entry;
+
+		/**
+		 * The prefix of the ids of the components in the naming context.
+		 */
+		private final String prefix;
+
+		/**
+		 * The components in the naming context, or null if they have not been indexed.
+		 */
+		private Scope scope;
+
+		/**
+		 * @param entry the naming context component and its context.
+		 * @param prefix the prefix of the ids of the components in the naming context.
+		 */
+		private NamingScope(final ComponentWithContext entry, final String prefix) {
+			this.entry = entry;
+			this.prefix = prefix;
+		}
+	}
+
+	/**
+	 * A repeater in a scope.
+	 */
+	private static final class RepeaterScope {
+
+		/**
+		 * The repeater component and its context.
+		 */
+		private final ComponentWithContext entry;
+
+		/**
+		 * The components in each row which has been indexed, keyed by row context.
+		 */
+		private final Map<UIContext, Scope> rows = new IdentityHashMap<>();
+
+		/**
+		 * @param entry the repeater component and its context.
+		 */
+		private RepeaterScope(final ComponentWithContext entry) {
+			this.entry = entry;
+		}
+	}
+}
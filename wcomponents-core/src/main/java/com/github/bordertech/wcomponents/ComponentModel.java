@@ -2,7 +2,6 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.util.HtmlClassProperties;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
-import com.github.bordertech.wcomponents.util.ReflectionUtil;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.Externalizable;
 import java.io.IOException;
@@ -10,11 +9,8 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -48,11 +44,6 @@ public class ComponentModel implements WebModel, Externalizable {
 	 */
 	private static final Log LOG = LogFactory.getLog(ComponentModel.class);
 
-	/**
-	 * Cache fields obtained using ReflectionUtils - HashMap&lt;Class, Field[]&gt;.
-	 */
-	private static final Map<Class<?>, Field[]> FIELDS_BY_CLASS = new HashMap<>();
-
 	/**
 	 * The bit-mask for the flag that indicates whether a component is visible.
 	 */
@@ -132,7 +123,7 @@ public class ComponentModel implements WebModel, Externalizable {
 	 * yet have a reference to it. When a reference is supplied using the setSharedModel method, this list controls
 	 * which fields should have the values set to the shared model's values.
 	 */
-	private transient List<Field> unsetFields = Arrays.asList(getFields(this));
+	private transient List<ModelField> unsetFields = Arrays.asList(ModelField.getFields(getClass()));
 
 	/**
 	 * A reference to the sharedModel. This is not serialized, and must therefore be supplied after deserialization.
@@ -272,20 +263,15 @@ public class ComponentModel implements WebModel, Externalizable {
 		} else {
 			// Check all fields - this saves subclasses having to override
 			// equals and remembering to call super.equals.
-			final Field[] fields = getFields(this);
+			final ModelField[] fields = ModelField.getFields(getClass());
 
-			try {
-				for (int i = fields.length - 1; i >= 0; i--) {
-					Object value = fields[i].get(this);
-					Object otherValue = fields[i].get(obj);
+			for (int i = fields.length - 1; i >= 0; i--) {
+				Object value = fields[i].get(this);
+				Object otherValue = fields[i].get(obj);
 
-					if (!Util.equals(value, otherValue)) {
-						return false;
-					}
+				if (!Util.equals(value, otherValue)) {
+					return false;
 				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to read field", e);
-				return false;
 			}
 
 			return true;
@@ -319,12 +305,12 @@ public class ComponentModel implements WebModel, Externalizable {
 
 		if (unsetFields != null) {
 			// Copy the data from the shared model
-			for (Field field : unsetFields) {
+			for (ModelField field : unsetFields) {
 				try {
 					Object sharedValue = field.get(sharedModel);
 					Object sessionValue = copyData(sharedValue);
 					field.set(this, sessionValue);
-				} catch (IllegalAccessException | IllegalArgumentException e) {
+				} catch (IllegalArgumentException e) {
 					LOG.error("Failed to set field " + field.getName() + " on " + getClass().
 							getName(), e);
 				}
@@ -702,21 +688,18 @@ public class ComponentModel implements WebModel, Externalizable {
 	 */
 	@Override
 	public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-		Field[] fields = getFields(this);
+		ModelField[] fields = ModelField.getFields(getClass());
+		boolean[] present = ComponentModelCodec.readPresence(in, fields.length);
 		unsetFields = new ArrayList<>();
 
-		for (Field field : fields) {
-			try {
-				Object value = in.readObject();
+		for (int i = 0; i < fields.length; i++) {
+			ModelField field = fields[i];
 
-				if (value instanceof NoOverride) {
-					// No override, so remember for later
-					unsetFields.add(field);
-				} else {
-					field.set(this, value);
-				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to read field " + field.getName(), e);
+			if (present[i]) {
+				field.set(this, ComponentModelCodec.readValue(in, field.getType()));
+			} else {
+				// No override, so remember for later
+				unsetFields.add(field);
 			}
 		}
 	}
@@ -736,103 +719,34 @@ public class ComponentModel implements WebModel, Externalizable {
 	 */
 	@Override
 	public void writeExternal(final ObjectOutput out) throws IOException {
-		Field[] fields = getFields(this);
-
-		for (Field field : fields) {
-			try {
-				if (sharedModel == null) {
-					// Support serialization of the static model,
-					// even though this should not occur.
-					Object value = field.get(this);
-					out.writeObject(value);
-				} else if (unsetFields != null && unsetFields.contains(field)) {
-					// Support the unlikely case being deserialized/serialized
-					// in short succession without the shared model being set.
-					out.writeObject(NoOverride.INSTANCE);
-				} else {
-					Object sharedValue = field.get(sharedModel);
-					Object value = field.get(this);
-
-					if (Util.equals(value, sharedValue)) {
-						out.writeObject(NoOverride.INSTANCE);
-					} else {
-						out.writeObject(value);
-					}
-				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to write field " + field.getName(), e);
+		ModelField[] fields = ModelField.getFields(getClass());
+		Object[] values = new Object[fields.length];
+		boolean[] present = new boolean[fields.length];
+
+		for (int i = 0; i < fields.length; i++) {
+			ModelField field = fields[i];
+
+			if (sharedModel == null) {
+				// Support serialization of the static model,
+				// even though this should not occur.
+				values[i] = field.get(this);
+				present[i] = true;
+			} else if (unsetFields == null || !unsetFields.contains(field)) {
+				// Fields which are still unset are not written. This supports the unlikely case being
+				// deserialized/serialized in short succession without the shared model being set.
+				Object sharedValue = field.get(sharedModel);
+				values[i] = field.get(this);
+				present[i] = !Util.equals(values[i], sharedValue);
 			}
 		}
-	}
 
-	/**
-	 * Returns the list of fields for the given ComponentModel.
-	 *
-	 * @param model the ComponentModel to read fields for.
-	 * @return an array of fields for the given model.
-	 */
-	private static Field[] getFields(final ComponentModel model) {
-		Class modelClass = model.getClass();
-		Field[] fields;
+		// Only the overridden fields are written, after the bitmap of which fields are present
+		ComponentModelCodec.writePresence(out, present);
 
-		synchronized (FIELDS_BY_CLASS) {
-			fields = FIELDS_BY_CLASS.get(modelClass);
-
-			if (fields == null) {
-				List fieldList = ReflectionUtil.getAllFields(model, true, false);
-				Collections.sort(fieldList, new FieldComparator());
-
-				fields = (Field[]) fieldList.toArray(new Field[fieldList.size()]);
-				FIELDS_BY_CLASS.put(modelClass, fields);
+		for (int i = 0; i < fields.length; i++) {
+			if (present[i]) {
+				ComponentModelCodec.writeValue(out, fields[i].getType(), values[i]);
 			}
 		}
-
-		return fields;
-	}
-
-	/**
-	 * When serializing the model, we need to be distinguish a null override of the static model's value vs a field that
-	 * hasn't been written because it hasn't been overridden. This object is used as a marker.
-	 *
-	 * @author Yiannis Paschalidis
-	 */
-	private static final class NoOverride implements Serializable {
-
-		/**
-		 * Singleton instance.
-		 */
-		public static final NoOverride INSTANCE = new NoOverride();
-
-		/**
-		 * Don't allow instantiation from outside of this class.
-		 */
-		private NoOverride() {
-		}
-	}
-
-	/**
-	 * The reflection API doesn't guarantee that fields will be returned in any particular order. To ensure that fields
-	 * are deserialized in the same order that they were serialized, we need to sort the field list.
-	 *
-	 * @author Yiannis Paschalidis
-	 */
-	private static final class FieldComparator implements Comparator<Field>, Serializable {
-
-		/**
-		 * Compares two objects for order. Returns a negative integer, zero, or a positive integer as the first object
-		 * is less than, equal to, or greater than the second.<p>
-		 *
-		 * @param field1 the first field to compare.
-		 * @param field2 the second field to compare.
-		 * @return a negative integer, zero, or a positive integer as the first object is less than, equal to, or
-		 * greater than the second.
-		 */
-		@Override
-		public int compare(final Field field1, final Field field2) {
-			String field1Str = field1.getDeclaringClass().getName() + '.' + field1.getName();
-			String field2Str = field2.getDeclaringClass().getName() + '.' + field2.getName();
-
-			return field1Str.compareTo(field2Str);
-		}
 	}
 }
@@ -0,0 +1,256 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * <p>
+ * Encodes {@link ComponentModel} field values compactly when the model is externalized. Primitive fields are written
+ * directly, and the most common field values (null, Strings, Booleans, Integers and enum constants of the declared
+ * field type) are written with a one byte tag rather than as serialized objects, so that no class descriptors or
+ * object headers need to be written for them.</p>
+ *
+ * <p>
+ * All other values (including collections, which may be shared with other objects in the stream) are written using
+ * {@link ObjectOutput#writeObject(Object)} as before.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+final class ComponentModelCodec {
+
+	/**
+	 * Tag for a null value.
+	 */
+	private static final int NULL = 0;
+
+	/**
+	 * Tag for a value written using {@link ObjectOutput#writeObject(Object)}.
+	 */
+	private static final int OBJECT = 1;
+
+	/**
+	 * Tag for a String value.
+	 */
+	private static final int STRING = 2;
+
+	/**
+	 * Tag for {@link Boolean#TRUE}.
+	 */
+	private static final int TRUE = 3;
+
+	/**
+	 * Tag for {@link Boolean#FALSE}.
+	 */
+	private static final int FALSE = 4;
+
+	/**
+	 * Tag for an Integer value.
+	 */
+	private static final int INTEGER = 5;
+
+	/**
+	 * Tag for an enum constant of the declared field type. As with Java serialization, the constant is written by name
+	 * so that it is read correctly if the enum's constants are reordered or added to.
+	 */
+	private static final int ENUM = 6;
+
+	/**
+	 * The maximum String length which can always be written using {@link ObjectOutput#writeUTF(String)}, which is
+	 * limited to 65535 bytes of modified UTF-8.
+	 */
+	private static final int MAX_UTF_LENGTH = 65535 / 3;
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private ComponentModelCodec() {
+	}
+
+	/**
+	 * Writes the bitmap indicating which fields are present.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param present the field presence flags.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	static void writePresence(final ObjectOutput out, final boolean[] present) throws IOException {
+		for (int i = 0; i < present.length; i += 8) {
+			int bits = 0;
+
+			for (int j = 0; j < 8 && i + j < present.length; j++) {
+				if (present[i + j]) {
+					bits |= 1 << j;
+				}
+			}
+
+			out.writeByte(bits);
+		}
+	}
+
+	/**
+	 * Reads the bitmap indicating which fields are present.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param count the number of fields.
+	 * @return the field presence flags.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 */
+	static boolean[] readPresence(final ObjectInput in, final int count) throws IOException {
+		boolean[] present = new boolean[count];
+
+		for (int i = 0; i < count; i += 8) {
+			int bits = in.readUnsignedByte();
+
+			for (int j = 0; j < 8 && i + j < count; j++) {
+				present[i + j] = (bits & (1 << j)) != 0;
+			}
+		}
+
+		return present;
+	}
+
+	/**
+	 * Writes a field value.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param type the declared type of the field.
+	 * @param value the field value.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	static void writeValue(final ObjectOutput out, final Class<?> type, final Object value) throws IOException {
+		if (type.isPrimitive()) {
+			writePrimitive(out, type, value);
+		} else if (value == null) {
+			out.writeByte(NULL);
+		} else if (value instanceof String && ((String) value).length() <= MAX_UTF_LENGTH) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte((Boolean) value ? TRUE : FALSE);
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		} else if (type.isEnum() && ((Enum<?>) value).getDeclaringClass() == type) {
+			out.writeByte(ENUM);
+			out.writeUTF(((Enum<?>) value).name());
+		} else {
+			out.writeByte(OBJECT);
+			out.writeObject(value);
+		}
+	}
+
+	/**
+	 * Reads a field value.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param type the declared type of the field.
+	 * @return the field value.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	static Object readValue(final ObjectInput in, final Class<?> type) throws IOException, ClassNotFoundException {
+		if (type.isPrimitive()) {
+			return readPrimitive(in, type);
+		}
+
+		int tag = in.readUnsignedByte();
+
+		switch (tag) {
+			case NULL:
+				return null;
+			case OBJECT:
+				return in.readObject();
+			case STRING:
+				return in.readUTF();
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return in.readInt();
+			case ENUM:
+				return readEnum(in, type);
+			default:
+				throw new IOException("Invalid component model value tag " + tag);
+		}
+	}
+
+	/**
+	 * Reads an enum constant written by name.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param type the enum type of the field.
+	 * @return the enum constant.
+	 * @throws IOException if there is an error reading from the ObjectInput, or the constant no longer exists.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object readEnum(final ObjectInput in, final Class<?> type) throws IOException {
+		String name = in.readUTF();
+
+		try {
+			return Enum.valueOf((Class) type, name);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidObjectException("Enum constant " + name + " does not exist in " + type.getName());
+		}
+	}
+
+	/**
+	 * Writes the value of a primitive field.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param type the primitive type of the field.
+	 * @param value the boxed field value.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	private static void writePrimitive(final ObjectOutput out, final Class<?> type, final Object value)
+			throws IOException {
+		if (type == int.class) {
+			out.writeInt((Integer) value);
+		} else if (type == boolean.class) {
+			out.writeBoolean((Boolean) value);
+		} else if (type == long.class) {
+			out.writeLong((Long) value);
+		} else if (type == char.class) {
+			out.writeChar((Character) value);
+		} else if (type == byte.class) {
+			out.writeByte((Byte) value);
+		} else if (type == short.class) {
+			out.writeShort((Short) value);
+		} else if (type == float.class) {
+			out.writeFloat((Float) value);
+		} else {
+			out.writeDouble((Double) value);
+		}
+	}
+
+	/**
+	 * Reads the value of a primitive field.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param type the primitive type of the field.
+	 * @return the boxed field value.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 */
+	private static Object readPrimitive(final ObjectInput in, final Class<?> type) throws IOException {
+		if (type == int.class) {
+			return in.readInt();
+		} else if (type == boolean.class) {
+			return in.readBoolean();
+		} else if (type == long.class) {
+			return in.readLong();
+		} else if (type == char.class) {
+			return in.readChar();
+		} else if (type == byte.class) {
+			return in.readByte();
+		} else if (type == short.class) {
+			return in.readShort();
+		} else if (type == float.class) {
+			return in.readFloat();
+		} else {
+			return in.readDouble();
+		}
+	}
+}
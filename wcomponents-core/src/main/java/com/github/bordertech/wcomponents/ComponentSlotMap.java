@@ -0,0 +1,321 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Holds per-component data for a {@link UIContextImpl}. Components which have been locked are given a slot number
+ * (see {@link AbstractWComponent#getSlot()}), and their data is held in an array indexed by slot, so that retrieving
+ * it does not need to hash the component. As the components of a UI are locked together, the slots used by a context
+ * are usually close together.</p>
+ *
+ * <p>
+ * The array only covers the range of slots actually used, and is only extended while it remains reasonably dense.
+ * Data for components without a slot, or whose slot would make the array too sparse, is held in a HashMap.</p>
+ *
+ * <p>
+ * Null values are not stored; putting a null value removes the entry.</p>
+ *
+ * @param <V> the type of data held for each component.
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+final class ComponentSlotMap<V> implements Serializable {
+
+	/**
+	 * The minimum length of the slot array.
+	 */
+	private static final int MIN_LENGTH = 16;
+
+	/**
+	 * The slot array may be at most this many times longer than the number of entries it holds (plus the minimum
+	 * length), so that a context which uses a few components from a large UI does not allocate a large array.
+	 */
+	private static final int MAX_SPARSENESS = 4;
+
+	/**
+	 * The components which have entries in the slot array, indexed by slot - base.
+	 */
+	private transient WebComponent[] keys;
+
+	/**
+	 * The values in the slot array, indexed by slot - base.
+	 */
+	private transient Object[] values;
+
+	/**
+	 * The slot of the first element in the slot array.
+	 */
+	private transient int base;
+
+	/**
+	 * The number of entries in the slot array.
+	 */
+	private transient int slotted;
+
+	/**
+	 * The entries for components which are not held in the slot array, or null if there are none.
+	 */
+	private transient Map<WebComponent, V> others;
+
+	/**
+	 * Retrieves the value for the given component.
+	 *
+	 * @param component the component to retrieve the value for.
+	 * @return the value for the component, or null if there is no value.
+	 */
+	@SuppressWarnings("unchecked")
+	V get(final WebComponent component) {
+		int index = indexOf(component);
+
+		if (index >= 0 && keys[index] == component) {
+			return (V) values[index];
+		}
+
+		return others == null ? null : others.get(component);
+	}
+
+	/**
+	 * Sets the value for the given component.
+	 *
+	 * @param component the component to set the value for.
+	 * @param value the value to set, or null to remove the value.
+	 */
+	void put(final WebComponent component, final V value) {
+		if (value == null) {
+			remove(component);
+			return;
+		}
+
+		int slot = getSlot(component);
+
+		// The slot may already be held by another component, if the slot counter ran out and was reused
+		if (slot > 0 && ensureSlot(slot) && (keys[slot - base] == null || keys[slot - base] == component)) {
+			int index = slot - base;
+
+			if (keys[index] == null) {
+				slotted++;
+			}
+
+			keys[index] = component;
+			values[index] = value;
+
+			if (others != null) {
+				removeOther(component);
+			}
+		} else {
+			if (others == null) {
+				others = new HashMap<>();
+			}
+
+			others.put(component, value);
+		}
+	}
+
+	/**
+	 * Removes the value for the given component.
+	 *
+	 * @param component the component to remove the value for.
+	 * @return the value which was removed, or null if there was no value.
+	 */
+	@SuppressWarnings("unchecked")
+	V remove(final WebComponent component) {
+		int index = indexOf(component);
+
+		if (index >= 0 && keys[index] == component) {
+			V value = (V) values[index];
+			keys[index] = null;
+			values[index] = null;
+			slotted--;
+
+			return value;
+		}
+
+		return others == null ? null : removeOther(component);
+	}
+
+	/**
+	 * Removes all the values.
+	 */
+	void clear() {
+		keys = null;
+		values = null;
+		slotted = 0;
+		others = null;
+	}
+
+	/**
+	 * @return the number of components which have values.
+	 */
+	int size() {
+		return slotted + (others == null ? 0 : others.size());
+	}
+
+	/**
+	 * @return true if there are no values.
+	 */
+	boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * @return a copy of the set of components which have values.
+	 */
+	Set<WebComponent> keySet() {
+		Set<WebComponent> components = new HashSet<>(size() * 2);
+
+		if (keys != null) {
+			for (WebComponent component : keys) {
+				if (component != null) {
+					components.add(component);
+				}
+			}
+		}
+
+		if (others != null) {
+			components.addAll(others.keySet());
+		}
+
+		return components;
+	}
+
+	/**
+	 * Retrieves the index of the given component in the slot array.
+	 *
+	 * @param component the component to find.
+	 * @return the index of the component's slot, or -1 if the slot array does not cover its slot.
+	 */
+	private int indexOf(final WebComponent component) {
+		int slot = getSlot(component);
+
+		if (keys == null || slot <= 0) {
+			return -1;
+		}
+
+		int index = slot - base;
+
+		return index >= 0 && index < keys.length ? index : -1;
+	}
+
+	/**
+	 * Extends the slot array to cover the given slot, if it would not become too sparse.
+	 *
+	 * @param slot the slot to cover.
+	 * @return true if the slot array covers the slot.
+	 */
+	private boolean ensureSlot(final int slot) {
+		if (keys == null) {
+			keys = new WebComponent[MIN_LENGTH];
+			values = new Object[MIN_LENGTH];
+			base = slot;
+			return true;
+		}
+
+		int index = slot - base;
+
+		if (index >= 0 && index < keys.length) {
+			return true;
+		}
+
+		int newBase = Math.min(base, slot);
+		long span = (long) Math.max(base + keys.length, slot + 1) - newBase;
+		long maxLength = (long) (slotted + 1) * MAX_SPARSENESS + MIN_LENGTH;
+
+		if (span > maxLength) {
+			return false;
+		}
+
+		int newLength = (int) Math.min(Math.max(span, keys.length * 2L), maxLength);
+		int offset = base - newBase;
+
+		WebComponent[] newKeys = new WebComponent[newLength];
+		Object[] newValues = new Object[newLength];
+		System.arraycopy(keys, 0, newKeys, offset, keys.length);
+		System.arraycopy(values, 0, newValues, offset, values.length);
+
+		keys = newKeys;
+		values = newValues;
+		base = newBase;
+
+		return true;
+	}
+
+	/**
+	 * Removes the value for the given component from the map of other components.
+	 *
+	 * @param component the component to remove the value for.
+	 * @return the value which was removed, or null if there was no value.
+	 */
+	private V removeOther(final WebComponent component) {
+		V value = others.remove(component);
+
+		if (others.isEmpty()) {
+			others = null;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Retrieves the slot for a component.
+	 *
+	 * @param component the component.
+	 * @return the component's slot, or zero if it does not have a slot.
+	 */
+	private static int getSlot(final WebComponent component) {
+		return component instanceof AbstractWComponent ? ((AbstractWComponent) component).getSlot() : 0;
+	}
+
+	/**
+	 * Writes the entries as component/value pairs, as slots are not preserved across JVMs.
+	 *
+	 * @param out the stream to write to.
+	 * @throws IOException if there is an error writing to the stream.
+	 */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(size());
+
+		if (keys != null) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] != null) {
+					out.writeObject(keys[i]);
+					out.writeObject(values[i]);
+				}
+			}
+		}
+
+		if (others != null) {
+			for (Map.Entry<WebComponent, V> entry : others.entrySet()) {
+				out.writeObject(entry.getKey());
+				out.writeObject(entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Reads the entries written by {@link #writeObject(ObjectOutputStream)}.
+	 *
+	 * @param in the stream to read from.
+	 * @throws IOException if there is an error reading from the stream.
+	 * @throws ClassNotFoundException if the class of a serialized object cannot be found.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int size = in.readInt();
+
+		for (int i = 0; i < size; i++) {
+			WebComponent component = (WebComponent) in.readObject();
+			V value = (V) in.readObject();
+			put(component, value);
+		}
+	}
+}
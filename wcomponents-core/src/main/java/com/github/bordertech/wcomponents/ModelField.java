@@ -0,0 +1,148 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * Reads and writes a {@link ComponentModel} field. The fields of each model class are discovered and made accessible
+ * once, the first time the class is used, and are held in a {@link ClassValue} so that retrieving them does not need
+ * any locking.</p>
+ *
+ * <p>
+ * Fields are accessed through {@link Field} rather than method handles, as method handles which are not compile-time
+ * constants are not inlined on Java 8 and are slower than the JDK's generated field accessors.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+final class ModelField {
+
+	/**
+	 * The fields of each model class, in serialization order.
+	 */
+	private static final ClassValue<ModelField[]> FIELDS_BY_CLASS = new ClassValue<ModelField[]>() {
+		@Override
+		protected ModelField[] computeValue(final Class<?> type) {
+			return createFields(type);
+		}
+	};
+
+	/**
+	 * The field being accessed.
+	 */
+	private final Field field;
+
+	/**
+	 * The declared type of the field.
+	 */
+	private final Class<?> type;
+
+	/**
+	 * Creates a ModelField.
+	 *
+	 * @param field the field to access, which must already be accessible.
+	 */
+	private ModelField(final Field field) {
+		this.field = field;
+		this.type = field.getType();
+	}
+
+	/**
+	 * Retrieves the fields for the given model class.
+	 *
+	 * @param modelClass the ComponentModel class.
+	 * @return the fields of the model class. The array must not be modified.
+	 */
+	static ModelField[] getFields(final Class<? extends ComponentModel> modelClass) {
+		return FIELDS_BY_CLASS.get(modelClass);
+	}
+
+	/**
+	 * @return the field name.
+	 */
+	String getName() {
+		return field.getName();
+	}
+
+	/**
+	 * @return the declared type of the field.
+	 */
+	Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Reads the field.
+	 *
+	 * @param model the model to read the field from.
+	 * @return the field value.
+	 */
+	Object get(final Object model) {
+		try {
+			return field.get(model);
+		} catch (IllegalAccessException e) {
+			throw new SystemException("Failed to read field " + field.getName(), e);
+		}
+	}
+
+	/**
+	 * Writes the field.
+	 *
+	 * @param model the model to write the field to.
+	 * @param value the field value.
+	 */
+	void set(final Object model, final Object value) {
+		try {
+			field.set(model, value);
+		} catch (IllegalAccessException e) {
+			throw new SystemException("Failed to write field " + field.getName(), e);
+		}
+	}
+
+	/**
+	 * Creates the fields for the given model class.
+	 *
+	 * @param modelClass the ComponentModel class.
+	 * @return the fields of the model class, in serialization order.
+	 */
+	private static ModelField[] createFields(final Class<?> modelClass) {
+		List<Field> fieldList = new ArrayList<>();
+
+		for (Class<?> clazz = modelClass; clazz != null; clazz = clazz.getSuperclass()) {
+			for (Field field : clazz.getDeclaredFields()) {
+				int mods = field.getModifiers();
+
+				if (!Modifier.isStatic(mods) && !Modifier.isTransient(mods)) {
+					field.setAccessible(true);
+					fieldList.add(field);
+				}
+			}
+		}
+
+		// The reflection API doesn't guarantee that fields will be returned in any particular order. To ensure that
+		// fields are deserialized in the same order that they were serialized, we need to sort the field list.
+		Collections.sort(fieldList, new Comparator<Field>() {
+			@Override
+			public int compare(final Field field1, final Field field2) {
+				String field1Str = field1.getDeclaringClass().getName() + '.' + field1.getName();
+				String field2Str = field2.getDeclaringClass().getName() + '.' + field2.getName();
+
+				return field1Str.compareTo(field2Str);
+			}
+		});
+
+		ModelField[] fields = new ModelField[fieldList.size()];
+
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = new ModelField(fieldList.get(i));
+		}
+
+		return fields;
+	}
+}
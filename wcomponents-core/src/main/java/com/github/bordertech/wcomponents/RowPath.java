@@ -0,0 +1,178 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * An immutable row index for a {@link WTable}, held as an array of primitive indexes. Each item is the index of the
+ * row for that level, so the size of the path matches the depth of the row.</p>
+ *
+ * <p>
+ * RowPath is also a read-only {@code List<Integer>}, and is equal to (and has the same hash code as) any other list
+ * holding the same indexes, so it can be passed to models which use list row indexes, and used interchangeably with
+ * list row indexes as keys. Models implementing {@link WTable.RowPathTableModel} can read the indexes using
+ * {@link #getIndex(int)} without boxing them.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public final class RowPath extends AbstractList<Integer> implements RandomAccess, Serializable {
+
+	/**
+	 * The row indexes for each level.
+	 */
+	private final int[] indexes;
+
+	/**
+	 * The cached hash code, or zero if it has not been calculated.
+	 */
+	private transient int hash;
+
+	/**
+	 * Creates a RowPath. The array is not copied.
+	 *
+	 * @param indexes the row indexes for each level.
+	 */
+	private RowPath(final int[] indexes) {
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Creates a RowPath with the given row indexes.
+	 *
+	 * @param indexes the row indexes for each level.
+	 * @return the row path.
+	 */
+	public static RowPath of(final int... indexes) {
+		return new RowPath(indexes.clone());
+	}
+
+	/**
+	 * Creates a RowPath for a top level row.
+	 *
+	 * @param index the row index.
+	 * @return the row path.
+	 */
+	public static RowPath of(final int index) {
+		return new RowPath(new int[]{index});
+	}
+
+	/**
+	 * Converts a list row index to a RowPath.
+	 *
+	 * @param row the row index.
+	 * @return the row index, if it is already a RowPath, otherwise a RowPath with the same indexes.
+	 */
+	public static RowPath valueOf(final List<Integer> row) {
+		if (row instanceof RowPath) {
+			return (RowPath) row;
+		}
+
+		int[] indexes = new int[row.size()];
+
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = row.get(i);
+		}
+
+		return new RowPath(indexes);
+	}
+
+	/**
+	 * Creates the path for a child of this row.
+	 *
+	 * @param index the index of the child row.
+	 * @return the child row's path.
+	 */
+	public RowPath child(final int index) {
+		int[] childIndexes = Arrays.copyOf(indexes, indexes.length + 1);
+		childIndexes[indexes.length] = index;
+		return new RowPath(childIndexes);
+	}
+
+	/**
+	 * @return the path for the parent of this row, or null if this is a top level row.
+	 */
+	public RowPath getParent() {
+		return indexes.length <= 1 ? null : new RowPath(Arrays.copyOf(indexes, indexes.length - 1));
+	}
+
+	/**
+	 * Retrieves the row index for a level.
+	 *
+	 * @param level the level, where zero is the top level.
+	 * @return the row index for the level.
+	 */
+	public int getIndex(final int level) {
+		return indexes[level];
+	}
+
+	/**
+	 * @return the row index for the last level, ie the index of the row within its parent.
+	 */
+	public int getLastIndex() {
+		return indexes[indexes.length - 1];
+	}
+
+	/**
+	 * @return the number of levels in the path.
+	 */
+	public int getDepth() {
+		return indexes.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer get(final int index) {
+		return indexes[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return indexes.length;
+	}
+
+	/**
+	 * Calculates the hash code as specified by {@link List#hashCode()}, so that it matches other lists holding the
+	 * same indexes.
+	 *
+	 * @return the hash code for this path.
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+
+		if (h == 0) {
+			h = 1;
+
+			for (int index : indexes) {
+				h = 31 * h + index;
+			}
+
+			hash = h;
+		}
+
+		return h;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof RowPath) {
+			RowPath other = (RowPath) obj;
+			return other == this || (hashCode() == other.hashCode() && Arrays.equals(indexes, other.indexes));
+		}
+
+		return super.equals(obj);
+	}
+}
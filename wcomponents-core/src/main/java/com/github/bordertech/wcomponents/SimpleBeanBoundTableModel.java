@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyAccessor;
 import com.github.bordertech.wcomponents.util.ComparableComparator;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -7,7 +8,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -462,7 +462,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 		}
 
 		// Get root row bean (ie top level)
-		int rowIdx = row.get(0);
+		int rowIdx = getIndex(row, 0);
 		Object rowData = lvl.get(rowIdx);
 		return rowData;
 	}
@@ -484,7 +484,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 			}
 			cmd.append(level.getLevelBeanProperty());
 			if (level.isRowPerListItem()) {
-				int rowIdx = row.get(i);
+				int rowIdx = getIndex(row, i);
 				cmd.append('[');
 				cmd.append(rowIdx);
 				cmd.append(']');
@@ -504,6 +504,17 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 		return cmd.toString();
 	}
 
+	/**
+	 * Reads an index from a row index. The index is read without boxing if the row index is a {@link RowPath}.
+	 *
+	 * @param row the row index
+	 * @param level the level to read
+	 * @return the index for the given level
+	 */
+	private static int getIndex(final List<Integer> row, final int level) {
+		return row instanceof RowPath ? ((RowPath) row).getIndex(level) : row.get(level);
+	}
+
 	/**
 	 * @return the bean data as a list
 	 */
@@ -528,7 +539,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 		}
 
 		try {
-			Object data = PropertyUtils.getProperty(bean, property);
+			Object data = BeanPropertyAccessor.getProperty(bean, property);
 			return data;
 		} catch (Exception e) {
 			LOG.error("Failed to get bean property " + property + " on " + bean, e);
@@ -554,7 +565,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 			return;
 		}
 		try {
-			PropertyUtils.setProperty(bean, property, value);
+			BeanPropertyAccessor.setProperty(bean, property, value);
 		} catch (Exception e) {
 			LOG.error("Failed to set bean property " + property + " on " + bean, e);
 		}
@@ -1,12 +1,12 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyAccessor;
 import com.github.bordertech.wcomponents.util.ComparableComparator;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -120,7 +120,7 @@ public class SimpleBeanListTableDataModel extends AbstractTableDataModel {
 				return bean;
 			} else {
 				try {
-					return PropertyUtils.getProperty(bean, property);
+					return BeanPropertyAccessor.getProperty(bean, property);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + property + " from " + bean, e);
 				}
@@ -160,7 +160,7 @@ public class SimpleBeanListTableDataModel extends AbstractTableDataModel {
 				data[row] = (Serializable) value;
 			} else {
 				try {
-					PropertyUtils.setProperty(bean, property, value);
+					BeanPropertyAccessor.setProperty(bean, property, value);
 				} catch (Exception e) {
 					LOG.error("Failed to set bean property " + property + " on " + bean, e);
 				}
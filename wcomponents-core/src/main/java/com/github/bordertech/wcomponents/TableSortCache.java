@@ -0,0 +1,163 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.SharedSortTableModel;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.AccessedExpiryPolicy;
+import javax.cache.expiry.Duration;
+
+/**
+ * Holds the row index mappings of {@link SharedSortTableModel}s, so that tables showing the same version of read-only
+ * data share a single mapping for each sort order, rather than each user's session holding its own copy.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public final class TableSortCache {
+
+	/**
+	 * Cache name.
+	 */
+	private static final String CACHE_NAME = "wc-table-sort-indices";
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private TableSortCache() {
+	}
+
+	/**
+	 * Removes all the row index mappings from the cache.
+	 */
+	public static void clear() {
+		getCache().clear();
+	}
+
+	/**
+	 * Retrieves the row index mapping for the given key, sorting the model if the mapping is not in the cache.
+	 *
+	 * @param key the data version and sort order.
+	 * @param model the table model holding the data.
+	 * @return the row index mapping, or null if the model does not provide a mapping.
+	 */
+	static int[] getRowIndexMapping(final SortKey key, final SharedSortTableModel model) {
+		Cache<SortKey, int[]> cache = getCache();
+		int[] rowIndexMapping = cache.get(key);
+
+		if (rowIndexMapping == null) {
+			rowIndexMapping = model.sort(key.getSortColumn(), key.isAscending());
+
+			// If another user sorted the same data first, use their mapping so only one copy is held
+			if (rowIndexMapping != null && !cache.putIfAbsent(key, rowIndexMapping)) {
+				int[] existing = cache.get(key);
+
+				if (existing != null) {
+					rowIndexMapping = existing;
+				}
+			}
+		}
+
+		return rowIndexMapping;
+	}
+
+	/**
+	 * @return the cache instance
+	 */
+	private static synchronized Cache<SortKey, int[]> getCache() {
+		Cache<SortKey, int[]> cache = Caching.getCache(CACHE_NAME, SortKey.class, int[].class);
+		if (cache == null) {
+			final CacheManager mgr = Caching.getCachingProvider().getCacheManager();
+			MutableConfiguration<SortKey, int[]> config = new MutableConfiguration<>();
+			config.setTypes(SortKey.class, int[].class);
+			config.setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(new Duration(TimeUnit.HOURS, 12)));
+			// The mappings are shared by reference, so that each table does not hold its own copy.
+			config.setStoreByValue(false);
+			cache = mgr.createCache(CACHE_NAME, config);
+		}
+		return cache;
+	}
+
+	/**
+	 * The key of a row index mapping in the cache. Tables hold the key in the user's session in place of the mapping.
+	 */
+	static final class SortKey implements Serializable {
+
+		/**
+		 * The version of the data which was sorted.
+		 */
+		private final Serializable dataVersion;
+
+		/**
+		 * The column the data was sorted by.
+		 */
+		private final int sortColumn;
+
+		/**
+		 * The sort direction.
+		 */
+		private final boolean ascending;
+
+		/**
+		 * @param dataVersion the version of the data which was sorted
+		 * @param sortColumn the column the data was sorted by
+		 * @param ascending true for an ascending sort, false for descending
+		 */
+		SortKey(final Serializable dataVersion, final int sortColumn, final boolean ascending) {
+			this.dataVersion = dataVersion;
+			this.sortColumn = sortColumn;
+			this.ascending = ascending;
+		}
+
+		/**
+		 * @return the version of the data which was sorted
+		 */
+		Serializable getDataVersion() {
+			return dataVersion;
+		}
+
+		/**
+		 * @return the column the data was sorted by
+		 */
+		int getSortColumn() {
+			return sortColumn;
+		}
+
+		/**
+		 * @return true for an ascending sort, false for descending
+		 */
+		boolean isAscending() {
+			return ascending;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			int hash = dataVersion.hashCode();
+			hash = hash * 31 + sortColumn;
+			hash = hash * 31 + (ascending ? 1 : 0);
+
+			return hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof SortKey)) {
+				return false;
+			}
+
+			SortKey other = (SortKey) obj;
+
+			return sortColumn == other.sortColumn && ascending == other.ascending
+					&& dataVersion.equals(other.dataVersion);
+		}
+	}
+}
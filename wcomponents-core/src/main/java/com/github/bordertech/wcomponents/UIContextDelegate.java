@@ -283,6 +283,25 @@ public class UIContextDelegate implements UIContext {
 		return backing;
 	}
 
+	/**
+	 * Reserved for internal framework use. Records that the model for the given component has been modified.
+	 *
+	 * @param component the component whose model has been modified.
+	 */
+	public void markModelChanged(final WebComponent component) {
+		UIContextImpl.notifyModelChanged(backing, component);
+	}
+
+	/**
+	 * Retrieves the cache of component ids for the given component.
+	 *
+	 * @param component the component whose id is to be cached.
+	 * @return the id cache, or null if the backing context does not support caching ids.
+	 */
+	ComponentSlotMap<String> getIdCache(final WebComponent component) {
+		return UIContextImpl.getIdCache(backing, component);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -2,10 +2,11 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.util.DebugUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EmptyStackException;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.WeakHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,9 +47,10 @@ public final class UIContextHolder {
 
 	/**
 	 * The UIContexts are stored on a thread-local. This is safe, as WComponent request processing and rendering are
-	 * single-threaded per user.
+	 * single-threaded per user. As the stack is only accessed by its own thread, it is not synchronized, so threads
+	 * (including virtual threads) never block on it.
 	 */
-	private static final ThreadLocal<Stack<UIContext>> CONTEXT_STACK = new ThreadLocal<>();
+	private static final ThreadLocal<ContextStack> CONTEXT_STACK = new ThreadLocal<>();
 
 	/**
 	 * This is used for debugging only. It contains all UIContexts which are in an active thread.
@@ -68,7 +70,14 @@ public final class UIContextHolder {
 			ALL_ACTIVE_CONTEXTS.put(getPrimaryUIContext(uic), null);
 		}
 
-		getStack().push(uic);
+		ContextStack stack = CONTEXT_STACK.get();
+
+		if (stack == null) {
+			stack = new ContextStack();
+			CONTEXT_STACK.set(stack);
+		}
+
+		stack.push(uic);
 	}
 
 	/**
@@ -90,7 +99,13 @@ public final class UIContextHolder {
 	 * @return the UIContext which was removed.
 	 */
 	public static UIContext popContext() {
-		return getStack().pop();
+		ContextStack stack = CONTEXT_STACK.get();
+
+		if (stack == null) {
+			throw new EmptyStackException();
+		}
+
+		return stack.pop();
 	}
 
 	/**
@@ -100,29 +115,8 @@ public final class UIContextHolder {
 	 * @return the current effective UIContext.
 	 */
 	public static UIContext getCurrent() {
-		Stack<UIContext> stack = CONTEXT_STACK.get();
-
-		if (stack == null || stack.isEmpty()) {
-			return null;
-		}
-
-		return getStack().peek();
-	}
-
-	/**
-	 * Retrieves the internal stack, creating it if necessary.
-	 *
-	 * @return the internal stack
-	 */
-	private static Stack<UIContext> getStack() {
-		Stack<UIContext> stack = CONTEXT_STACK.get();
-
-		if (stack == null) {
-			stack = new Stack<>();
-			CONTEXT_STACK.set(stack);
-		}
-
-		return stack;
+		ContextStack stack = CONTEXT_STACK.get();
+		return stack == null ? null : stack.peek();
 	}
 
 	/**
@@ -176,4 +170,61 @@ public final class UIContextHolder {
 
 		CONTEXT_STACK.remove();
 	}
+
+	/**
+	 * An unsynchronized, array-backed stack of UIContexts, for use by a single thread.
+	 */
+	private static final class ContextStack {
+
+		/**
+		 * The initial capacity of the stack, which is enough for most nested repeaters.
+		 */
+		private static final int INITIAL_CAPACITY = 8;
+
+		/**
+		 * The contexts on the stack.
+		 */
+		private UIContext[] contexts = new UIContext[INITIAL_CAPACITY];
+
+		/**
+		 * The number of contexts on the stack.
+		 */
+		private int size;
+
+		/**
+		 * Pushes a context onto the top of the stack.
+		 *
+		 * @param uic the context to push.
+		 */
+		private void push(final UIContext uic) {
+			if (size == contexts.length) {
+				contexts = Arrays.copyOf(contexts, size * 2);
+			}
+
+			contexts[size++] = uic;
+		}
+
+		/**
+		 * Removes the context from the top of the stack.
+		 *
+		 * @return the context which was removed.
+		 */
+		private UIContext pop() {
+			if (size == 0) {
+				throw new EmptyStackException();
+			}
+
+			UIContext uic = contexts[--size];
+			contexts[size] = null;
+
+			return uic;
+		}
+
+		/**
+		 * @return the context at the top of the stack, or null if the stack is empty.
+		 */
+		private UIContext peek() {
+			return size == 0 ? null : contexts[size - 1];
+		}
+	}
 }
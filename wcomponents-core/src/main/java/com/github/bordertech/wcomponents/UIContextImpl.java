@@ -2,11 +2,15 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.util.TreeUtil;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * UIContextImpl - implementation of {@link UIContext}.
@@ -34,17 +38,27 @@ public class UIContextImpl implements UIContext {
 	/**
 	 * A map of component models, keyed by the component that they belong to.
 	 */
-	private final Map<WebComponent, WebModel> map = new HashMap<>();
+	private final ComponentSlotMap<WebModel> map = new ComponentSlotMap<>();
 
 	/**
 	 * A map of temporary maps with phase scope, keyed by the components using them.
 	 */
-	private transient Map<WComponent, Map<Object, Object>> scratchMaps;
+	private transient ComponentSlotMap<Map<Object, Object>> scratchMaps;
 
 	/**
 	 * A map of temporary maps with request scope, keyed by the components using them.
 	 */
-	private transient Map<WComponent, Map<Object, Object>> requestScratchMap;
+	private transient ComponentSlotMap<Map<Object, Object>> requestScratchMap;
+
+	/**
+	 * The cached component ids with phase scope, keyed by component.
+	 */
+	private transient ComponentSlotMap<String> idCache;
+
+	/**
+	 * The cached component ids with phase scope for components in repeater rows, keyed by row context.
+	 */
+	private transient Map<UIContext, ComponentSlotMap<String>> rowIdCaches;
 
 	/**
 	 * The framework attribute map.
@@ -85,6 +99,27 @@ public class UIContextImpl implements UIContext {
 
 	private transient Headers headers;
 
+	/**
+	 * The components whose models have changed since the last checkpoint, or null if no checkpoint has been taken.
+	 */
+	private transient Set<WebComponent> changedModels;
+
+	/**
+	 * Indicates whether the context state other than the component models has changed since the last checkpoint.
+	 */
+	private transient boolean contextChanged;
+
+	/**
+	 * The number of times a component model has been set, removed or retrieved for modification. This is used to
+	 * detect changes to the component tree, and is tracked whether or not a checkpoint has been taken.
+	 */
+	private transient int modelChangeCount;
+
+	/**
+	 * The lock held while a request is processed using this context, created when it is first needed.
+	 */
+	private transient ReadWriteLock requestLock;
+
 	/**
 	 * For use by internal framework code only. Sets the top level web component for this context.
 	 *
@@ -92,6 +127,10 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void setUI(final WComponent topUi) {
+		if (ui != topUi) {
+			contextChanged = true;
+		}
+
 		this.ui = topUi;
 	}
 
@@ -123,6 +162,7 @@ public class UIContextImpl implements UIContext {
 	@Override
 	public void setModel(final WebComponent component, final WebModel model) {
 		map.put(component, model);
+		markModelChanged(component);
 	}
 
 	/**
@@ -133,7 +173,9 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void removeModel(final WebComponent component) {
-		map.remove(component);
+		if (map.remove(component) != null) {
+			markModelChanged(component);
+		}
 	}
 
 	/**
@@ -141,7 +183,7 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public Set<WebComponent> getComponents() {
-		return map.keySet();
+		return Collections.unmodifiableSet(map.keySet());
 	}
 
 	/**
@@ -151,6 +193,10 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void setEnvironment(final Environment environment) {
+		if (this.environment != environment) {
+			contextChanged = true;
+		}
+
 		this.environment = environment;
 	}
 
@@ -364,6 +410,7 @@ public class UIContextImpl implements UIContext {
 		}
 
 		attribMap.put(name, value);
+		contextChanged = true;
 	}
 
 	/**
@@ -373,8 +420,9 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void removeFwkAttribute(final String name) {
-		if (attribMap != null) {
+		if (attribMap != null && attribMap.containsKey(name)) {
 			attribMap.remove(name);
+			contextChanged = true;
 		}
 	}
 
@@ -402,7 +450,7 @@ public class UIContextImpl implements UIContext {
 	@Override
 	public Map<Object, Object> getScratchMap(final WComponent component) {
 		if (scratchMaps == null) {
-			scratchMaps = new HashMap<>();
+			scratchMaps = new ComponentSlotMap<>();
 		}
 
 		Map<Object, Object> componentScratchMap = scratchMaps.get(component);
@@ -425,6 +473,16 @@ public class UIContextImpl implements UIContext {
 		if (scratchMaps != null) {
 			scratchMaps.remove(component);
 		}
+
+		if (idCache != null) {
+			idCache.remove(component);
+		}
+
+		if (rowIdCaches != null) {
+			for (ComponentSlotMap<String> rowIdCache : rowIdCaches.values()) {
+				rowIdCache.remove(component);
+			}
+		}
 	}
 
 	/**
@@ -436,6 +494,9 @@ public class UIContextImpl implements UIContext {
 			scratchMaps.clear();
 			scratchMaps = null;
 		}
+
+		idCache = null;
+		rowIdCaches = null;
 	}
 
 	/**
@@ -444,7 +505,7 @@ public class UIContextImpl implements UIContext {
 	@Override
 	public Map<Object, Object> getRequestScratchMap(final WComponent component) {
 		if (requestScratchMap == null) {
-			requestScratchMap = new HashMap<>();
+			requestScratchMap = new ComponentSlotMap<>();
 		}
 
 		Map<Object, Object> componentScratchMap = requestScratchMap.get(component);
@@ -511,9 +572,197 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void setLocale(final Locale locale) {
+		if (this.locale == null ? locale != null : !this.locale.equals(locale)) {
+			contextChanged = true;
+		}
+
 		this.locale = locale;
 	}
 
+	/**
+	 * <p>
+	 * Takes a checkpoint of the state of this context. Subsequent changes to the component models and other context
+	 * state are tracked, so that a session store can replicate only the state which has changed since the checkpoint
+	 * rather than the whole context.</p>
+	 *
+	 * <p>
+	 * Component model changes are recorded when a model is set or removed, and when a component retrieves its model
+	 * for modification. Changes made to a model retrieved for read-only use are not tracked.</p>
+	 */
+	public void checkpoint() {
+		changedModels = new HashSet<>();
+		contextChanged = false;
+	}
+
+	/**
+	 * Reserved for internal framework use. Records that the model for the given component has been modified.
+	 *
+	 * @param component the component whose model has been modified.
+	 */
+	public void markModelChanged(final WebComponent component) {
+		modelChangeCount++;
+
+		if (changedModels != null) {
+			changedModels.add(component);
+		}
+	}
+
+	/**
+	 * Retrieves the component models which have changed since the last checkpoint. If no checkpoint has been taken,
+	 * all the component models are returned.
+	 *
+	 * @return the changed component models, keyed by component. Models which have been removed are mapped to null.
+	 */
+	public Map<WebComponent, WebModel> getChangedModels() {
+		Set<WebComponent> components = changedModels == null ? map.keySet() : changedModels;
+		Map<WebComponent, WebModel> changed = new HashMap<>(components.size() * 2);
+
+		for (WebComponent component : components) {
+			changed.put(component, map.get(component));
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Indicates whether the context state other than the component models (the UI, environment, locale and framework
+	 * attributes) has changed since the last checkpoint.
+	 *
+	 * @return true if the context state has changed, or if no checkpoint has been taken.
+	 */
+	public boolean isContextChanged() {
+		return contextChanged || changedModels == null;
+	}
+
+	/**
+	 * Removes component models which are no longer needed, to reduce the memory used by idle sessions. Models which
+	 * are in their default state are removed, including those of components which are no longer part of the UI, and
+	 * WRepeater row contexts for rows which are no longer in the repeater's data are discarded.
+	 */
+	public void compact() {
+		UIContextHolder.pushContext(this);
+
+		try {
+			for (WebComponent component : map.keySet()) {
+				if (component instanceof WRepeater) {
+					((WRepeater) component).cleanupStaleContexts();
+				}
+
+				if (component instanceof AbstractWComponent) {
+					((AbstractWComponent) component).tidyUpUIContext();
+				}
+			}
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * Records that the model for the given component has been modified in the given context. This is a no-op for
+	 * contexts which do not track changes.
+	 *
+	 * @param uic the context containing the model.
+	 * @param component the component whose model has been modified.
+	 */
+	static void notifyModelChanged(final UIContext uic, final WebComponent component) {
+		if (uic instanceof UIContextImpl) {
+			((UIContextImpl) uic).markModelChanged(component);
+		} else if (uic instanceof UIContextDelegate) {
+			((UIContextDelegate) uic).markModelChanged(component);
+		}
+	}
+
+	/**
+	 * Retrieves the number of component model changes recorded in the given context. The number changes whenever a
+	 * model is set, removed or retrieved for modification, so it can be used to detect changes to the component tree.
+	 *
+	 * @param uic the context to check.
+	 * @return the number of model changes, or -1 if the context does not record changes.
+	 */
+	static int getModelChangeCount(final UIContext uic) {
+		UIContext backing = uic;
+
+		while (backing instanceof UIContextDelegate) {
+			backing = ((UIContextDelegate) backing).getBacking();
+		}
+
+		return backing instanceof UIContextImpl ? ((UIContextImpl) backing).modelChangeCount : -1;
+	}
+
+	/**
+	 * Retrieves the lock which controls concurrent access to this context while requests are processed. Requests
+	 * which modify the context hold the write lock, while read-only requests hold the read lock.
+	 *
+	 * @return the request lock for this context.
+	 */
+	public ReadWriteLock getRequestLock() {
+		synchronized (this) {
+			if (requestLock == null) {
+				requestLock = new ReentrantReadWriteLock();
+			}
+
+			return requestLock;
+		}
+	}
+
+	/**
+	 * Retrieves the cache of component ids for the given component. The cache has the same scope as the scratch map
+	 * with phase scope, and is cleared along with it.
+	 *
+	 * @param uic the context to retrieve the cache from.
+	 * @param component the component whose id is to be cached.
+	 * @return the id cache, or null if the context does not support caching ids.
+	 */
+	static ComponentSlotMap<String> getIdCache(final UIContext uic, final WebComponent component) {
+		if (uic instanceof UIContextImpl) {
+			UIContextImpl impl = (UIContextImpl) uic;
+
+			if (impl.idCache == null) {
+				impl.idCache = new ComponentSlotMap<>();
+			}
+
+			return impl.idCache;
+		} else if (uic instanceof UIContextDelegate) {
+			return ((UIContextDelegate) uic).getIdCache(component);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the cache of component ids for the components in a repeater row.
+	 *
+	 * @param uic the context which the row context is backed by.
+	 * @param rowContext the row context.
+	 * @return the id cache for the row, or null if the context does not support caching ids.
+	 */
+	static ComponentSlotMap<String> getRowIdCache(final UIContext uic, final UIContext rowContext) {
+		UIContext backing = uic;
+
+		while (backing instanceof UIContextDelegate) {
+			backing = ((UIContextDelegate) backing).getBacking();
+		}
+
+		if (!(backing instanceof UIContextImpl)) {
+			return null;
+		}
+
+		UIContextImpl impl = (UIContextImpl) backing;
+
+		if (impl.rowIdCaches == null) {
+			impl.rowIdCaches = new HashMap<>();
+		}
+
+		ComponentSlotMap<String> rowIdCache = impl.rowIdCaches.get(rowContext);
+
+		if (rowIdCache == null) {
+			rowIdCache = new ComponentSlotMap<>();
+			impl.rowIdCaches.put(rowContext, rowIdCache);
+		}
+
+		return rowIdCache;
+	}
+
 	/**
 	 * The DummyEnvironment is used when an environment hasn't been explicitly supplied.
 	 *
@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyAccessor;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.validation.Diagnostic;
 import java.util.ArrayList;
@@ -9,10 +10,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -43,6 +44,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 	 */
 	private static final String SCRATCHMAP_DATA_BY_ROW_ID_KEY = "WRepeater.dataByRowId";
 
+	/**
+	 * This key is used to access the row-render-id-to-row-context mapping table from the scratch map.
+	 */
+	private static final String SCRATCHMAP_CONTEXT_BY_RENDER_ID_KEY = "WRepeater.contextByRenderId";
+
 	/**
 	 * The logger instance for this class.
 	 */
@@ -122,9 +128,14 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 
 		if (node instanceof WRepeater) {
 			WRepeater repeater = (WRepeater) node;
-			List<UIContext> rowContextList = repeater.getRowContexts();
+			RepeaterModel model = repeater.getComponentModel();
 			WComponent repeatedComponent = repeater.getRepeatedComponent();
 
+			// Rows without a context have no cached data, so there is no need to create contexts for them
+			List<UIContext> rowContextList = model.rowContextMap == null
+					? Collections.<UIContext>emptyList()
+					: new ArrayList<UIContext>(model.rowContextMap.values());
+
 			for (UIContext rowContext : rowContextList) {
 				UIContextHolder.pushContext(rowContext);
 
@@ -313,6 +324,31 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		}
 	}
 
+	/**
+	 * Removes the row contexts of rows which are no longer in the repeater's data. This is only done when the data has
+	 * been set explicitly rather than bound to a bean, as retrieving bean bound data may be expensive.
+	 */
+	protected void cleanupStaleContexts() {
+		RepeaterModel model = getComponentModel();
+
+		if (model.rowContextMap == null || getBeanProperty() != null) {
+			return;
+		}
+
+		List<?> beanList = (List<?>) model.getData();
+		Set<Object> rowIds = new HashSet<>();
+
+		if (beanList != null) {
+			for (Object bean : beanList) {
+				rowIds.add(getRowId(bean));
+			}
+		}
+
+		if (!rowIds.containsAll(model.rowContextMap.keySet())) {
+			cleanupStaleContexts(rowIds);
+		}
+	}
+
 	/**
 	 * Removes any component models that are in their default state.
 	 * <p>
@@ -548,6 +584,13 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			}
 			rowContext.setRowId(rowId);
 			model.rowContextMap.put(rowId, rowContext);
+
+			// The new context is not in the render id index
+			UIContext uic = UIContextHolder.getCurrent();
+
+			if (uic != null) {
+				uic.getScratchMap(this).remove(SCRATCHMAP_CONTEXT_BY_RENDER_ID_KEY);
+			}
 		}
 
 		rowContext.setRowIndex(rowIndex); // just incase it has changed
@@ -640,7 +683,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		}
 
 		try {
-			return PropertyUtils.getProperty(rowBean, rowIdProperty);
+			return BeanPropertyAccessor.getProperty(rowBean, rowIdProperty);
 		} catch (Exception e) {
 			LOG.error("Failed to read row property \"" + rowIdProperty + "\" on " + rowBean, e);
 			return rowBean;
@@ -664,6 +707,98 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		return Collections.unmodifiableList(contexts);
 	}
 
+	/**
+	 * <p>
+	 * Retrieves the row contexts which may contain the component with the given id. The id of each component in a row
+	 * starts with the id of the row's naming context, which includes the row's render id, so only the row with the
+	 * render id in the given id needs to be searched.</p>
+	 *
+	 * <p>
+	 * If no existing row context has that render id, the contexts for all rows are returned, as with
+	 * {@link #getRowContexts()}. Row contexts are otherwise only created when they are needed, so looking up a
+	 * component in a large repeater does not create a context for every row.</p>
+	 *
+	 * @param id the id of the component to search for.
+	 * @return A list containing the UIContext for each row which may contain the component. Will never return null,
+	 * but it can return an empty list.
+	 */
+	public List<UIContext> getRowContextsForId(final String id) {
+		String prefix = getId() + ID_CONTEXT_SEPERATOR + 'r';
+
+		if (id == null || !id.startsWith(prefix)) {
+			// None of the rows can contain the component
+			return Collections.emptyList();
+		}
+
+		// Render ids may themselves contain the separator, so try each candidate
+		Map<String, SubUIContext> contextByRenderId = getContextByRenderId();
+		List<UIContext> contexts = new ArrayList<>(1);
+		int end = prefix.length();
+
+		while (end != -1) {
+			end = id.indexOf(ID_CONTEXT_SEPERATOR, end + 1);
+			String renderId = end == -1 ? id.substring(prefix.length()) : id.substring(prefix.length(), end);
+			SubUIContext rowContext = contextByRenderId.get(renderId);
+
+			if (rowContext != null) {
+				List<?> beanList = getBeanList();
+				int rowIndex = rowContext.getRowIndex();
+
+				if (rowIndex < 0 || rowIndex >= beanList.size() || !Objects.equals(getRowId(beanList.get(rowIndex)),
+						rowContext.getRowId())) {
+					// The row has moved or is no longer in the data, so the render ids may have been reused
+					return getRowContexts();
+				}
+
+				contexts.add(getRowContext(beanList.get(rowIndex), rowIndex));
+			}
+		}
+
+		if (!contexts.isEmpty()) {
+			return contexts;
+		}
+
+		return getRowContexts();
+	}
+
+	/**
+	 * Retrieves the existing row contexts, keyed by their row render id. The mappings are cached in this repeater's
+	 * scratch map under {@link #SCRATCHMAP_CONTEXT_BY_RENDER_ID_KEY}. Render ids which are used by more than one row
+	 * context are left out, so that all the rows are searched for them.
+	 *
+	 * @return the row contexts keyed by render id.
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, SubUIContext> getContextByRenderId() {
+		UIContext uic = UIContextHolder.getCurrent();
+		Map<Object, Object> scratchMap = uic == null ? null : uic.getScratchMap(this);
+		Map<String, SubUIContext> contextByRenderId = scratchMap == null ? null
+				: (Map<String, SubUIContext>) scratchMap.get(SCRATCHMAP_CONTEXT_BY_RENDER_ID_KEY);
+
+		if (contextByRenderId == null) {
+			RepeaterModel model = getComponentModel();
+			contextByRenderId = new HashMap<>();
+
+			if (model.rowContextMap != null) {
+				Set<String> duplicates = new HashSet<>();
+
+				for (SubUIContext rowContext : model.rowContextMap.values()) {
+					if (contextByRenderId.put(rowContext.getRowRenderId(), rowContext) != null) {
+						duplicates.add(rowContext.getRowRenderId());
+					}
+				}
+
+				contextByRenderId.keySet().removeAll(duplicates);
+			}
+
+			if (scratchMap != null) {
+				scratchMap.put(SCRATCHMAP_CONTEXT_BY_RENDER_ID_KEY, contextByRenderId);
+			}
+		}
+
+		return contextByRenderId;
+	}
+
 	/**
 	 * Retrieves the repeat root, creating one if necessary.
 	 *
@@ -1011,9 +1146,10 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		private final int contextId;
 
 		/**
-		 * A map of Component models, keyed by the component which they belong to.
+		 * A map of Component models, keyed by the component which they belong to. This is only created once a
+		 * component in the row has state, as most rows of large repeaters do not.
 		 */
-		private final Map<WebComponent, WebModel> componentModels = new HashMap<>();
+		private Map<WebComponent, WebModel> componentModels;
 
 		/**
 		 * Creates a SubUIContext.
@@ -1115,7 +1251,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public WebModel getModel(final WebComponent component) {
-			WebModel model = componentModels.get(component);
+			WebModel model = componentModels == null ? null : componentModels.get(component);
 
 			if (model == null) {
 				// Try the parent.
@@ -1138,11 +1274,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			// Need to figure out which context should store the model.
 			if (component instanceof WRepeatRoot) {
 				// The repeat root must always be stored locally.
-				componentModels.put(component, model);
+				putModel(component, model);
 			} else if (isInContext(component)) {
 				// The component that we are being asked to store a model for
 				// is inside a repeater and is from this context.
-				componentModels.put(component, model);
+				putModel(component, model);
 			} else {
 				// The component is not from this context, so ask the parent
 				// context to store it.
@@ -1191,18 +1327,57 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public void removeModel(final WebComponent component) {
-			if (componentModels.remove(component) == null) {
+			if (componentModels == null || componentModels.remove(component) == null) {
 				// Not from this context, better try the parent context.
 				getParentContext().removeModel(component);
+			} else {
+				markRowChanged();
+			}
+		}
+
+		/**
+		 * Records that the model for the given component has been modified. The models for this row are held by the
+		 * repeater's model, so changes to them are recorded against the repeater in the parent context.
+		 *
+		 * @param component the component whose model has been modified.
+		 */
+		@Override
+		public void markModelChanged(final WebComponent component) {
+			if (componentModels != null && componentModels.containsKey(component)) {
+				markRowChanged();
+			} else {
+				super.markModelChanged(component);
 			}
 		}
 
+		/**
+		 * Records that the state of this row has been modified.
+		 */
+		private void markRowChanged() {
+			super.markModelChanged(repeatRoot.repeater);
+		}
+
 		/**
 		 * @return the components which have models in this SubUIContext.
 		 */
 		@Override
 		public Set getComponents() {
-			return componentModels.keySet();
+			return componentModels == null ? Collections.emptySet() : componentModels.keySet();
+		}
+
+		/**
+		 * Stores a component model in this row.
+		 *
+		 * @param component the component to store the model for.
+		 * @param model the component model.
+		 */
+		private void putModel(final WebComponent component, final WebModel model) {
+			if (componentModels == null) {
+				componentModels = new HashMap<>();
+			}
+
+			componentModels.put(component, model);
+			markRowChanged();
 		}
 
 		/**
@@ -1251,11 +1426,33 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			if (isInContext(component)) {
 				Map sharedScratchMap = getParentContext().getScratchMap(component);
 				sharedScratchMap.remove(this);
+
+				ComponentSlotMap<String> idCache = UIContextImpl.getRowIdCache(getParentContext(), this);
+
+				if (idCache != null) {
+					idCache.remove(component);
+				}
 			} else {
 				getParentContext().clearScratchMap(component);
 			}
 		}
 
+		/**
+		 * Retrieves the cache of component ids for the given component. Components in this row have their own cache,
+		 * as their ids depend on the row.
+		 *
+		 * @param component the component whose id is to be cached.
+		 * @return the id cache, or null if the parent context does not support caching ids.
+		 */
+		@Override
+		ComponentSlotMap<String> getIdCache(final WebComponent component) {
+			if (isInContext(component)) {
+				return UIContextImpl.getRowIdCache(getParentContext(), this);
+			} else {
+				return UIContextImpl.getIdCache(getParentContext(), component);
+			}
+		}
+
 		/**
 		 * Doesn't do anything - the real UI Context will clear the scratch map.
 		 */
@@ -58,6 +58,11 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private static final int DEFAULT_ROWS = 10;
 
+	/**
+	 * This key is used to access the adapted table model from the scratch map.
+	 */
+	private static final String SCRATCHMAP_ROW_PATH_MODEL_KEY = "WTable.rowPathModel";
+
 	/**
 	 * For easy access to the columns, including the ability to hide them all at once.
 	 */
@@ -305,6 +310,111 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		return getComponentModel().tableModel;
 	}
 
+	/**
+	 * Retrieves the table model as a {@link RowPathTableModel}. If the table model does not implement
+	 * RowPathTableModel, it is adapted using {@link AdapterRowPathTableModel}.
+	 *
+	 * @return the table model, which can be called with row paths.
+	 */
+	public RowPathTableModel getRowPathTableModel() {
+		TableModel model = getTableModel();
+
+		if (model instanceof RowPathTableModel) {
+			return (RowPathTableModel) model;
+		}
+
+		// Reuse the adapter for the rest of the request, as it is used for each cell
+		@SuppressWarnings("unchecked")
+		Map<Object, Object> scratchMap = getScratchMap();
+		AdapterRowPathTableModel adapter = scratchMap == null ? null
+				: (AdapterRowPathTableModel) scratchMap.get(SCRATCHMAP_ROW_PATH_MODEL_KEY);
+
+		if (adapter == null || adapter.getBacking() != model) {
+			adapter = new AdapterRowPathTableModel(model);
+
+			if (scratchMap != null) {
+				scratchMap.put(SCRATCHMAP_ROW_PATH_MODEL_KEY, adapter);
+			}
+		}
+
+		return adapter;
+	}
+
+	/**
+	 * Retrieves the number of rows in the table. This is the number of top level rows in the table model, except for
+	 * a {@link PagedTableModel}, where the current page is fetched first, and the row count is estimated from the rows
+	 * fetched if the model does not know the total.
+	 *
+	 * @return the number of rows in the table.
+	 */
+	public int getRowCount() {
+		TableModel model = getTableModel();
+
+		if (model instanceof PagedTableModel) {
+			return fetchPage((PagedTableModel) model);
+		}
+
+		return model.getRowCount();
+	}
+
+	/**
+	 * Fetches the current page from a paged model, if it has not already been fetched for the current page, page size
+	 * and sort order. If the current page is past the end of the data, the last page is fetched instead. Where the
+	 * model does not know the total, or the data shrinks while the page is fetched, the previous pages are fetched
+	 * until one contains rows.
+	 *
+	 * @param model the paged model.
+	 * @return the number of rows in the table.
+	 */
+	private int fetchPage(final PagedTableModel model) {
+		WTableComponentModel componentModel = getComponentModel();
+		int rowsPerPage = componentModel.rowsPerPage;
+
+		if (componentModel.paginationMode == PaginationMode.NONE || rowsPerPage <= 0) {
+			throw new IllegalStateException("Table with no pagination tried to fetch a page from a PagedTableModel.");
+		}
+
+		int page = componentModel.currentPage;
+		int sortCol = componentModel.sortColIndex;
+		boolean ascending = componentModel.sortAscending;
+		PageState state = componentModel.pageState;
+
+		if (state != null && state.page == page && state.rowsPerPage == rowsPerPage && state.sortCol == sortCol
+				&& state.ascending == ascending) {
+			return state.rowCount;
+		}
+
+		int rowCount = model.getRowCount();
+
+		if (rowCount != PagedTableModel.UNKNOWN_ROW_COUNT) {
+			page = Math.min(page, componentModel.getMaxPage(rowCount));
+		}
+
+		int fetched = model.fetchPage(page * rowsPerPage, rowsPerPage, sortCol, ascending);
+		boolean lastPage = fetched < rowsPerPage;
+
+		// Rows may have been removed since the row count was read, so step back until a page contains rows
+		while (fetched == 0 && page > 0) {
+			rowCount = model.getRowCount();
+			page = rowCount == PagedTableModel.UNKNOWN_ROW_COUNT ? page - 1 : Math.min(page - 1, componentModel.
+					getMaxPage(rowCount));
+			fetched = model.fetchPage(page * rowsPerPage, rowsPerPage, sortCol, ascending);
+		}
+
+		rowCount = model.getRowCount();
+
+		if (rowCount == PagedTableModel.UNKNOWN_ROW_COUNT) {
+			// Allow for a next page if this page is full
+			rowCount = page * rowsPerPage + fetched + (lastPage ? 0 : 1);
+		}
+
+		componentModel = getOrCreateComponentModel();
+		componentModel.currentPage = page;
+		componentModel.pageState = new PageState(page, rowsPerPage, sortCol, ascending, rowCount);
+
+		return rowCount;
+	}
+
 	/**
 	 * Sets the table model which provides the row/column data.
 	 *
@@ -313,6 +423,8 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	public void setTableModel(final TableModel tableModel) {
 		getOrCreateComponentModel().tableModel = tableModel;
 		getOrCreateComponentModel().rowIndexMapping = null;
+		getOrCreateComponentModel().sortIndexKey = null;
+		getOrCreateComponentModel().pageState = null;
 		setSelectedRows(null);
 		setExpandedRows(null);
 		clearPrevExpandedRows();
@@ -335,6 +447,10 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			((ScrollableTableModel) tableModel).setCurrentRows(startIndex, endIndex);
 		}
 
+		if (tableModel instanceof PagedTableModel && !isPaginated()) {
+			throw new IllegalStateException("Set a PagedTableModel on a table that is not paginated.");
+		}
+
 		// Flush the repeater's row contexts and scratch maps
 		repeater.reset();
 	}
@@ -359,7 +475,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			return;
 		}
 
-		int rows = model.getRowCount();
+		int rows = getRowCount();
 		if (rows == 0) {
 			return;
 		}
@@ -367,8 +483,8 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		int startIndex = 0;
 		int endIndex = rows - 1;
 
-		// For scrollable table model, only update the rows on the current page
-		if (model instanceof ScrollableTableModel) {
+		// For scrollable and paged table models, only update the rows on the current page
+		if (model instanceof ScrollableTableModel || model instanceof PagedTableModel) {
 			if (!isPaginated()) {
 				throw new IllegalStateException(
 						"UpdateBeanValue tried to update a ScrollableTableModel with no pagination.");
@@ -379,7 +495,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			// Only update the rows on the current page
 			startIndex = currentPage * rowsPerPage;
 			endIndex = Math.min(startIndex + rowsPerPage, rows) - 1;
-			LOG.warn("UpdateBeanValue only updating the current page for ScrollableTableModel");
+			LOG.warn("UpdateBeanValue only updating the current page for " + model.getClass().getSimpleName());
 		}
 
 		if (endIndex < startIndex) {
@@ -399,7 +515,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private void updateBeanValueForRenderedRows() {
 		WTableRowRenderer rowRenderer = (WTableRowRenderer) repeater.getRepeatedComponent();
-		TableModel model = getTableModel();
+		RowPathTableModel model = getRowPathTableModel();
 
 		int index = 0;
 
@@ -409,7 +525,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 
 		for (RowIdWrapper wrapper : wrappers) {
 			UIContext rowContext = repeater.getRowContext(wrapper, index++);
-			List<Integer> rowIndex = wrapper.getRowIndex();
+			RowPath rowIndex = wrapper.getRowPath();
 
 			Class<? extends WComponent> expandRenderer = model.getRendererClass(rowIndex);
 			if (expandRenderer == null) {
@@ -439,7 +555,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private void updateBeanValueForColumnInRow(final WTableRowRenderer rowRenderer,
 			final UIContext rowContext,
-			final List<Integer> rowIndex, final int col, final TableModel model) {
+			final RowPath rowIndex, final int col, final RowPathTableModel model) {
 		// The actual component is wrapped in a renderer wrapper, so we have to fetch it from that
 		WComponent renderer = ((Container) rowRenderer.getRenderer(col)).getChildAt(0);
 
@@ -945,7 +1061,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	public int getCurrentPage() {
 		// Table data may have changed.
 		int currentPage = getComponentModel().currentPage;
-		int maxPage = getComponentModel().getMaxPage();
+		int maxPage = getComponentModel().getMaxPage(getRowCount());
 
 		if (currentPage > maxPage) {
 			currentPage = maxPage;
@@ -963,8 +1079,9 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			throw new IllegalArgumentException("Page number must be greater than or equal to zero.");
 		}
 
+		int maxPage = getComponentModel().getMaxPage(getRowCount());
 		WTableComponentModel model = getOrCreateComponentModel();
-		model.currentPage = Math.min(model.getMaxPage(), currentPage);
+		model.currentPage = Math.min(maxPage, currentPage);
 
 		// Notify the table model that the page has changed
 		TableModel dataModel = getTableModel();
@@ -1291,6 +1408,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 				// Reset sort
 				setSort(-1, false);
 				getOrCreateComponentModel().rowIndexMapping = null;
+				getOrCreateComponentModel().sortIndexKey = null;
 			} else {
 				try {
 					int sortCol = Integer.parseInt(sortColStr);
@@ -1320,8 +1438,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 * @param sortAsc true if sort ascending, otherwise sort descending
 	 */
 	public void sort(final int sortCol, final boolean sortAsc) {
-		int[] rowIndexMappings = getTableModel().sort(sortCol, sortAsc);
-		getOrCreateComponentModel().rowIndexMapping = rowIndexMappings;
+		int[] rowIndexMappings = sortModel(sortCol, sortAsc);
 
 		setSort(sortCol, sortAsc);
 
@@ -1333,6 +1450,68 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 	}
 
+	/**
+	 * Sorts the table model and holds the row index mapping, or a reference to the shared mapping of a
+	 * {@link SharedSortTableModel}, in the component model.
+	 *
+	 * @param sortCol the column to sort
+	 * @param sortAsc true if sort ascending, otherwise sort descending
+	 * @return the row index mapping, or null if the model does not provide a mapping
+	 */
+	private int[] sortModel(final int sortCol, final boolean sortAsc) {
+		TableModel model = getTableModel();
+		TableSortCache.SortKey key = null;
+		int[] rowIndexMapping;
+
+		if (model instanceof PagedTableModel) {
+			// Paged models are sorted by the data source as each page is fetched
+			rowIndexMapping = null;
+		} else if (model instanceof SharedSortTableModel
+				&& ((SharedSortTableModel) model).getDataVersion() != null) {
+			key = new TableSortCache.SortKey(((SharedSortTableModel) model).getDataVersion(), sortCol, sortAsc);
+			rowIndexMapping = TableSortCache.getRowIndexMapping(key, (SharedSortTableModel) model);
+		} else {
+			rowIndexMapping = model.sort(sortCol, sortAsc);
+		}
+
+		// Only hold a reference to a shared mapping
+		WTableComponentModel componentModel = getOrCreateComponentModel();
+		componentModel.sortIndexKey = rowIndexMapping == null ? null : key;
+		componentModel.rowIndexMapping = key == null ? rowIndexMapping : null;
+
+		return rowIndexMapping;
+	}
+
+	/**
+	 * Retrieves the mapping of table row indices to table model row indices, sorting the model again if the data has
+	 * changed since it was sorted.
+	 *
+	 * @return the row index mapping, or null if the rows are not mapped
+	 */
+	private int[] getRowIndexMapping() {
+		WTableComponentModel componentModel = getComponentModel();
+		TableModel model = getTableModel();
+		TableSortCache.SortKey key = componentModel.sortIndexKey;
+		int[] rowIndexMapping;
+
+		if (key == null) {
+			rowIndexMapping = componentModel.rowIndexMapping;
+		} else if (model instanceof SharedSortTableModel
+				&& key.getDataVersion().equals(((SharedSortTableModel) model).getDataVersion())) {
+			rowIndexMapping = TableSortCache.getRowIndexMapping(key, (SharedSortTableModel) model);
+		} else {
+			// The shared data has changed
+			return sortModel(getSortColumnIndex(), isSortAscending());
+		}
+
+		// Check if sort mapping needs updating
+		if (isSorted() && rowIndexMapping != null && rowIndexMapping.length != model.getRowCount()) {
+			rowIndexMapping = sortModel(getSortColumnIndex(), isSortAscending());
+		}
+
+		return rowIndexMapping;
+	}
+
 	/**
 	 * Handles a request containing row selection data.
 	 *
@@ -1353,7 +1532,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 
 		boolean singleSelect = getSelectMode() == SelectMode.SINGLE;
 
-		if (getTableModel().getRowCount() == 0) {
+		if (getRowCount() == 0) {
 			newSelections = new HashSet<>();
 			selectedRows = new String[0];
 		} else if (getPaginationMode() == PaginationMode.NONE || getPaginationMode() == PaginationMode.CLIENT
@@ -1408,9 +1587,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		Set<?> oldExpansions = getExpandedRows();
 		Set<Object> newExpansions;
 
-		TableModel model = getTableModel();
-
-		if (model.getRowCount() == 0) {
+		if (getRowCount() == 0) {
 			newExpansions = new HashSet<>();
 			expandedRows = new String[0];
 		} else if (getPaginationMode() == PaginationMode.NONE || getPaginationMode() == PaginationMode.CLIENT
@@ -1515,6 +1692,11 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 * </p>
 	 */
 	public void handleDataChanged() {
+		// Discard the current page of a paged model, so that it is fetched again
+		if (getComponentModel().pageState != null) {
+			getOrCreateComponentModel().pageState = null;
+		}
+
 		// Apply sort (if required)
 		if (isSorted()) {
 			sort(getSortColumnIndex(), isSortAscending());
@@ -1693,7 +1875,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		@Override
 		public Object getBean(final BeanProviderBound beanProviderBound) {
 			TableModel dataModel = table.getTableModel();
-			int rowCount = dataModel.getRowCount();
+			int rowCount = table.getRowCount();
 
 			if (rowCount == 0) {
 				return Collections.emptyList();
@@ -1702,7 +1884,9 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			int startIndex = 0;
 			int endIndex = rowCount - 1;
 
-			if (PaginationMode.DYNAMIC == table.getPaginationMode() && table.isPaginated()) {
+			// Paged models only hold the rows on the current page
+			if ((PaginationMode.DYNAMIC == table.getPaginationMode() && table.isPaginated())
+					|| dataModel instanceof PagedTableModel) {
 				int rowsPerPage = table.getRowsPerPage();
 				int currentPage = table.getCurrentPage();
 				// Only render the rows on the current page
@@ -1721,6 +1905,53 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 	}
 
+	/**
+	 * Records the page most recently fetched from a {@link PagedTableModel}.
+	 */
+	private static final class PageState implements Serializable {
+
+		/**
+		 * The page which was fetched.
+		 */
+		private final int page;
+
+		/**
+		 * The number of rows per page when the page was fetched.
+		 */
+		private final int rowsPerPage;
+
+		/**
+		 * The sort column when the page was fetched.
+		 */
+		private final int sortCol;
+
+		/**
+		 * The sort direction when the page was fetched.
+		 */
+		private final boolean ascending;
+
+		/**
+		 * The number of rows in the table, as reported or estimated when the page was fetched.
+		 */
+		private final int rowCount;
+
+		/**
+		 * @param page the page which was fetched
+		 * @param rowsPerPage the number of rows per page
+		 * @param sortCol the sort column
+		 * @param ascending the sort direction
+		 * @param rowCount the number of rows in the table
+		 */
+		private PageState(final int page, final int rowsPerPage, final int sortCol, final boolean ascending,
+				final int rowCount) {
+			this.page = page;
+			this.rowsPerPage = rowsPerPage;
+			this.sortCol = sortCol;
+			this.ascending = ascending;
+			this.rowCount = rowCount;
+		}
+	}
+
 	/**
 	 * Determine the row ids for the provided index range.
 	 *
@@ -1731,16 +1962,10 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private List<RowIdWrapper> getRowIds(final int startIndex, final int endIndex,
 			final boolean forUpdate) {
-		TableModel model = getTableModel();
+		RowPathTableModel model = getRowPathTableModel();
 
 		// If the table is sorted, we may require a mapping for table row index <--> data model index.
-		int[] rowIndexMapping = getComponentModel().rowIndexMapping;
-
-		// Check if sort mapping needs updating
-		if (isSorted() && rowIndexMapping != null && rowIndexMapping.length != model.getRowCount()) {
-			rowIndexMapping = model.sort(getSortColumnIndex(), isSortAscending());
-			getOrCreateComponentModel().rowIndexMapping = rowIndexMapping;
-		}
+		int[] rowIndexMapping = getRowIndexMapping();
 
 		List<RowIdWrapper> rowIds = new ArrayList<>(endIndex - startIndex + 1);
 
@@ -1767,15 +1992,8 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		boolean editable = isEditable();
 
 		for (int i = startIndex; i <= endIndex; i++) {
-			// Create top level
-			List<Integer> rowIndex = new ArrayList<>(1);
-
-			// Map ids (if sorted)
-			if (rowIndexMapping == null) {
-				rowIndex.add(i);
-			} else {
-				rowIndex.add(rowIndexMapping[i]);
-			}
+			// Create top level, mapping ids (if sorted)
+			RowPath rowIndex = RowPath.of(rowIndexMapping == null ? i : rowIndexMapping[i]);
 
 			// Row key
 			Object key = model.getRowKey(rowIndex);
@@ -1832,7 +2050,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	@SuppressWarnings("checkstyle:parameternumber")
 	private void calcChildrenRowIds(final List<RowIdWrapper> rows, final RowIdWrapper row,
-			final TableModel model,
+			final RowPathTableModel model,
 			final RowIdWrapper parent, final Set<?> expanded, final ExpandMode mode,
 			final boolean forUpdate, final boolean editable) {
 		// Add row
@@ -1843,7 +2061,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			parent.addChild(row);
 		}
 
-		List<Integer> rowIndex = row.getRowIndex();
+		RowPath rowIndex = row.getRowPath();
 
 		// If row has a renderer, then dont need to process its children (should not have any anyway as it is a "leaf")
 		if (model.getRendererClass(rowIndex) != null) {
@@ -1884,8 +2102,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		// Add children by processing each child row
 		for (int i = 0; i < children; i++) {
 			// Add next level
-			List<Integer> nextRow = new ArrayList<>(row.getRowIndex());
-			nextRow.add(i);
+			RowPath nextRow = rowIndex.child(i);
 			// Create Wrapper
 			Object key = model.getRowKey(nextRow);
 			RowIdWrapper wrapper = new RowIdWrapper(nextRow, key, row);
@@ -2075,6 +2292,17 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		private int[] rowIndexMapping;
 
+		/**
+		 * The key of the shared row index mapping in the {@link TableSortCache}, if the table model is a
+		 * {@link SharedSortTableModel}. The mapping is held in the cache rather than in {@link #rowIndexMapping}.
+		 */
+		private TableSortCache.SortKey sortIndexKey;
+
+		/**
+		 * The page most recently fetched from a {@link PagedTableModel}, or null if no page has been fetched.
+		 */
+		private PageState pageState;
+
 		/**
 		 * Indicates that the first data column in the table is considered a row header.
 		 */
@@ -2087,11 +2315,10 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		private final Map<WComponent, List<ActionConstraint>> actionConstraints = new HashMap<>();
 
 		/**
+		 * @param rowCount the number of rows in the table.
 		 * @return the maximum page number.
 		 */
-		private int getMaxPage() {
-			int rowCount = tableModel.getRowCount();
-
+		private int getMaxPage(final int rowCount) {
 			if (rowCount == 0) {
 				return 0;
 			} else if (paginationMode == PaginationMode.NONE || rowsPerPage == 0) {
@@ -2409,6 +2636,182 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		void setCurrentRows(int start, int end);
 	}
 
+	/**
+	 * <p>
+	 * This extension of {@link TableModel} is for models over data sources which can fetch a single page of sorted
+	 * rows, such as a database query. Rather than sorting all the rows using {@link #sort(int, boolean)}, the table
+	 * fetches the current page in the current sort order, so the model only needs to hold the rows on that page, and
+	 * the table does not hold a row index mapping for all the rows.
+	 * </p>
+	 * <p>
+	 * Rows are addressed by their index in the sorted data, so the rows on the fetched page have the indexes start to
+	 * start + fetched - 1. The table is always paginated, and only the rows on the current page are rendered and
+	 * updated.
+	 * </p>
+	 * <p>
+	 * If the total number of rows is not known, {@link #getRowCount()} may return {@link #UNKNOWN_ROW_COUNT}. The table
+	 * will then allow moving to the next page whenever the current page is full.
+	 * </p>
+	 *
+	 * @author Aswin Kandula
+	 * @since 1.5.15
+	 */
+	public interface PagedTableModel extends TableModel {
+
+		/**
+		 * The row count to return if the total number of rows is not known.
+		 */
+		int UNKNOWN_ROW_COUNT = -1;
+
+		/**
+		 * Fetches a page of rows. The table calls this whenever the current page, page size or sort order changes, or
+		 * {@link WTable#handleDataChanged()} is called.
+		 *
+		 * @param start the index of the first row to fetch.
+		 * @param count the number of rows to fetch.
+		 * @param sortCol the column to sort by, or -1 if the rows are not sorted.
+		 * @param ascending true for an ascending sort, false for descending.
+		 * @return the number of rows fetched, which is less than the count requested if this is the last page.
+		 */
+		int fetchPage(int start, int count, int sortCol, boolean ascending);
+
+		/**
+		 * Retrieves the total number of rows for the root (ie top) level.
+		 *
+		 * @return the total number of rows, or {@link #UNKNOWN_ROW_COUNT} if it is not known.
+		 */
+		@Override
+		int getRowCount();
+	}
+
+	/**
+	 * <p>
+	 * This extension of {@link TableModel} is for models over read-only data which is shared by many users, such as
+	 * reference data. The row index mapping returned by {@link #sort(int, boolean)} is held in the
+	 * {@link TableSortCache}, keyed by the data version, sort column and sort direction, and the table only holds a
+	 * reference to it in the user's session. Tables showing the same version of the data therefore share a single
+	 * mapping, and the data is only sorted again when the version changes or the mapping is evicted from the cache.
+	 * </p>
+	 * <p>
+	 * The data version must uniquely identify the data across all the tables using the cache, for example by
+	 * including the name of the data set, and must change whenever the data changes. As the mapping is shared, the
+	 * model must not modify the array returned by {@link #sort(int, boolean)} after it has been returned.
+	 * </p>
+	 *
+	 * @author Aswin Kandula
+	 * @since 1.5.15
+	 */
+	public interface SharedSortTableModel extends TableModel {
+
+		/**
+		 * Retrieves the version of the data. Models holding the same data must return equal versions.
+		 *
+		 * @return the version of the data, or null if the data is not shared and the table should hold its own row
+		 * index mapping.
+		 */
+		Serializable getDataVersion();
+	}
+
+	/**
+	 * <p>
+	 * This extension of {@link TableModel} is for models which can read row indexes held as a {@link RowPath}. The
+	 * table calls these methods when rendering and updating rows, so that the row indexes do not need to be boxed.
+	 * </p>
+	 * <p>
+	 * Models which only implement {@link TableModel} are adapted using {@link AdapterRowPathTableModel}.
+	 * </p>
+	 *
+	 * @author Aswin Kandula
+	 * @since 1.5.15
+	 */
+	public interface RowPathTableModel extends TableModel {
+
+		/**
+		 * Retrieves the value at the given row and column.
+		 *
+		 * @param row - the row index.
+		 * @param col - the column index. Column of -1 indicates row has a renderer.
+		 * @return the value at the given row and column.
+		 */
+		Object getValueAt(RowPath row, int col);
+
+		/**
+		 * Indicates whether the given cell is editable.
+		 *
+		 * @param row - the row index.
+		 * @param col - the column index. Column of -1 indicates row has a renderer.
+		 * @return true if the given cell is editable, false otherwise.
+		 */
+		boolean isCellEditable(RowPath row, int col);
+
+		/**
+		 * Sets the value at the given row and column.
+		 *
+		 * @param value the value to set.
+		 * @param row - the row index.
+		 * @param col - the column index.
+		 */
+		void setValueAt(Object value, RowPath row, int col);
+
+		/**
+		 * Indicates whether the given row is disabled.
+		 *
+		 * @param row the row index
+		 * @return true if the row is disabled, false otherwise.
+		 */
+		boolean isDisabled(RowPath row);
+
+		/**
+		 * Indicates whether the given row is selectable.
+		 *
+		 * @param row the row index
+		 * @return true if the row is selectable, false otherwise.
+		 */
+		boolean isSelectable(RowPath row);
+
+		/**
+		 * Indicates whether the given row is expandable.
+		 *
+		 * @param row the row index
+		 * @return true if the row is expandable, false otherwise.
+		 */
+		boolean isExpandable(RowPath row);
+
+		/**
+		 * Allows the model to report if the row has children without actually having to determine the number of
+		 * children (as it might not be known).
+		 *
+		 * @param row the row index
+		 * @return true if the row has children
+		 */
+		boolean hasChildren(RowPath row);
+
+		/**
+		 * Retrieves the number of children a row has.
+		 *
+		 * @param row the row index
+		 * @return the number of rows in the model for this level.
+		 */
+		int getChildCount(RowPath row);
+
+		/**
+		 * Retrieves the custom renderer for this row.
+		 *
+		 * @param row the row index
+		 * @return the renderer class, or null if the default renderer is to be used.
+		 */
+		Class<? extends WComponent> getRendererClass(RowPath row);
+
+		/**
+		 * Retrieves the key (ie bean) used to uniquely identify this row.
+		 *
+		 * @param row the row index
+		 * @return the key (ie bean) used to uniquely identify this row
+		 * @see TableModel#getRowKey(List)
+		 */
+		Object getRowKey(RowPath row);
+	}
+
 	/**
 	 * The BeanBoundTableModel provides a link between a bean (bound to a table), and the table model API.
 	 *
@@ -2499,7 +2902,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		/**
 		 * The row index.
 		 */
-		private final List<Integer> rowIndex;
+		private final RowPath rowIndex;
 		/**
 		 * The row key.
 		 */
@@ -2528,7 +2931,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		public RowIdWrapper(final List<Integer> rowIndex, final Object rowKey,
 				final RowIdWrapper parent) {
-			this.rowIndex = rowIndex;
+			this.rowIndex = RowPath.valueOf(rowIndex);
 			this.rowKey = rowKey;
 			this.parent = parent;
 		}
@@ -2540,6 +2943,13 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			return rowIndex;
 		}
 
+		/**
+		 * @return the row index as a row path
+		 */
+		public RowPath getRowPath() {
+			return rowIndex;
+		}
+
 		/**
 		 * @return the row key
 		 */
@@ -22,7 +22,6 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.httpclient.URI;
 import org.apache.commons.httpclient.util.URIUtil;
-import org.apache.commons.lang3.text.translate.AggregateTranslator;
 import org.apache.commons.lang3.text.translate.CharSequenceTranslator;
 import org.apache.commons.lang3.text.translate.CodePointTranslator;
 import org.apache.commons.lang3.text.translate.LookupTranslator;
@@ -157,22 +156,26 @@ public final class WebUtilities {
 			});
 
 	/**
-	 * Used to encode characters as necessary.
+	 * The escape sequences used to encode characters, indexed by character. A null entry means the character is output
+	 * as is, and an empty entry means the character can not be represented in XML and is dropped. Characters past the
+	 * end of the table are output as is.
 	 */
-	private static final CharSequenceTranslator ENCODE = new AggregateTranslator(
-			new LookupTranslator(
-					new String[][]{
-						{"<", LT_ESCAPE},
-						{">", GT_ESCAPE},
-						{"&", AMP_ESCAPE},
-						{"\"", QUOT_ESCAPE},
-						{"{", OPEN_BRACKET_ESCAPE},
-						{"}", CLOSE_BRACKET_ESCAPE}
-					}),
-			WebUtilities.NumericEntityIgnorer.between(0x00, 0x08),
-			WebUtilities.NumericEntityIgnorer.between(0x0b, 0x0c),
-			WebUtilities.NumericEntityIgnorer.between(0x0e, 0x1f)
-	);
+	private static final String[] ENCODE_ESCAPES = new String['}' + 1];
+
+	static {
+		for (char chr = 0x00; chr <= 0x1f; chr++) {
+			if (chr != '\t' && chr != '\n' && chr != '\r') {
+				ENCODE_ESCAPES[chr] = "";
+			}
+		}
+
+		ENCODE_ESCAPES['<'] = LT_ESCAPE;
+		ENCODE_ESCAPES['>'] = GT_ESCAPE;
+		ENCODE_ESCAPES['&'] = AMP_ESCAPE;
+		ENCODE_ESCAPES['"'] = QUOT_ESCAPE;
+		ENCODE_ESCAPES['{'] = OPEN_BRACKET_ESCAPE;
+		ENCODE_ESCAPES['}'] = CLOSE_BRACKET_ESCAPE;
+	}
 
 	/**
 	 * Prevent instantiation of this class.
@@ -363,10 +366,77 @@ public final class WebUtilities {
 	 * @return an encoded copy of the input String.
 	 */
 	public static String encode(final String input) {
-		if (input == null || input.length() == 0) {
+		if (input == null || input.length() == 0 || indexOfEncodedChar(input, 0) == -1) {
 			return input;
 		}
-		return ENCODE.translate(input);
+
+		StringWriter writer = new StringWriter(input.length() + 16);
+
+		try {
+			encode(input, writer);
+		} catch (IOException e) {
+			// Can not happen when writing to a StringWriter
+			throw new SystemException("Failed to encode input", e);
+		}
+
+		return writer.toString();
+	}
+
+	/**
+	 * Encode all the special characters found in the given string to their escape sequences according to the XML
+	 * specification, writing the result to the given writer. Unlike {@link #encode(String)}, no intermediate Strings
+	 * are created, and runs of characters which do not need encoding are written directly from the input.
+	 *
+	 * @param input the String to encode, may be null.
+	 * @param writer the writer to write the encoded output to.
+	 * @throws IOException if there is an error writing to the writer.
+	 */
+	public static void encode(final String input, final Writer writer) throws IOException {
+		if (input == null) {
+			return;
+		}
+
+		int length = input.length();
+		int start = 0;
+
+		for (int i = indexOfEncodedChar(input, 0); i != -1; i = indexOfEncodedChar(input, start)) {
+			if (i > start) {
+				writer.write(input, start, i - start);
+			}
+
+			String escape = ENCODE_ESCAPES[input.charAt(i)];
+
+			if (!escape.isEmpty()) {
+				writer.write(escape);
+			}
+
+			start = i + 1;
+		}
+
+		if (start == 0) {
+			writer.write(input);
+		} else if (start < length) {
+			writer.write(input, start, length - start);
+		}
+	}
+
+	/**
+	 * Finds the next character in the input which needs to be encoded.
+	 *
+	 * @param input the String to search.
+	 * @param fromIndex the index to start the search from.
+	 * @return the index of the next character to encode, or -1 if there are none.
+	 */
+	private static int indexOfEncodedChar(final String input, final int fromIndex) {
+		for (int i = fromIndex; i < input.length(); i++) {
+			char chr = input.charAt(i);
+
+			if (chr < ENCODE_ESCAPES.length && ENCODE_ESCAPES[chr] != null) {
+				return i;
+			}
+		}
+
+		return -1;
 	}
 
 	/**
@@ -637,12 +707,20 @@ public final class WebUtilities {
 
 	/**
 	 * Finds a component by its id.
+	 * <p>
+	 * Visible components are found using an index of the tree which is built once per request, rather than searching
+	 * the tree for each id.
+	 * </p>
 	 *
 	 * @param id the id of the component to search for.
 	 * @param visibleOnly true if process visible only
 	 * @return the component and context for the given id, or null if not found.
 	 */
 	public static ComponentWithContext getComponentById(final String id, final boolean visibleOnly) {
+		if (visibleOnly) {
+			return ComponentIdIndex.getVisibleComponentById(id);
+		}
+
 		UIContext uic = UIContextHolder.getCurrent();
 		WComponent root = uic.getUI();
 		ComponentWithContext comp = TreeUtil.getComponentWithContextForId(root, id, visibleOnly);
@@ -2,6 +2,7 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.util.HtmlToXMLUtil;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.Locale;
@@ -311,7 +312,12 @@ public final class XmlStringBuilder extends PrintWriter {
 	 */
 	public void append(final String string, final boolean encode) {
 		if (encode) {
-			appendOptional(WebUtilities.encode(string));
+			try {
+				WebUtilities.encode(string, this);
+			} catch (IOException e) {
+				// PrintWriter swallows errors when writing to the backing writer, so this will not happen
+				setError();
+			}
 		} else {
 			// unescaped content still has to be XML compliant.
 			write(HtmlToXMLUtil.unescapeToXML(string));
@@ -155,9 +155,11 @@ public abstract class AbstractContainerHelper {
 
 			UIContextHolder.pushContext(uic);
 
-			// Make sure maps are cleared up
-			uic.clearScratchMap();
-			uic.clearRequestScratchMap();
+			// Make sure maps are cleared up. Read-only requests may run concurrently, so must leave them alone.
+			if (!isReadOnlyRequest()) {
+				uic.clearScratchMap();
+				uic.clearRequestScratchMap();
+			}
 
 			prepareRequest();
 
@@ -284,6 +286,16 @@ public abstract class AbstractContainerHelper {
 		this.newConversation = newConversation;
 	}
 
+	/**
+	 * Indicates whether the current request is read-only. Read-only requests do not modify the user context, so may be
+	 * processed concurrently with other read-only requests for the same user context. Subclasses may override.
+	 *
+	 * @return true if the current request does not modify the user context.
+	 */
+	protected boolean isReadOnlyRequest() {
+		return false;
+	}
+
 	/**
 	 * @return true if the current request signals a restart of the application. Subclasses may override.
 	 */
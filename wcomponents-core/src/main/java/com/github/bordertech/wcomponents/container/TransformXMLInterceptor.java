@@ -10,34 +10,31 @@ import com.github.bordertech.wcomponents.servlet.ServletRequest;
 import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.AbstractSearchReplaceWriter;
+import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SystemException;
-import com.github.bordertech.wcomponents.util.ThemeUtil;
-import com.github.bordertech.wcomponents.util.Util;
-import java.io.ByteArrayInputStream;
+import com.github.bordertech.wcomponents.util.XMLUtil;
+import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
-import java.net.URL;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import javax.servlet.http.HttpServletRequest;
+import javax.xml.transform.Result;
 import javax.xml.transform.Source;
-import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
-import org.apache.commons.lang3.text.translate.AggregateTranslator;
-import org.apache.commons.lang3.text.translate.CharSequenceTranslator;
-import org.apache.commons.lang3.text.translate.LookupTranslator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
  * This interceptor is used to perform server-side XSLT so that HTML is delivered to the client instead of XML. This
- * works by buffering the response in memory and then transforming it before sending the response to the client. This
- * will use more memory and CPU on the server. If this becomes a problem it may be better to perform the transform on an
+ * works by buffering the response in memory and then transforming it before sending the response to the client. The
+ * buffered XML is streamed to the transformer and the HTML is streamed straight to the response, but this will still
+ * use more memory and CPU on the server. If this becomes a problem it may be better to perform the transform on an
  * appliance (or the client).
  *
  * @author Rick Brown
@@ -61,14 +58,14 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	private static final Log LOG = LogFactory.getLog(TransformXMLInterceptor.class);
 
 	/**
-	 * The theme XSLT resource name.
+	 * The initial size of the buffer used to hold the XML payload.
 	 */
-	private static final String RESOURCE_NAME = ThemeUtil.getThemeBase() + "xslt/" + ThemeUtil.getThemeXsltName();
+	private static final int INITIAL_BUFFER_SIZE = 8192;
 
 	/**
-	 * The XSLT cached templates.
+	 * The XML used to warm up the transformer.
 	 */
-	private static final Templates TEMPLATES = initTemplates();
+	private static final String WARM_UP_XML = "<ui:root" + XMLUtil.UI_NAMESPACE + "/>";
 
 	/**
 	 * If true then server side XSLT will be ignored regardless of the configuration property. This is to account for
@@ -130,12 +127,13 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		UIContext uic = UIContextHolder.getCurrent();
 
 		// Set up a render context to buffer the XML payload.
-		StringWriter xmlBuffer = new StringWriter();
+		XmlBuffer xmlBuffer = new XmlBuffer();
 		PrintWriter xmlWriter = new PrintWriter(xmlBuffer);
 
 		WebXmlRenderContext xmlContext = new WebXmlRenderContext(xmlWriter, uic.getLocale());
 
 		super.paint(xmlContext);  // write the XML to the buffer
+		xmlWriter.flush();
 
 		// Get a handle to the true PrintWriter.
 		WebXmlRenderContext webRenderContext = (WebXmlRenderContext) renderContext;
@@ -150,23 +148,14 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		Response response = getResponse();
 		response.setContentType(WebUtilities.CONTENT_TYPE_HTML);
 
-		String xml = xmlBuffer.toString();
-		if (isAllowCorruptCharacters() && !Util.empty(xml)) {
+		if (isAllowCorruptCharacters()) {
 			// Remove illegal HTML characters from the content before transforming it.
-			xml = removeCorruptCharacters(xml);
+			xmlBuffer.removeCorruptCharacters();
 		}
-		// Double encode template tokens in the XML
-		xml = WebUtilities.doubleEncodeBrackets(xml);
-		// Setup temp writer
-		StringWriter tempBuffer = new StringWriter();
-		PrintWriter tempWriter = new PrintWriter(tempBuffer);
-		// Perform the transformation and write the result.
-		transform(xml, uic, tempWriter);
-		// Decode Double Encoded Brackets
-		String tempResp = tempBuffer.toString();
-		tempResp = WebUtilities.doubleDecodeBrackets(tempResp);
-		// Write response
-		writer.write(tempResp);
+
+		// Perform the transformation and write the result. Template tokens are double encoded as the XML is read by
+		// the transformer and decoded again as the HTML is written to the response.
+		transform(xmlBuffer.getDoubleEncodedReader(), uic, writer);
 
 		LOG.debug("Transform XML Interceptor: Finished");
 	}
@@ -178,61 +167,57 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 * @param uic The UIContext used to determine variables such as locale.
 	 * @param writer The result of the transformation will be written to this writer.
 	 */
-	private void transform(final String xml, final UIContext uic, final PrintWriter writer) {
+	private void transform(final Reader xml, final UIContext uic, final Writer writer) {
+		DoubleDecodeBracketsWriter decodingWriter = new DoubleDecodeBracketsWriter(writer);
+		transform(new StreamSource(xml), new StreamResult(decodingWriter), debugRequested);
 
-		Transformer transformer = newTransformer();
-		Source inputXml;
 		try {
-			inputXml = new StreamSource(new ByteArrayInputStream(xml.getBytes("utf-8")));
-			StreamResult result = new StreamResult(writer);
-			if (debugRequested) {
-				transformer.setParameter("isDebug", 1);
-			}
-			transformer.transform(inputXml, result);
-		} catch (UnsupportedEncodingException | TransformerException ex) {
+			// Write out any characters still held for bracket matching
+			decodingWriter.close();
+		} catch (IOException ex) {
 			throw new SystemException("Could not transform xml", ex);
 		}
 	}
 
 	/**
-	 * Creates a new Transformer instance using cached XSLT Templates. There will be one cached template. Transformer
-	 * instances are not thread-safe and cannot be reused (they can after the transformation is complete).
+	 * Transforms the source using a pooled transformer for the current theme XSLT.
 	 *
-	 * @return A new Transformer instance.
+	 * @param source the XML to transform.
+	 * @param result the result of the transformation.
+	 * @param debug true if the debug parameter should be passed to the XSLT.
 	 */
-	private static Transformer newTransformer() {
-
-		if (TEMPLATES == null) {
-			throw new IllegalStateException("TransformXMLInterceptor not initialized.");
-		}
+	private static void transform(final Source source, final Result result, final boolean debug) {
+		TransformerPool pool = TransformerPool.getInstance(debug);
+		Transformer transformer = pool.borrow();
 
 		try {
-			return TEMPLATES.newTransformer();
-		} catch (TransformerConfigurationException ex) {
-			throw new SystemException("Could not create transformer for " + RESOURCE_NAME, ex);
+			transformer.transform(source, result);
+		} catch (TransformerException ex) {
+			// The transformer is discarded rather than returned to the pool
+			throw new SystemException("Could not transform xml", ex);
 		}
+
+		pool.release(transformer);
 	}
 
 	/**
-	 * Statically initialize the XSLT templates that are cached for all future transforms.
+	 * <p>
+	 * Compiles the current theme XSLT and runs a dummy transformation so that the first user request does not pay the
+	 * cost of compiling the XSLT and warming up the transformer. This is called when the WServlet is initialised.</p>
 	 *
-	 * @return the XSLT Templates.
+	 * <p>
+	 * Any error is logged rather than thrown, as an application may still start without the theme on the
+	 * classpath.</p>
 	 */
-	private static Templates initTemplates() {
+	public static void warmUp() {
+		long start = System.currentTimeMillis();
+
 		try {
-			URL xsltURL = ThemeUtil.class.getResource(RESOURCE_NAME);
-			if (xsltURL != null) {
-				Source xsltSource = new StreamSource(xsltURL.openStream(), xsltURL.toExternalForm());
-				TransformerFactory factory = new net.sf.saxon.TransformerFactoryImpl();
-				Templates templates = factory.newTemplates(xsltSource);
-				LOG.debug("Generated XSLT templates for: " + RESOURCE_NAME);
-				return templates;
-			} else {
-				// Server-side XSLT enabled but theme resource not on classpath.
-				throw new IllegalStateException(RESOURCE_NAME + " not on classpath");
-			}
-		} catch (IOException | TransformerConfigurationException ex) {
-			throw new SystemException("Could not create transformer for " + RESOURCE_NAME, ex);
+			transform(new StreamSource(new StringReader(WARM_UP_XML)), new StreamResult(new NullWriter()), false);
+			LOG.info("Warmed up XSLT " + TransformerPool.getThemeXsltResourceName() + " in "
+					+ (System.currentTimeMillis() - start) + "ms");
+		} catch (Exception ex) {
+			LOG.warn("Could not warm up XSLT " + TransformerPool.getThemeXsltResourceName() + ". " + ex.getMessage());
 		}
 	}
 
@@ -244,36 +229,210 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	}
 
 	/**
-	 * Remove bad characters in XML.
+	 * Indicates whether a character is not allowed in the XML being transformed. These are the C0 and C1 control
+	 * characters (other than tab, line feed and carriage return) and the non-characters U+FFFE and U+FFFF.
 	 *
-	 * @param input The String to escape.
-	 * @return the clean string
+	 * @param ch the character to check.
+	 * @return true if the character should be removed from the XML.
+	 */
+	private static boolean isCorruptCharacter(final char ch) {
+		return ch <= 0x08 || ch == 0x0b || ch == 0x0c || (ch >= 0x0e && ch <= 0x1f) || (ch >= 0x7f && ch <= 0x9f)
+				|| ch == '\ufffe' || ch == '\uffff';
+	}
+
+	/**
+	 * Buffers the XML payload so that it can be read by the transformer without first being copied into a String.
 	 */
-	private static String removeCorruptCharacters(final String input) {
-		if (Util.empty(input)) {
-			return input;
+	private static final class XmlBuffer extends CharArrayWriter {
+
+		/**
+		 * Creates an XmlBuffer.
+		 */
+		private XmlBuffer() {
+			super(INITIAL_BUFFER_SIZE);
+		}
+
+		/**
+		 * Removes bad characters from the buffered XML. The buffer is compacted in place.
+		 */
+		private void removeCorruptCharacters() {
+			int newCount = 0;
+
+			for (int i = 0; i < count; i++) {
+				char ch = buf[i];
+
+				if (!isCorruptCharacter(ch)) {
+					buf[newCount++] = ch;
+				}
+			}
+
+			count = newCount;
+		}
+
+		/**
+		 * @return a reader over the buffered XML which double encodes template tokens as it is read.
+		 */
+		private Reader getDoubleEncodedReader() {
+			return new DoubleEncodeBracketsReader(buf, count);
 		}
-		return ESCAPE_BAD_XML10.translate(input);
 	}
 
 	/**
-	 * Translator object for escaping XML 1.0.
-	 *
-	 * While {@link #escapeXml10(String)} is the expected method of use, this object allows the XML escaping
-	 * functionality to be used as the foundation for a custom translator.
+	 * Reads XML from a character buffer, double encoding any encoded open or closed brackets as they are read. This is
+	 * the streaming equivalent of {@link WebUtilities#doubleEncodeBrackets(String)}.
 	 */
-	private static final CharSequenceTranslator ESCAPE_BAD_XML10
-			= new AggregateTranslator(
-					new LookupTranslator(
-							new String[][]{
-								{"\u000b", ""},
-								{"\u000c", ""},
-								{"\ufffe", ""},
-								{"\uffff", ""}
-							}),
-					WebUtilities.NumericEntityIgnorer.between(0x00, 0x08),
-					WebUtilities.NumericEntityIgnorer.between(0x0e, 0x1f),
-					WebUtilities.NumericEntityIgnorer.between(0x7f, 0x9f)
-			);
+	private static final class DoubleEncodeBracketsReader extends Reader {
+
+		/**
+		 * The characters to insert after the ampersand of an encoded bracket to double encode it.
+		 */
+		private static final char[] AMP_SUFFIX = "amp;".toCharArray();
+
+		/**
+		 * The source characters.
+		 */
+		private final char[] source;
+
+		/**
+		 * The number of valid characters in the source buffer.
+		 */
+		private final int length;
+
+		/**
+		 * The position of the next character to read from the source buffer.
+		 */
+		private int pos = 0;
+
+		/**
+		 * The number of characters of {@link #AMP_SUFFIX} still to be read.
+		 */
+		private int pendingSuffix = 0;
+
+		/**
+		 * Creates a DoubleEncodeBracketsReader.
+		 *
+		 * @param source the source characters.
+		 * @param length the number of valid characters in the source buffer.
+		 */
+		private DoubleEncodeBracketsReader(final char[] source, final int length) {
+			this.source = source;
+			this.length = length;
+		}
 
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) {
+			if (len == 0) {
+				return 0;
+			}
+
+			if (pos >= length && pendingSuffix == 0) {
+				return -1;
+			}
+
+			int written = 0;
+
+			while (written < len) {
+				if (pendingSuffix > 0) {
+					int suffixLen = Math.min(pendingSuffix, len - written);
+					System.arraycopy(AMP_SUFFIX, AMP_SUFFIX.length - pendingSuffix, cbuf, off + written, suffixLen);
+					pendingSuffix -= suffixLen;
+					written += suffixLen;
+					continue;
+				}
+
+				if (pos >= length) {
+					break;
+				}
+
+				// Copy the run of characters up to and including the next ampersand in one go
+				int end = pos;
+				int max = Math.min(length, pos + len - written);
+
+				while (end < max && source[end] != '&') {
+					end++;
+				}
+
+				boolean ampersand = end < max;
+
+				if (ampersand) {
+					end++;
+				}
+
+				System.arraycopy(source, pos, cbuf, off + written, end - pos);
+				written += end - pos;
+				pos = end;
+
+				if (ampersand && isEncodedBracket(pos)) {
+					pendingSuffix = AMP_SUFFIX.length;
+				}
+			}
+
+			return written;
+		}
+
+		/**
+		 * Indicates whether the characters following an ampersand complete an encoded open or closed bracket.
+		 *
+		 * @param start the position of the character following the ampersand.
+		 * @return true if the ampersand starts an encoded bracket.
+		 */
+		private boolean isEncodedBracket(final int start) {
+			// Matches "#123;" or "#125;", the remainder of OPEN_BRACKET_ESCAPE or CLOSE_BRACKET_ESCAPE
+			return start + 4 < length
+					&& source[start] == '#'
+					&& source[start + 1] == '1'
+					&& source[start + 2] == '2'
+					&& (source[start + 3] == '3' || source[start + 3] == '5')
+					&& source[start + 4] == ';';
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void close() {
+			// NO-OP
+		}
+	}
+
+	/**
+	 * Decodes double encoded open or closed brackets as the transformation output is written. This is the streaming
+	 * equivalent of {@link WebUtilities#doubleDecodeBrackets(String)}.
+	 */
+	private static final class DoubleDecodeBracketsWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * Creates a DoubleDecodeBracketsWriter.
+		 *
+		 * @param backing the writer to write the decoded output to.
+		 */
+		private DoubleDecodeBracketsWriter(final Writer backing) {
+			super(new String[]{WebUtilities.OPEN_BRACKET_DOUBLE_ESCAPE, WebUtilities.CLOSE_BRACKET_DOUBLE_ESCAPE}, backing);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void doReplace(final String search, final Writer backing) throws IOException {
+			if (WebUtilities.OPEN_BRACKET_DOUBLE_ESCAPE.equals(search)) {
+				backing.write(WebUtilities.OPEN_BRACKET_ESCAPE);
+			} else {
+				backing.write(WebUtilities.CLOSE_BRACKET_ESCAPE);
+			}
+		}
+
+		/**
+		 * The response writer must remain open after the transformation.
+		 *
+		 * @return false
+		 */
+		@Override
+		protected boolean closeBackingOnClose() {
+			return false;
+		}
+	}
 }
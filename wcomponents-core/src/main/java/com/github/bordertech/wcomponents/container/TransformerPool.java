@@ -0,0 +1,261 @@
+package com.github.bordertech.wcomponents.container;
+
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SystemException;
+import com.github.bordertech.wcomponents.util.ThemeUtil;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A pool of reusable XSLT {@link Transformer}s for a theme XSLT. The XSLT is compiled once into {@link Templates} which
+ * are shared by all pools for that XSLT, and there is one pool per XSLT and debug flag combination. The pools are
+ * looked up without building a key for each transformation.</p>
+ *
+ * <p>
+ * Transformer instances are not thread-safe, so a transformer is borrowed for the duration of a single transformation
+ * and then released back to the pool. Released transformers are reset so that they do not hold on to the previous
+ * document, and then reconfigured with the pool's debug parameter.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+final class TransformerPool {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(TransformerPool.class);
+
+	/**
+	 * The compiled XSLT templates, keyed by XSLT resource name.
+	 */
+	private static final Map<String, Templates> TEMPLATES = new ConcurrentHashMap<>();
+
+	/**
+	 * The transformer pools, keyed by XSLT resource name. Each entry holds the pool without and with the debug
+	 * parameter.
+	 */
+	private static final Map<String, TransformerPool[]> POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * The transformer pools for the theme XSLT, keyed by XSLT name, so that the resource name does not need to be
+	 * built for each transformation.
+	 */
+	private static final Map<String, TransformerPool[]> THEME_POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * The XSLT resource name.
+	 */
+	private final String resourceName;
+
+	/**
+	 * Whether the debug parameter is passed to the XSLT.
+	 */
+	private final boolean debug;
+
+	/**
+	 * The compiled XSLT.
+	 */
+	private final Templates templates;
+
+	/**
+	 * The idle transformers.
+	 */
+	private final BlockingQueue<Transformer> idle;
+
+	/**
+	 * Creates a TransformerPool.
+	 *
+	 * @param resourceName the XSLT resource name.
+	 * @param debug true if the debug parameter is passed to the XSLT.
+	 */
+	private TransformerPool(final String resourceName, final boolean debug) {
+		this.resourceName = resourceName;
+		this.debug = debug;
+		this.templates = getTemplates(resourceName);
+		this.idle = new ArrayBlockingQueue<>(Math.max(1, ConfigurationProperties.getXsltTransformerPoolSize()));
+	}
+
+	/**
+	 * Retrieves the transformer pool for the current theme XSLT.
+	 *
+	 * @param debug true if the debug parameter is passed to the XSLT.
+	 * @return the transformer pool.
+	 */
+	static TransformerPool getInstance(final boolean debug) {
+		String xsltName = ThemeUtil.getThemeXsltName();
+		TransformerPool[] pools = THEME_POOLS.get(xsltName);
+
+		if (pools == null) {
+			pools = THEME_POOLS.computeIfAbsent(xsltName, name -> getPools(getThemeXsltResourceName(name)));
+		}
+
+		return pools[debug ? 1 : 0];
+	}
+
+	/**
+	 * Retrieves the transformer pool for the given XSLT.
+	 *
+	 * @param resourceName the XSLT resource name.
+	 * @param debug true if the debug parameter is passed to the XSLT.
+	 * @return the transformer pool.
+	 */
+	static TransformerPool getInstance(final String resourceName, final boolean debug) {
+		return getPools(resourceName)[debug ? 1 : 0];
+	}
+
+	/**
+	 * Retrieves the transformer pools for the given XSLT, creating them if necessary.
+	 *
+	 * @param resourceName the XSLT resource name.
+	 * @return the pools without and with the debug parameter.
+	 */
+	private static TransformerPool[] getPools(final String resourceName) {
+		TransformerPool[] pools = POOLS.get(resourceName);
+
+		if (pools == null) {
+			pools = POOLS.computeIfAbsent(resourceName, name -> new TransformerPool[]{
+				new TransformerPool(name, false), new TransformerPool(name, true)});
+		}
+
+		return pools;
+	}
+
+	/**
+	 * Discards all compiled XSLT and pooled transformers. The XSLT will be recompiled on next use.
+	 */
+	static void clear() {
+		THEME_POOLS.clear();
+		POOLS.clear();
+		TEMPLATES.clear();
+	}
+
+	/**
+	 * @return the resource name of the current theme XSLT.
+	 */
+	static String getThemeXsltResourceName() {
+		return getThemeXsltResourceName(ThemeUtil.getThemeXsltName());
+	}
+
+	/**
+	 * @param xsltName the name of the theme XSLT file.
+	 * @return the resource name of the theme XSLT.
+	 */
+	private static String getThemeXsltResourceName(final String xsltName) {
+		return ThemeUtil.getThemeBase() + "xslt/" + xsltName;
+	}
+
+	/**
+	 * Borrows a transformer from the pool, creating a new transformer if there are none idle. The transformer must be
+	 * released after use.
+	 *
+	 * @return a transformer for the pool's XSLT.
+	 */
+	Transformer borrow() {
+		Transformer transformer = idle.poll();
+
+		if (transformer == null) {
+			transformer = newTransformer();
+		}
+
+		return transformer;
+	}
+
+	/**
+	 * Releases a transformer back to the pool. Transformers in excess of the pool size are discarded. A transformer
+	 * which failed during a transformation should not be released back to the pool.
+	 *
+	 * @param transformer the transformer to release.
+	 */
+	void release(final Transformer transformer) {
+		transformer.reset();
+		configure(transformer);
+		idle.offer(transformer);
+	}
+
+	/**
+	 * @return the number of idle transformers in the pool.
+	 */
+	int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Creates a new Transformer instance from the compiled XSLT.
+	 *
+	 * @return A new Transformer instance.
+	 */
+	private Transformer newTransformer() {
+		try {
+			Transformer transformer = templates.newTransformer();
+			configure(transformer);
+			return transformer;
+		} catch (TransformerConfigurationException ex) {
+			throw new SystemException("Could not create transformer for " + resourceName, ex);
+		}
+	}
+
+	/**
+	 * Sets the XSLT parameters for this pool on a transformer.
+	 *
+	 * @param transformer the transformer to configure.
+	 */
+	private void configure(final Transformer transformer) {
+		if (debug) {
+			transformer.setParameter("isDebug", 1);
+		}
+	}
+
+	/**
+	 * Retrieves the compiled XSLT for the given resource, compiling it if necessary.
+	 *
+	 * @param resourceName the XSLT resource name.
+	 * @return the compiled XSLT.
+	 */
+	private static Templates getTemplates(final String resourceName) {
+		Templates templates = TEMPLATES.get(resourceName);
+
+		if (templates == null) {
+			templates = TEMPLATES.computeIfAbsent(resourceName, TransformerPool::initTemplates);
+		}
+
+		return templates;
+	}
+
+	/**
+	 * Compiles the XSLT templates for the given resource.
+	 *
+	 * @param resourceName the XSLT resource name.
+	 * @return the XSLT Templates.
+	 */
+	private static Templates initTemplates(final String resourceName) {
+		try {
+			URL xsltURL = ThemeUtil.class.getResource(resourceName);
+			if (xsltURL != null) {
+				Source xsltSource = new StreamSource(xsltURL.openStream(), xsltURL.toExternalForm());
+				TransformerFactory factory = new net.sf.saxon.TransformerFactoryImpl();
+				Templates templates = factory.newTemplates(xsltSource);
+				LOG.debug("Generated XSLT templates for: " + resourceName);
+				return templates;
+			} else {
+				// Server-side XSLT enabled but theme resource not on classpath.
+				throw new IllegalStateException(resourceName + " not on classpath");
+			}
+		} catch (IOException | TransformerConfigurationException ex) {
+			throw new SystemException("Could not create transformer for " + resourceName, ex);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.github.bordertech.wcomponents.container;
+
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.monitor.UicSizeMonitor;
+
+/**
+ * This interceptor passes the UIContext to the {@link UicSizeMonitor} once the response has been painted and the
+ * context tidied up, so that a sample of requests can be measured.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextSizeInterceptor extends InterceptorComponent {
+
+	/**
+	 * Paints the component, then samples the size of the UIContext.
+	 *
+	 * @param renderContext the renderContext to send the output to.
+	 */
+	@Override
+	public void paint(final RenderContext renderContext) {
+		super.paint(renderContext);
+		UicSizeMonitor.getInstance().sample(UIContextHolder.getCurrent());
+	}
+}
@@ -10,14 +10,13 @@ import com.github.bordertech.wcomponents.render.webxml.VelocityRenderer;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
-import com.github.bordertech.wcomponents.util.Duplet;
 import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.PrintWriter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -73,22 +72,16 @@ public final class UIManager implements PropertyChangeListener {
 	};
 
 	/**
-	 * A cache of component Renderers keyed by WComponent classes. This cache must be flushed if the
+	 * The cache of component Renderers and RendererFactories. The whole cache is replaced if the
 	 * {@link Config configuration} is changed.
 	 */
-	private final Map<Duplet<String, Class<?>>, Renderer> renderers = new HashMap<>();
+	private volatile RendererCache cache = new RendererCache();
 
 	/**
 	 * A cache of template Renderers keyed by WComponent classes. This cache must be flushed if the
 	 * {@link Config configuration} is changed.
 	 */
-	private final Map<String, Renderer> templateRenderers = new HashMap<>();
-
-	/**
-	 * A cache of LayoutManagers keyed by WComponent classes. This cache must be flushed if the
-	 * {@link Config configuration} is changed.
-	 */
-	private final Map<String, RendererFactory> factoriesByPackage = new HashMap<>();
+	private final Map<String, Renderer> templateRenderers = new ConcurrentHashMap<>();
 
 	/**
 	 * Prevent instantiation of UIManager.
@@ -118,19 +111,8 @@ public final class UIManager implements PropertyChangeListener {
 	 * @return an appropriate renderer for the component and context, or null if a suitable renderer could not be found.
 	 */
 	public static Renderer getRenderer(final WComponent component, final RenderContext context) {
-		Class<? extends WComponent> clazz = component.getClass();
-
-		Duplet<String, Class<?>> key = new Duplet<String, Class<?>>(context.getRenderPackage(),
-				clazz);
-		Renderer renderer = INSTANCE.renderers.get(key);
-
-		if (renderer == null) {
-			renderer = INSTANCE.findRenderer(component, key);
-		} else if (renderer == NULL_RENDERER) {
-			return null;
-		}
-
-		return renderer;
+		Renderer renderer = INSTANCE.cache.getRenderers(context.getRenderPackage()).get(component.getClass());
+		return renderer == NULL_RENDERER ? null : renderer;
 	}
 
 	/**
@@ -162,8 +144,8 @@ public final class UIManager implements PropertyChangeListener {
 	 * @deprecated Use {@link WTemplate} instead.
 	 */
 	@Deprecated
-	private synchronized Renderer findTemplateRenderer(final String packageName) {
-		RendererFactory factory = INSTANCE.findRendererFactory(packageName);
+	private Renderer findTemplateRenderer(final String packageName) {
+		RendererFactory factory = cache.getRendererFactory(packageName);
 		Renderer renderer = factory.getTemplateRenderer();
 
 		if (renderer == null) {
@@ -193,69 +175,25 @@ public final class UIManager implements PropertyChangeListener {
 	/**
 	 * Clears the lookup caches.
 	 */
-	private synchronized void clearCache() {
-		factoriesByPackage.clear();
-		renderers.clear();
-	}
-
-	/**
-	 * Finds the layout for the given theme and component.
-	 *
-	 * @param component the WComponent class to find a manager for.
-	 * @param key the component key to use for caching the renderer.
-	 * @return the LayoutManager for the component.
-	 */
-	private synchronized Renderer findRenderer(final WComponent component,
-			final Duplet<String, Class<?>> key) {
-		LOG.info("Looking for layout for " + key.getSecond().getName() + " in " + key.getFirst());
-
-		Renderer renderer = findConfiguredRenderer(component, key.getFirst());
-
-		if (renderer == null) {
-			renderers.put(key, NULL_RENDERER);
-		} else {
-			renderers.put(key, renderer);
-		}
-
-		return renderer;
-	}
-
-	/**
-	 * Finds the renderer factory for the given package.
-	 *
-	 * @param packageName the package name to find the renderer factory for.
-	 * @return the RendererFactory for the given package, or null if not found.
-	 */
-	private synchronized RendererFactory findRendererFactory(final String packageName) {
-		RendererFactory factory = factoriesByPackage.get(packageName);
-
-		if (factory == null) {
-			try {
-				factory = (RendererFactory) Class.forName(packageName + ".RendererFactoryImpl").
-						newInstance();
-				factoriesByPackage.put(packageName, factory);
-			} catch (Exception e) {
-				throw new SystemException(
-						"Failed to create layout manager factory for " + packageName, e);
-			}
-		}
-
-		return factory;
+	private void clearCache() {
+		cache = new RendererCache();
 	}
 
 	/**
 	 * Attempts to find the configured renderer for the given output format and component.
 	 *
-	 * @param component the component to find a manager for.
+	 * @param component the component class to find a manager for.
+	 * @param cache the cache to obtain the renderer factory from.
 	 * @param rendererPackage the package containing the renderers.
 	 * @return the Renderer for the component, or null if there is no renderer defined.
 	 */
-	private Renderer findConfiguredRenderer(final WComponent component, final String rendererPackage) {
+	private static Renderer findConfiguredRenderer(final Class<?> component, final RendererCache cache,
+			final String rendererPackage) {
 		Renderer renderer = null;
 
 		// We loop for each WComponent in the class hierarchy, as the
 		// Renderer may have been specified at a higher level.
-		for (Class<?> c = component.getClass(); renderer == null && c != null && !AbstractWComponent.class.
+		for (Class<?> c = component; renderer == null && c != null && !AbstractWComponent.class.
 				equals(c); c = c.getSuperclass()) {
 			String qualifiedClassName = c.getName();
 
@@ -273,7 +211,7 @@ public final class UIManager implements PropertyChangeListener {
 				}
 			}
 
-			renderer = findRendererFactory(rendererPackage).getRenderer(c);
+			renderer = cache.getRendererFactory(rendererPackage).getRenderer(c);
 		}
 
 		return renderer;
@@ -309,4 +247,110 @@ public final class UIManager implements PropertyChangeListener {
 			throw new SystemException("Failed to access " + rendererName, e);
 		}
 	}
+
+	/**
+	 * Holds the cached Renderers and RendererFactories for all render packages. A new instance is created whenever the
+	 * cache is flushed, so lookups never need to lock.
+	 */
+	private static final class RendererCache {
+
+		/**
+		 * The component Renderers, keyed by render package.
+		 */
+		private final Map<String, PackageRenderers> renderersByPackage = new ConcurrentHashMap<>();
+
+		/**
+		 * The RendererFactories, keyed by render package.
+		 */
+		private final Map<String, RendererFactory> factoriesByPackage = new ConcurrentHashMap<>();
+
+		/**
+		 * Retrieves the component renderers for the given package.
+		 *
+		 * @param packageName the render package name.
+		 * @return the component renderers for the package.
+		 */
+		private PackageRenderers getRenderers(final String packageName) {
+			PackageRenderers renderers = renderersByPackage.get(packageName);
+
+			if (renderers == null) {
+				renderers = renderersByPackage.computeIfAbsent(packageName, name -> new PackageRenderers(this, name));
+			}
+
+			return renderers;
+		}
+
+		/**
+		 * Finds the renderer factory for the given package.
+		 *
+		 * @param packageName the package name to find the renderer factory for.
+		 * @return the RendererFactory for the given package.
+		 */
+		private RendererFactory getRendererFactory(final String packageName) {
+			RendererFactory factory = factoriesByPackage.get(packageName);
+
+			if (factory == null) {
+				factory = factoriesByPackage.computeIfAbsent(packageName, RendererCache::createRendererFactory);
+			}
+
+			return factory;
+		}
+
+		/**
+		 * Creates the renderer factory for the given package.
+		 *
+		 * @param packageName the package name to create the renderer factory for.
+		 * @return the RendererFactory for the given package.
+		 */
+		private static RendererFactory createRendererFactory(final String packageName) {
+			try {
+				return (RendererFactory) Class.forName(packageName + ".RendererFactoryImpl").newInstance();
+			} catch (Exception e) {
+				throw new SystemException(
+						"Failed to create layout manager factory for " + packageName, e);
+			}
+		}
+	}
+
+	/**
+	 * Lazily associates a Renderer with each WComponent class for a render package. {@link #NULL_RENDERER} is used
+	 * where a class has no renderer, as a ClassValue may not hold null.
+	 */
+	private static final class PackageRenderers extends ClassValue<Renderer> {
+
+		/**
+		 * The cache this belongs to.
+		 */
+		private final RendererCache cache;
+
+		/**
+		 * The render package name.
+		 */
+		private final String packageName;
+
+		/**
+		 * Creates a PackageRenderers.
+		 *
+		 * @param cache the cache this belongs to.
+		 * @param packageName the render package name.
+		 */
+		private PackageRenderers(final RendererCache cache, final String packageName) {
+			this.cache = cache;
+			this.packageName = packageName;
+		}
+
+		/**
+		 * Finds the renderer for the given component class.
+		 *
+		 * @param type the WComponent class to find a renderer for.
+		 * @return the renderer for the component class, or {@link #NULL_RENDERER} if there is no renderer.
+		 */
+		@Override
+		protected Renderer computeValue(final Class<?> type) {
+			LOG.info("Looking for layout for " + type.getName() + " in " + packageName);
+
+			Renderer renderer = findConfiguredRenderer(type, cache, packageName);
+			return renderer == null ? NULL_RENDERER : renderer;
+		}
+	}
 }
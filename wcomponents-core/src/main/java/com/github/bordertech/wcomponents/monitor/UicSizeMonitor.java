@@ -0,0 +1,406 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WebComponent;
+import com.github.bordertech.wcomponents.WebModel;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * UicSizeMonitor measures the serialized size of UIContexts in production, and publishes the results through JMX under
+ * the name {@value #OBJECT_NAME}.</p>
+ *
+ * <p>
+ * A fraction of requests, set by {@link ConfigurationProperties#getMonitorUIContextSizeSampleRate()}, are measured.
+ * For each, the overall size of the context is added to a histogram for the application's UI class, and the size of
+ * each component model is added to the total for its component type. Unlike {@link UicStats}, the sizes are counted as
+ * the objects are serialized, rather than buffering the serialized data.</p>
+ *
+ * <p>
+ * The monitor is registered with the platform MBean server by {@link #register()} when a servlet is initialised, and
+ * unregistered by {@link #unregister()} when it is destroyed, so that the MBean does not hold on to the application's
+ * class loader once it has been undeployed.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public final class UicSizeMonitor implements UicSizeMonitorMXBean {
+
+	/**
+	 * The name the monitor is registered under with the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "com.github.bordertech.wcomponents:type=UicSizeMonitor";
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UicSizeMonitor.class);
+
+	/**
+	 * The exclusive upper limits of the histogram size ranges, from 1KB to 16MB. Larger sizes are counted in an extra
+	 * range.
+	 */
+	private static final long[] SIZE_LIMITS = new long[15];
+
+	static {
+		for (int i = 0; i < SIZE_LIMITS.length; i++) {
+			SIZE_LIMITS[i] = 1024L << i;
+		}
+	}
+
+	/**
+	 * The singleton instance.
+	 */
+	private static final UicSizeMonitor INSTANCE = new UicSizeMonitor();
+
+	/**
+	 * The number of servlets which have registered the monitor and not yet unregistered it.
+	 */
+	private static int registrations;
+
+	/**
+	 * Indicates whether the monitor was successfully registered with the MBean server.
+	 */
+	private static boolean registered;
+
+	/**
+	 * The measurements, keyed by UI class name.
+	 */
+	private final Map<String, UISizes> sizesByUI = new HashMap<>();
+
+	/**
+	 * The total serialized model size, keyed by component class name.
+	 */
+	private final Map<String, Long> modelSizesByType = new HashMap<>();
+
+	/**
+	 * The number of requests measured.
+	 */
+	private long sampleCount;
+
+	/**
+	 * Hide the constructor, as this is a singleton.
+	 */
+	private UicSizeMonitor() {
+	}
+
+	/**
+	 * @return the UicSizeMonitor instance.
+	 */
+	public static UicSizeMonitor getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Measures the given context, if the current request has been selected for sampling.
+	 *
+	 * @param uic the context to measure.
+	 */
+	public void sample(final UIContext uic) {
+		double rate = ConfigurationProperties.getMonitorUIContextSizeSampleRate();
+
+		if (uic != null && rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate)) {
+			measure(uic);
+		}
+	}
+
+	/**
+	 * Measures the given context and records the result.
+	 *
+	 * @param uic the context to measure.
+	 */
+	public void measure(final UIContext uic) {
+		UIContext primary = UIContextHolder.getPrimaryUIContext(uic);
+		WComponent ui = primary.getUI();
+		String uiClass = ui == null ? "null" : ui.getClass().getName();
+		Map<String, Long> modelSizes = new HashMap<>();
+		long size;
+
+		try {
+			size = getSerializedSize(primary);
+
+			CountingOutputStream counter = new CountingOutputStream(new NullOutputStream());
+
+			try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+				for (Object obj : primary.getComponents()) {
+					WebComponent component = (WebComponent) obj;
+					WebModel model = primary.getModel(component);
+
+					if (model != null) {
+						long start = counter.getByteCount();
+
+						// Reset the stream so that each model is measured independently
+						oos.writeObject(model);
+						oos.reset();
+						oos.flush();
+
+						addSize(modelSizes, component.getClass().getName(), counter.getByteCount() - start);
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to measure UIContext size for " + uiClass, e);
+			return;
+		}
+
+		record(uiClass, size, modelSizes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String[] getSizeRanges() {
+		String[] ranges = new String[SIZE_LIMITS.length + 1];
+
+		for (int i = 0; i < SIZE_LIMITS.length; i++) {
+			ranges[i] = "< " + formatSize(SIZE_LIMITS[i]);
+		}
+
+		ranges[SIZE_LIMITS.length] = ">= " + formatSize(SIZE_LIMITS[SIZE_LIMITS.length - 1]);
+
+		return ranges;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized Map<String, long[]> getSizeHistograms() {
+		Map<String, long[]> histograms = new HashMap<>();
+
+		for (Map.Entry<String, UISizes> entry : sizesByUI.entrySet()) {
+			histograms.put(entry.getKey(), entry.getValue().histogram.clone());
+		}
+
+		return histograms;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized Map<String, Long> getMeanSizes() {
+		Map<String, Long> means = new HashMap<>();
+
+		for (Map.Entry<String, UISizes> entry : sizesByUI.entrySet()) {
+			UISizes sizes = entry.getValue();
+			means.put(entry.getKey(), sizes.total / sizes.count);
+		}
+
+		return means;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized Map<String, Long> getMaxSizes() {
+		Map<String, Long> maxima = new HashMap<>();
+
+		for (Map.Entry<String, UISizes> entry : sizesByUI.entrySet()) {
+			maxima.put(entry.getKey(), entry.getValue().max);
+		}
+
+		return maxima;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized String[] getTopComponentTypes() {
+		List<Map.Entry<String, Long>> entries = new ArrayList<>(modelSizesByType.entrySet());
+
+		Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+			@Override
+			public int compare(final Map.Entry<String, Long> entry1, final Map.Entry<String, Long> entry2) {
+				return entry2.getValue().compareTo(entry1.getValue());
+			}
+		});
+
+		int count = Math.min(entries.size(), Math.max(0, ConfigurationProperties.getMonitorUIContextSizeTopComponents()));
+		String[] types = new String[count];
+
+		for (int i = 0; i < count; i++) {
+			Map.Entry<String, Long> entry = entries.get(i);
+			types[i] = entry.getKey() + '=' + entry.getValue() / sampleCount;
+		}
+
+		return types;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void reset() {
+		sizesByUI.clear();
+		modelSizesByType.clear();
+		sampleCount = 0;
+	}
+
+	/**
+	 * Determines the serialized size of an object, without buffering the serialized data.
+	 *
+	 * @param obj the object to measure.
+	 * @return the serialized size of the object.
+	 * @throws IOException if the object can not be serialized.
+	 */
+	static long getSerializedSize(final Object obj) throws IOException {
+		CountingOutputStream counter = new CountingOutputStream(new NullOutputStream());
+
+		try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+			oos.writeObject(obj);
+		}
+
+		return counter.getByteCount();
+	}
+
+	/**
+	 * Records the measurements for a context.
+	 *
+	 * @param uiClass the class name of the context's UI.
+	 * @param size the serialized size of the context.
+	 * @param modelSizes the serialized model sizes, keyed by component class name.
+	 */
+	private synchronized void record(final String uiClass, final long size, final Map<String, Long> modelSizes) {
+		sampleCount++;
+
+		UISizes sizes = sizesByUI.get(uiClass);
+
+		if (sizes == null) {
+			sizes = new UISizes();
+			sizesByUI.put(uiClass, sizes);
+		}
+
+		sizes.add(size);
+
+		for (Map.Entry<String, Long> entry : modelSizes.entrySet()) {
+			addSize(modelSizesByType, entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Registers the monitor with the platform MBean server, if it is not already registered. This is called when a
+	 * servlet is initialised, and must be matched by a call to {@link #unregister()} when the servlet is destroyed.
+	 */
+	public static synchronized void register() {
+		if (registrations++ == 0) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+				registered = true;
+			} catch (JMException e) {
+				LOG.warn("Unable to register UIContext size monitor with JMX", e);
+			}
+		}
+	}
+
+	/**
+	 * Unregisters the monitor from the platform MBean server, once every servlet which registered it has been
+	 * destroyed.
+	 */
+	public static synchronized void unregister() {
+		if (registrations > 0 && --registrations == 0 && registered) {
+			registered = false;
+
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+				LOG.warn("Unable to unregister UIContext size monitor from JMX", e);
+			}
+		}
+	}
+
+	/**
+	 * Adds a size to the total for a key.
+	 *
+	 * @param totals the totals to add to.
+	 * @param key the key to add the size for.
+	 * @param size the size to add.
+	 */
+	private static void addSize(final Map<String, Long> totals, final String key, final long size) {
+		Long total = totals.get(key);
+		totals.put(key, total == null ? size : total + size);
+	}
+
+	/**
+	 * Formats a size for display.
+	 *
+	 * @param size the size in bytes, which must be a multiple of 1KB.
+	 * @return the formatted size.
+	 */
+	private static String formatSize(final long size) {
+		return size >= 1024 * 1024 ? (size >> 20) + "MB" : (size >> 10) + "KB";
+	}
+
+	/**
+	 * The measurements for a UI.
+	 */
+	private static final class UISizes {
+
+		/**
+		 * The number of measurements in each size range.
+		 */
+		private final long[] histogram = new long[SIZE_LIMITS.length + 1];
+
+		/**
+		 * The number of measurements.
+		 */
+		private long count;
+
+		/**
+		 * The total of the measured sizes.
+		 */
+		private long total;
+
+		/**
+		 * The largest measured size.
+		 */
+		private long max;
+
+		/**
+		 * Adds a measurement.
+		 *
+		 * @param size the measured size.
+		 */
+		private void add(final long size) {
+			int range = 0;
+
+			while (range < SIZE_LIMITS.length && size >= SIZE_LIMITS[range]) {
+				range++;
+			}
+
+			histogram[range]++;
+			count++;
+			total += size;
+			max = Math.max(max, size);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of the {@link UicSizeMonitor}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public interface UicSizeMonitorMXBean {
+
+	/**
+	 * @return the number of requests for which the UIContext size has been measured.
+	 */
+	long getSampleCount();
+
+	/**
+	 * @return the descriptions of the size ranges used by the histograms.
+	 */
+	String[] getSizeRanges();
+
+	/**
+	 * @return the number of measurements in each size range, keyed by UI class name.
+	 */
+	Map<String, long[]> getSizeHistograms();
+
+	/**
+	 * @return the mean serialized UIContext size in bytes, keyed by UI class name.
+	 */
+	Map<String, Long> getMeanSizes();
+
+	/**
+	 * @return the maximum serialized UIContext size in bytes, keyed by UI class name.
+	 */
+	Map<String, Long> getMaxSizes();
+
+	/**
+	 * @return the component types with the largest serialized models, largest first, with their mean model size in
+	 * bytes per measurement.
+	 */
+	String[] getTopComponentTypes();
+
+	/**
+	 * Discards all the measurements.
+	 */
+	void reset();
+}
@@ -199,20 +199,14 @@ public class UicStats {
 	}
 
 	/**
-	 * Determines the serialized size of an object by serializng it to a byte array.
+	 * Determines the serialized size of an object by counting the bytes as it is serialized.
 	 *
 	 * @param obj the object to find the serialized size of.
 	 * @return the serialized size of the given object, or -1 on error.
 	 */
 	private int getSerializationSize(final Object obj) {
 		try {
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			ObjectOutputStream oos = new ObjectOutputStream(bos);
-			oos.writeObject(obj);
-			oos.close();
-
-			byte[] bytes = bos.toByteArray();
-			return bytes.length;
+			return (int) UicSizeMonitor.getSerializedSize(obj);
 		} catch (IOException ex) {
 			// Unable to serialize so cannot determine size.
 			return -1;
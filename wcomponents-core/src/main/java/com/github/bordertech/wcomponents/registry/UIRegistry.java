@@ -14,17 +14,26 @@ public abstract class UIRegistry {
 	/**
 	 * The UIRegistry singleton instance.
 	 */
-	private static UIRegistry instance = null;
+	private static volatile UIRegistry instance = null;
 
 	/**
 	 * @return the singleton instance of the UIRegistry.
 	 */
-	public static synchronized UIRegistry getInstance() {
-		if (instance == null) {
-			instance = Factory.newInstance(UIRegistry.class);
+	public static UIRegistry getInstance() {
+		UIRegistry registry = instance;
+
+		if (registry == null) {
+			synchronized (UIRegistry.class) {
+				registry = instance;
+
+				if (registry == null) {
+					registry = Factory.newInstance(UIRegistry.class);
+					instance = registry;
+				}
+			}
 		}
 
-		return instance;
+		return registry;
 	}
 
 	/**
@@ -104,7 +104,7 @@ public class UIRegistryAmicableImpl extends UIRegistry {
 	 * @return A WComponent if one could be loaded from the classpath, else an ErrorPage WComponent containing the
 	 * problem.
 	 */
-	private static WComponent loadUI(final String key) {
+	static WComponent loadUI(final String key) {
 		String classname = key.trim();
 
 		try {
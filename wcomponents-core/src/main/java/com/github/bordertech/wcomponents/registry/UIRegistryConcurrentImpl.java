@@ -0,0 +1,139 @@
+package com.github.bordertech.wcomponents.registry;
+
+import com.github.bordertech.wcomponents.ErrorPage;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A UIRegistry implementation which behaves the same as the {@link UIRegistryAmicableImpl}, but which does not lock
+ * the registry. Lookups of registered UIs only read from a concurrent map, so concurrent requests and session
+ * serialization (which checks the registry for every registered component) do not contend with each other.</p>
+ *
+ * <p>
+ * Each key has its own entry in the registry, which is used to ensure that a UI is only loaded once. Only requests for
+ * the same key wait while a UI is being loaded.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIRegistryConcurrentImpl extends UIRegistry {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIRegistryConcurrentImpl.class);
+
+	/**
+	 * The UI registry map.
+	 */
+	private final Map<String, Entry> registry = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers the given user interface with the given key.
+	 *
+	 * @param key the registration key.
+	 * @param ui the user interface to register.
+	 */
+	@Override
+	public void register(final String key, final WComponent ui) {
+		Entry entry = getEntry(key);
+
+		synchronized (entry) {
+			if (entry.ui != null) {
+				throw new SystemException("Cannot re-register a component. Key = " + key);
+			}
+
+			entry.ui = ui;
+		}
+	}
+
+	/**
+	 * Is there a user interface registered under the given key.
+	 *
+	 * @param key the registration key.
+	 * @return true if there is a UI registered with the given key.
+	 */
+	@Override
+	public boolean isRegistered(final String key) {
+		if (key == null) {
+			return false;
+		}
+
+		Entry entry = registry.get(key);
+		return entry != null && entry.ui != null;
+	}
+
+	/**
+	 * Retrieves the user interface that was registered with the given key. If the UI has not been registered, this
+	 * attempts to load the UI using the key as a class name.
+	 *
+	 * @param key The registration key.
+	 * @return the UI for the given key. The UI may be newly created.
+	 */
+	@Override
+	public WComponent getUI(final String key) {
+		Entry entry = registry.get(key);
+		WComponent ui = entry == null ? null : entry.ui;
+
+		if (ui != null) {
+			LOG.debug("Returning cached WComponent. Key=" + key);
+			return ui;
+		}
+
+		entry = getEntry(key);
+
+		synchronized (entry) {
+			ui = entry.ui;
+
+			if (ui == null) {
+				// Looks like we haven't tried loading this UI yet, so do it now.
+				ui = UIRegistryAmicableImpl.loadUI(key);
+
+				ui.setLocked(true);
+
+				// Cache the result only if the UI was successfully loaded.
+				if (ui instanceof ErrorPage) {
+					LOG.debug("Returning non-cached ErrorPage WComponent. Key=" + key);
+					return ui;
+				}
+
+				entry.ui = ui;
+			}
+		}
+
+		LOG.debug("Returning cached WComponent. Key=" + key);
+		return ui;
+	}
+
+	/**
+	 * Retrieves the registry entry for the given key, creating it if necessary.
+	 *
+	 * @param key the registration key.
+	 * @return the registry entry for the key.
+	 */
+	private Entry getEntry(final String key) {
+		Entry entry = registry.get(key);
+
+		if (entry == null) {
+			entry = registry.computeIfAbsent(key, k -> new Entry());
+		}
+
+		return entry;
+	}
+
+	/**
+	 * A registry entry, which also serves as the lock for loading the UI for its key.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The registered UI, or null if no UI has been registered yet.
+		 */
+		private volatile WComponent ui;
+	}
+}
@@ -124,11 +124,9 @@ final class WTableRenderer extends AbstractWebXmlRenderer {
 	 * @param xml the string builder in use
 	 */
 	private void paintPaginationDetails(final WTable table, final XmlStringBuilder xml) {
-		TableModel model = table.getTableModel();
-
 		xml.appendTagOpen("ui:pagination");
 
-		xml.appendAttribute("rows", model.getRowCount());
+		xml.appendAttribute("rows", table.getRowCount());
 		xml.appendOptionalAttribute("rowsPerPage", table.getRowsPerPage() > 0, table.
 				getRowsPerPage());
 		xml.appendAttribute("currentPage", table.getCurrentPage());
@@ -337,13 +335,12 @@ final class WTableRenderer extends AbstractWebXmlRenderer {
 	 */
 	private void paintRows(final WTable table, final WebXmlRenderContext renderContext) {
 		XmlStringBuilder xml = renderContext.getWriter();
-		TableModel model = table.getTableModel();
 
 		xml.appendTagOpen("ui:tbody");
 		xml.appendAttribute("id", table.getId() + ".body");
 		xml.appendClose();
 
-		if (model.getRowCount() == 0) {
+		if (table.getRowCount() == 0) {
 			xml.appendTag("ui:nodata");
 			xml.appendEscaped(table.getNoDataMessage());
 			xml.appendEndTag("ui:nodata");
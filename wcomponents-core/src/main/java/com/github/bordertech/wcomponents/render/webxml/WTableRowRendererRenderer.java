@@ -1,6 +1,7 @@
 package com.github.bordertech.wcomponents.render.webxml;
 
 import com.github.bordertech.wcomponents.Renderer;
+import com.github.bordertech.wcomponents.RowPath;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WComponent;
@@ -9,7 +10,7 @@ import com.github.bordertech.wcomponents.WTable;
 import com.github.bordertech.wcomponents.WTable.ExpandMode;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
 import com.github.bordertech.wcomponents.WTable.SelectMode;
-import com.github.bordertech.wcomponents.WTable.TableModel;
+import com.github.bordertech.wcomponents.WTable.RowPathTableModel;
 import com.github.bordertech.wcomponents.WTableColumn;
 import com.github.bordertech.wcomponents.WTableRowRenderer;
 import com.github.bordertech.wcomponents.XmlStringBuilder;
@@ -36,14 +37,14 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 		WTableRowRenderer renderer = (WTableRowRenderer) component;
 		XmlStringBuilder xml = renderContext.getWriter();
 		WTable table = renderer.getTable();
-		TableModel dataModel = table.getTableModel();
+		RowPathTableModel dataModel = table.getRowPathTableModel();
 
 		int[] columnOrder = table.getColumnOrder();
 		final int numCols = columnOrder == null ? table.getColumnCount() : columnOrder.length;
 
 		// Get current row details
 		RowIdWrapper wrapper = renderer.getCurrentRowIdWrapper();
-		List<Integer> rowIndex = wrapper.getRowIndex();
+		RowPath rowIndex = wrapper.getRowPath();
 
 		boolean tableSelectable = table.getSelectMode() != SelectMode.NONE;
 		boolean rowSelectable = tableSelectable && dataModel.isSelectable(rowIndex);
@@ -108,12 +109,12 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 
 		WTable table = renderer.getTable();
 		WRepeater repeater = table.getRepeater();
-		TableModel dataModel = table.getTableModel();
+		RowPathTableModel dataModel = table.getRowPathTableModel();
 
 		// If there is a renderer specified by any child, we only paint content that has a specified renderer
 		boolean rendererPresent = false;
 		for (RowIdWrapper child : children) {
-			if (dataModel.getRendererClass(child.getRowIndex()) != null) {
+			if (dataModel.getRendererClass(child.getRowPath()) != null) {
 				rendererPresent = true;
 				break;
 			}
@@ -130,8 +131,7 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 				UIContext nodeContext = repeater.getRowContext(child, child.getPosition());
 
 				WComponent expandedRenderer = renderer.getExpandedTreeNodeRenderer(dataModel.
-						getRendererClass(child
-								.getRowIndex()));
+						getRendererClass(child.getRowPath()));
 
 				if (expandedRenderer != null) {
 					UIContextHolder.pushContext(nodeContext);
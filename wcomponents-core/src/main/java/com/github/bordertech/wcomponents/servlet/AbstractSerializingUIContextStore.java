@@ -0,0 +1,310 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextDelegate;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.servlet.http.HttpSession;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A {@link UIContextStore} which keeps the contexts of idle sessions off the heap. While requests are being processed,
+ * the context is held on the heap as usual. Once the last request for a session has released the context, it is
+ * serialized into a buffer allocated by the subclass, and the heap copy is discarded. The context is deserialized
+ * again by the next request for the session. Each session keeps its buffer, and writes over it each time the context
+ * is stored, so a new buffer is only allocated when the serialized context no longer fits.</p>
+ *
+ * <p>
+ * This trades the cost of serializing the context on every request for a much smaller heap footprint when there are
+ * many idle sessions holding large contexts.</p>
+ *
+ * <p>
+ * Before a context is stored, unnecessary component models are removed using {@link UIContextImpl#compact()}, unless
+ * disabled by {@link ConfigurationProperties#getServletUIContextStoreCompact()}. The serialized context may also be
+ * compressed, by enabling {@link ConfigurationProperties#getServletUIContextStoreCompress()}, in which case it is
+ * inflated by the next request for the session.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public abstract class AbstractSerializingUIContextStore implements UIContextStore {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(AbstractSerializingUIContextStore.class);
+
+	/**
+	 * The minimum capacity of the buffers allocated to store contexts.
+	 */
+	private static final int MIN_CAPACITY = 4096;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UIContext getUIContext(final HttpSession session, final String key) {
+		StoredUIContext stored = (StoredUIContext) session.getAttribute(key);
+		return stored == null ? null : stored.acquire();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setUIContext(final HttpSession session, final String key, final UIContext uic) {
+		session.setAttribute(key, new StoredUIContext(uic));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void releaseUIContext(final HttpSession session, final String key, final UIContext uic) {
+		StoredUIContext stored;
+
+		try {
+			stored = (StoredUIContext) session.getAttribute(key);
+		} catch (IllegalStateException e) {
+			// The session has been invalidated, so there is nothing to store.
+			return;
+		}
+
+		if (stored != null) {
+			stored.release(uic, this);
+		}
+	}
+
+	/**
+	 * Allocates an empty buffer to store serialized contexts in. The buffer is kept by the session and reused each time
+	 * its context is stored, until the serialized context no longer fits.
+	 *
+	 * @param capacity the minimum capacity of the buffer.
+	 * @return a writable buffer with at least the given capacity.
+	 */
+	protected abstract ByteBuffer allocateBuffer(int capacity);
+
+	/**
+	 * Copies a serialized context into the session's storage buffer, allocating a new buffer if it does not fit.
+	 *
+	 * @param bytes the serialized context.
+	 * @param storage the session's storage buffer, or null if it does not have one.
+	 * @return the storage buffer holding the serialized context.
+	 */
+	private ByteBuffer store(final byte[] bytes, final ByteBuffer storage) {
+		ByteBuffer target = storage;
+
+		if (target == null || target.capacity() < bytes.length) {
+			// Leave room for the context to grow without needing a new buffer
+			target = allocateBuffer(Math.max(MIN_CAPACITY, bytes.length + bytes.length / 4));
+		}
+
+		target.clear();
+		target.put(bytes);
+
+		return target;
+	}
+
+	/**
+	 * Removes unnecessary component models from a context which is about to be stored.
+	 *
+	 * @param uic the context to compact.
+	 */
+	private static void compact(final UIContext uic) {
+		UIContext backing = uic;
+
+		while (backing instanceof UIContextDelegate) {
+			backing = ((UIContextDelegate) backing).getBacking();
+		}
+
+		if (backing instanceof UIContextImpl) {
+			((UIContextImpl) backing).compact();
+		}
+	}
+
+	/**
+	 * Serializes a context.
+	 *
+	 * @param uic the context to serialize.
+	 * @param compressed true to compress the serialized context.
+	 * @return the serialized context.
+	 */
+	private static byte[] serialize(final UIContext uic, final boolean compressed) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			OutputStream out = compressed ? new DeflaterOutputStream(bos) : bos;
+
+			try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+				oos.writeObject(uic);
+			}
+
+			return bos.toByteArray();
+		} catch (IOException e) {
+			throw new SystemException("Failed to serialize UIContext", e);
+		}
+	}
+
+	/**
+	 * Deserializes a context.
+	 *
+	 * @param buffer the buffer containing the serialized context.
+	 * @param compressed true if the serialized context is compressed.
+	 * @return the deserialized context.
+	 */
+	private static UIContext deserialize(final ByteBuffer buffer, final boolean compressed) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+
+		InputStream in = new ByteArrayInputStream(bytes);
+
+		if (compressed) {
+			in = new InflaterInputStream(in);
+		}
+
+		try (ObjectInputStream ois = new ObjectInputStream(in)) {
+			return (UIContext) ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new SystemException("Failed to deserialize UIContext", e);
+		}
+	}
+
+	/**
+	 * The session attribute which holds a context, either on the heap while requests are using it, or serialized in a
+	 * buffer while the session is idle.
+	 */
+	private static final class StoredUIContext implements Serializable {
+
+		/**
+		 * The context, or null if it is only held in serialized form.
+		 */
+		private transient UIContext uic;
+
+		/**
+		 * The serialized context, or null if the context has not been serialized since it was last used.
+		 */
+		private transient ByteBuffer buffer;
+
+		/**
+		 * The buffer allocated by the store to hold the serialized context, which is reused each time the context is
+		 * stored, or null if one has not been allocated.
+		 */
+		private transient ByteBuffer storage;
+
+		/**
+		 * Indicates whether the serialized context is compressed.
+		 */
+		private transient boolean compressed;
+
+		/**
+		 * The number of requests which are using the context.
+		 */
+		private transient int users;
+
+		/**
+		 * Creates a StoredUIContext which is in use by the request which created it.
+		 *
+		 * @param uic the context to store.
+		 */
+		private StoredUIContext(final UIContext uic) {
+			this.uic = uic;
+			this.users = 1;
+		}
+
+		/**
+		 * Retrieves the context for use by a request, deserializing it if necessary.
+		 *
+		 * @return the context.
+		 */
+		private synchronized UIContext acquire() {
+			if (uic == null) {
+				uic = deserialize(buffer, compressed);
+			}
+
+			buffer = null;
+			users++;
+
+			return uic;
+		}
+
+		/**
+		 * Releases the context after it has been used by a request. Once no requests are using the context, it is
+		 * serialized and the heap copy discarded.
+		 *
+		 * @param released the context being released.
+		 * @param store the store to create the buffer with.
+		 */
+		private synchronized void release(final UIContext released, final AbstractSerializingUIContextStore store) {
+			if (released != uic || users == 0) {
+				// The context has been replaced since it was acquired.
+				return;
+			}
+
+			if (--users == 0) {
+				try {
+					if (ConfigurationProperties.getServletUIContextStoreCompact()) {
+						compact(uic);
+					}
+
+					boolean compress = ConfigurationProperties.getServletUIContextStoreCompress();
+					byte[] bytes = serialize(uic, compress);
+					storage = store.store(bytes, storage);
+					buffer = storage.duplicate();
+					buffer.flip();
+					compressed = compress;
+					uic = null;
+				} catch (SystemException e) {
+					LOG.error("Failed to store UIContext, retaining it on the heap", e);
+				}
+			}
+		}
+
+		/**
+		 * Writes the serialized context, for session persistence or replication.
+		 *
+		 * @param out the stream to write to.
+		 * @throws IOException if there is an error writing to the stream.
+		 */
+		private synchronized void writeObject(final ObjectOutputStream out) throws IOException {
+			byte[] bytes;
+
+			if (uic == null) {
+				bytes = new byte[buffer.remaining()];
+				buffer.duplicate().get(bytes);
+				out.writeBoolean(compressed);
+			} else {
+				bytes = serialize(uic, false);
+				out.writeBoolean(false);
+			}
+
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		/**
+		 * Reads the serialized context. It is kept on the heap in serialized form until it is used.
+		 *
+		 * @param in the stream to read from.
+		 * @throws IOException if there is an error reading from the stream.
+		 */
+		private void readObject(final ObjectInputStream in) throws IOException {
+			compressed = in.readBoolean();
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			buffer = ByteBuffer.wrap(bytes);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.container.AbstractContainerHelper;
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.Factory;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.IOException;
@@ -86,6 +87,21 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	 */
 	private final boolean dataRequest;
 
+	/**
+	 * Indicates whether the current request is read-only.
+	 */
+	private final boolean readOnlyRequest;
+
+	/**
+	 * The store which holds the UIContext between requests.
+	 */
+	private UIContextStore uiContextStore;
+
+	/**
+	 * The UIContext retrieved from or set in the store for this request, or null if it has not been retrieved.
+	 */
+	private UIContext uiContext;
+
 	/**
 	 * @param servlet the servlet processing the request
 	 * @param httpServletRequest the servlet request being processed
@@ -104,6 +120,8 @@ public class HttpServletHelper extends AbstractContainerHelper {
 
 		Map<String, String[]> parameters = ServletUtil.getRequestParameters(httpServletRequest);
 		dataRequest = parameters.get(WServlet.DATA_LIST_PARAM_NAME) != null;
+		// Data lists are served from the application-wide lookup table, so do not modify the user context.
+		readOnlyRequest = dataRequest && ConfigurationProperties.getServletConcurrentReadOnlyRequests();
 
 		String[] target = parameters.get(WServlet.AJAX_TRIGGER_PARAM_NAME);
 		if (target == null) {
@@ -172,17 +190,27 @@ public class HttpServletHelper extends AbstractContainerHelper {
 		return dataRequest;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isReadOnlyRequest() {
+		return readOnlyRequest;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected UIContext getUIContext() {
-		HttpSession session = getBackingRequest().getSession(false);
-		if (session == null) {
-			return null;
+		if (uiContext == null) {
+			HttpSession session = getBackingRequest().getSession(false);
+			if (session == null) {
+				return null;
+			}
+			uiContext = getUIContextStore().getUIContext(session, getUiContextSessionKey());
 		}
-		UIContext uic = (UIContext) session.getAttribute(getUiContextSessionKey());
-		return uic;
+		return uiContext;
 	}
 
 	/**
@@ -190,8 +218,33 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	 */
 	@Override
 	protected void setUIContext(final UIContext uiContext) {
+		releaseUIContext();
 		HttpSession session = getBackingRequest().getSession();
-		session.setAttribute(getUiContextSessionKey(), uiContext);
+		getUIContextStore().setUIContext(session, getUiContextSessionKey(), uiContext);
+		this.uiContext = uiContext;
+	}
+
+	/**
+	 * Releases the UIContext back to the store once request processing has completed.
+	 */
+	protected void releaseUIContext() {
+		if (uiContext != null) {
+			HttpSession session = getBackingRequest().getSession(false);
+			if (session != null) {
+				getUIContextStore().releaseUIContext(session, getUiContextSessionKey(), uiContext);
+			}
+			uiContext = null;
+		}
+	}
+
+	/**
+	 * @return the store which holds the UIContext between requests.
+	 */
+	protected UIContextStore getUIContextStore() {
+		if (uiContextStore == null) {
+			uiContextStore = Factory.newInstance(UIContextStore.class);
+		}
+		return uiContextStore;
 	}
 
 	/**
@@ -289,6 +342,7 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	protected void invalidateSession() {
 		HttpSession session = backingRequest.getSession(true);
 		session.invalidate();
+		uiContext = null;
 	}
 
 	/**
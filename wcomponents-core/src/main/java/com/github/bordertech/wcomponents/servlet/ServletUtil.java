@@ -33,6 +33,7 @@ import com.github.bordertech.wcomponents.container.TargetableErrorInterceptor;
 import com.github.bordertech.wcomponents.container.TargetableInterceptor;
 import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
 import com.github.bordertech.wcomponents.container.UIContextDumpInterceptor;
+import com.github.bordertech.wcomponents.container.UIContextSizeInterceptor;
 import com.github.bordertech.wcomponents.container.ValidateXMLInterceptor;
 import com.github.bordertech.wcomponents.container.WWindowInterceptor;
 import com.github.bordertech.wcomponents.container.WhitespaceFilterInterceptor;
@@ -58,6 +59,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 import javax.servlet.ServletException;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
@@ -186,14 +188,25 @@ public final class ServletUtil {
 			// Prepare user context
 			UIContext uic = helper.prepareUserContext();
 
-			synchronized (uic) {
-				// Process the action phase.
-				helper.processAction();
+			// Read-only requests only need to exclude requests which modify the user context
+			boolean readOnly = helper.isReadOnlyRequest();
+			Lock lock = UIContextLock.lock(uic, readOnly);
 
-				// Process the render phase.
-				helper.render();
+			try {
+				if (readOnly) {
+					processPhases(helper);
+				} else {
+					// Still synchronize on the context for applications which use it to coordinate with requests
+					synchronized (uic) {
+						processPhases(helper);
+					}
+				}
+			} finally {
+				lock.unlock();
 			}
 		} finally {
+			helper.releaseUIContext();
+
 			// We need to ensure that the AJAX operation is cleared
 			// The interceptors can not guarantee this
 			// TODO: Investigate changing to not use a thread-local
@@ -201,6 +214,20 @@ public final class ServletUtil {
 		}
 	}
 
+	/**
+	 * Processes the action and render phases of a request.
+	 *
+	 * @param helper the servlet helper
+	 * @throws IOException an IO Exception
+	 */
+	private static void processPhases(final HttpServletHelper helper) throws IOException {
+		// Process the action phase.
+		helper.processAction();
+
+		// Process the render phase.
+		helper.render();
+	}
+
 	/**
 	 * @param req the request being processed
 	 * @return true if requesting a static resource
@@ -406,6 +433,7 @@ public final class ServletUtil {
 				new SessionTokenAjaxInterceptor(),
 				new ResponseCacheInterceptor(CacheType.NO_CACHE),
 				new UIContextDumpInterceptor(),
+				new UIContextSizeInterceptor(),
 				new AjaxSetupInterceptor(),
 				new WWindowInterceptor(true),
 				new WrongStepAjaxInterceptor(),
@@ -433,6 +461,7 @@ public final class ServletUtil {
 				new SessionTokenInterceptor(),
 				new ResponseCacheInterceptor(CacheType.NO_CACHE),
 				new UIContextDumpInterceptor(),
+				new UIContextSizeInterceptor(),
 				new WWindowInterceptor(true),
 				new WrongStepServerInterceptor(),
 				new AjaxCleanupInterceptor(),
@@ -487,7 +516,11 @@ public final class ServletUtil {
 
 		// use the new technique and delegate to the ErrorPageFactory.
 		if (handleErrorWithFatalErrorPageFactory) {
-			helper.handleError(throwable);
+			try {
+				helper.handleError(throwable);
+			} finally {
+				helper.releaseUIContext();
+			}
 			helper.dispose();
 		} else { // use the old technique and just display a raw message.
 			// First, decide whether we are in friendly mode or not.
@@ -506,6 +539,7 @@ public final class ServletUtil {
 			// Display an error to the user.
 			UIContext uic = helper.getUIContext();
 			Locale locale = uic == null ? null : uic.getLocale();
+			helper.releaseUIContext();
 			message = I18nUtilities.format(locale, message);
 			httpServletResponse.getWriter().println(message);
 		}
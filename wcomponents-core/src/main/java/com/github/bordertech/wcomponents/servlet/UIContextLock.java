@@ -0,0 +1,174 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * Controls concurrent access to a user context while a request is processed. Requests which modify the user context
+ * hold an exclusive lock, while read-only requests (e.g. data lists) hold a shared lock, so that they can be processed
+ * concurrently with each other, but not with a request which modifies the user context.</p>
+ *
+ * <p>
+ * The time spent waiting for locks is recorded, to help diagnose requests which are queued behind each other.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public final class UIContextLock {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIContextLock.class);
+
+	/**
+	 * The number of striped locks for user contexts which do not hold their own lock.
+	 */
+	private static final int STRIPE_COUNT = 64;
+
+	/**
+	 * The striped locks for user contexts which do not hold their own lock. Contexts which share a stripe exclude each
+	 * other, but this is only used for contexts other than {@link UIContextImpl}.
+	 */
+	private static final ReadWriteLock[] STRIPES = new ReadWriteLock[STRIPE_COUNT];
+
+	static {
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			STRIPES[i] = new ReentrantReadWriteLock();
+		}
+	}
+
+	/**
+	 * The number of shared locks acquired.
+	 */
+	private static final LongAdder SHARED_COUNT = new LongAdder();
+
+	/**
+	 * The total time spent waiting for shared locks, in nanoseconds.
+	 */
+	private static final LongAdder SHARED_WAIT = new LongAdder();
+
+	/**
+	 * The number of exclusive locks acquired.
+	 */
+	private static final LongAdder EXCLUSIVE_COUNT = new LongAdder();
+
+	/**
+	 * The total time spent waiting for exclusive locks, in nanoseconds.
+	 */
+	private static final LongAdder EXCLUSIVE_WAIT = new LongAdder();
+
+	/**
+	 * The longest time spent waiting for a lock, in nanoseconds.
+	 */
+	private static final AtomicLong MAX_WAIT = new AtomicLong();
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private UIContextLock() {
+	}
+
+	/**
+	 * Acquires a lock on the given user context.
+	 *
+	 * @param uic the user context to lock.
+	 * @param shared true to acquire a shared lock for a read-only request, false to acquire an exclusive lock.
+	 * @return the acquired lock, which must be unlocked once the request has been processed.
+	 */
+	public static Lock lock(final UIContext uic, final boolean shared) {
+		ReadWriteLock readWriteLock = getLock(uic);
+		Lock lock = shared ? readWriteLock.readLock() : readWriteLock.writeLock();
+
+		long start = System.nanoTime();
+		lock.lock();
+		long wait = System.nanoTime() - start;
+
+		if (shared) {
+			SHARED_COUNT.increment();
+			SHARED_WAIT.add(wait);
+		} else {
+			EXCLUSIVE_COUNT.increment();
+			EXCLUSIVE_WAIT.add(wait);
+		}
+
+		MAX_WAIT.accumulateAndGet(wait, Math::max);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Waited " + TimeUnit.NANOSECONDS.toMillis(wait) + "ms for " + (shared ? "shared" : "exclusive")
+					+ " lock on user context.");
+		}
+
+		return lock;
+	}
+
+	/**
+	 * Retrieves the lock for the given user context. A {@link UIContextImpl} holds its own lock, so that requests for
+	 * different users do not contend with each other.
+	 *
+	 * @param uic the user context.
+	 * @return the lock for the user context.
+	 */
+	private static ReadWriteLock getLock(final UIContext uic) {
+		if (uic instanceof UIContextImpl) {
+			return ((UIContextImpl) uic).getRequestLock();
+		}
+
+		return STRIPES[(System.identityHashCode(uic) & Integer.MAX_VALUE) % STRIPE_COUNT];
+	}
+
+	/**
+	 * @return the number of shared locks which have been acquired.
+	 */
+	public static long getSharedLockCount() {
+		return SHARED_COUNT.sum();
+	}
+
+	/**
+	 * @return the total time spent waiting for shared locks, in milliseconds.
+	 */
+	public static long getSharedLockWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(SHARED_WAIT.sum());
+	}
+
+	/**
+	 * @return the number of exclusive locks which have been acquired.
+	 */
+	public static long getExclusiveLockCount() {
+		return EXCLUSIVE_COUNT.sum();
+	}
+
+	/**
+	 * @return the total time spent waiting for exclusive locks, in milliseconds.
+	 */
+	public static long getExclusiveLockWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(EXCLUSIVE_WAIT.sum());
+	}
+
+	/**
+	 * @return the longest time spent waiting for a lock, in milliseconds.
+	 */
+	public static long getMaxLockWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(MAX_WAIT.get());
+	}
+
+	/**
+	 * Resets the lock wait statistics.
+	 */
+	public static void resetStatistics() {
+		SHARED_COUNT.reset();
+		SHARED_WAIT.reset();
+		EXCLUSIVE_COUNT.reset();
+		EXCLUSIVE_WAIT.reset();
+		MAX_WAIT.set(0);
+	}
+}
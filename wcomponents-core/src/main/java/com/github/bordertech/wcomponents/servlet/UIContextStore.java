@@ -0,0 +1,50 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import javax.servlet.http.HttpSession;
+
+/**
+ * <p>
+ * Stores each user's {@link UIContext} between requests. The implementation is obtained from the
+ * {@link com.github.bordertech.wcomponents.util.Factory Factory}, and may be configured by setting the
+ * "bordertech.wcomponents.factory.impl.com.github.bordertech.wcomponents.servlet.UIContextStore" parameter.</p>
+ *
+ * <p>
+ * A request retrieves or sets the context at most once, and then releases it once request processing has completed.
+ * Requests for the same session which are processed concurrently must be given the same context instance, as the
+ * context is used to synchronize request processing.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public interface UIContextStore {
+
+	/**
+	 * Retrieves the context stored in the session. If a context is returned, the caller must call
+	 * {@link #releaseUIContext(HttpSession, String, UIContext)} once it has finished with the context.
+	 *
+	 * @param session the session to retrieve the context from.
+	 * @param key the key the context is stored under.
+	 * @return the stored context, or null if there is no context.
+	 */
+	UIContext getUIContext(HttpSession session, String key);
+
+	/**
+	 * Stores a context in the session, replacing any existing context. The caller must call
+	 * {@link #releaseUIContext(HttpSession, String, UIContext)} once it has finished with the context.
+	 *
+	 * @param session the session to store the context in.
+	 * @param key the key to store the context under.
+	 * @param uic the context to store.
+	 */
+	void setUIContext(HttpSession session, String key, UIContext uic);
+
+	/**
+	 * Indicates that the caller has finished with the context which it retrieved or set.
+	 *
+	 * @param session the session containing the context.
+	 * @param key the key the context is stored under.
+	 * @param uic the context which the caller retrieved or set.
+	 */
+	void releaseUIContext(HttpSession session, String key, UIContext uic);
+}
@@ -0,0 +1,64 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.util.concurrent.locks.Lock;
+import javax.servlet.http.HttpSession;
+
+/**
+ * <p>
+ * The default {@link UIContextStore}, which keeps each context on the heap as a session attribute.</p>
+ *
+ * <p>
+ * When a request releases the context, unnecessary component models are removed using {@link UIContextImpl#compact()},
+ * unless disabled by {@link ConfigurationProperties#getServletUIContextStoreCompact()}. The context is only compacted
+ * if no other request is using it, so the context held by an idle session is always compact.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextStoreHeapImpl implements UIContextStore {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UIContext getUIContext(final HttpSession session, final String key) {
+		return (UIContext) session.getAttribute(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setUIContext(final HttpSession session, final String key, final UIContext uic) {
+		session.setAttribute(key, uic);
+	}
+
+	/**
+	 * Compacts the context, if no other request is using it.
+	 *
+	 * @param session the session containing the context.
+	 * @param key the key the context is stored under.
+	 * @param uic the context which the caller retrieved or set.
+	 */
+	@Override
+	public void releaseUIContext(final HttpSession session, final String key, final UIContext uic) {
+		if (uic instanceof UIContextImpl && ConfigurationProperties.getServletUIContextStoreCompact()) {
+			UIContextImpl impl = (UIContextImpl) uic;
+			Lock lock = impl.getRequestLock().writeLock();
+
+			// If another request holds the lock, it will compact the context when it is released
+			if (lock.tryLock()) {
+				try {
+					synchronized (impl) {
+						impl.compact();
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+}
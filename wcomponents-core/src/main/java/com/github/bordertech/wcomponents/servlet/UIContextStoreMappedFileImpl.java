@@ -0,0 +1,58 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A {@link UIContextStore} which keeps the contexts of idle sessions serialized in memory-mapped files, so that the
+ * operating system can page them out of memory.</p>
+ *
+ * <p>
+ * Each session has a single mapped temporary file in the directory given by
+ * {@link ConfigurationProperties#getServletUIContextStoreDir()}, which is written over each time the session's context
+ * is stored. A new file is only created when the context no longer fits, so storing a context does not need any file
+ * I/O or a new mapping. The file is deleted once it has been mapped, so that it is removed when the mapping is released.
+ * Where the operating system does not allow a mapped file to be deleted, a warning is logged and the file is left in
+ * the directory.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextStoreMappedFileImpl extends AbstractSerializingUIContextStore {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIContextStoreMappedFileImpl.class);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ByteBuffer allocateBuffer(final int capacity) {
+		String dir = ConfigurationProperties.getServletUIContextStoreDir();
+
+		try {
+			File file = File.createTempFile("uicontext", ".ser", dir == null ? null : new File(dir));
+
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.setLength(capacity);
+				return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			} finally {
+				if (!file.delete()) {
+					LOG.warn("Could not delete UIContext store file " + file);
+				}
+			}
+		} catch (IOException e) {
+			throw new SystemException("Failed to create UIContext store file", e);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link UIContextStore} which keeps the contexts of idle sessions serialized in direct byte buffers, outside of the
+ * Java heap. The memory used by a buffer is released once the buffer has been garbage collected, and the total size of
+ * the buffers is limited by the JVM's maximum direct memory size.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextStoreOffHeapImpl extends AbstractSerializingUIContextStore {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected ByteBuffer allocateBuffer(final int capacity) {
+		return ByteBuffer.allocateDirect(capacity);
+	}
+}
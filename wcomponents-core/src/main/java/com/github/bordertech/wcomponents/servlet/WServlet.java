@@ -6,7 +6,10 @@ import com.github.bordertech.wcomponents.UserAgentInfo;
 import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WLabel;
 import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
+import com.github.bordertech.wcomponents.monitor.UicSizeMonitor;
 import com.github.bordertech.wcomponents.servlet.HttpServletHelper.HttpServletEnvironment;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import java.io.IOException;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -77,6 +80,23 @@ public class WServlet extends HttpServlet {
 	public void init() throws ServletException {
 		// To enable server-side generation of images
 		System.setProperty("java.awt.headless", "true");
+
+		// Compile the theme XSLT up front so the first request does not have to
+		if (ConfigurationProperties.getXsltWarmUp()) {
+			TransformXMLInterceptor.warmUp();
+		}
+
+		UicSizeMonitor.register();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void destroy() {
+		// Release the MBean, so that it does not hold on to the application once it has been undeployed
+		UicSizeMonitor.unregister();
+		super.destroy();
 	}
 
 	/**
@@ -19,7 +19,11 @@ import com.github.jknack.handlebars.io.TemplateLoader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -74,6 +78,21 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	 */
 	private static final TemplateCache CACHE = new HandlebarsCacheImpl();
 
+	/**
+	 * The maximum number of handlebars engines to cache.
+	 */
+	private static final int MAX_ENGINES = 50;
+
+	/**
+	 * The handlebars engines, keyed by the renderer class, the options and the configuration used to create them.
+	 */
+	private static final Map<List<Object>, Handlebars> ENGINES = new ConcurrentHashMap<>();
+
+	/**
+	 * The compiled inline templates, keyed by the engine which compiled them and the template content.
+	 */
+	private static final Map<List<Object>, Template> INLINE_TEMPLATES = new ConcurrentHashMap<>();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -89,7 +108,7 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 			Map<String, WComponent> componentsByKey = TemplateUtil.mapTaggedComponents(context, taggedComponents);
 
 			// Get Engine
-			Handlebars handlebars = getHandlebarsEngine(options);
+			Handlebars handlebars = getCachedHandlebarsEngine(options);
 
 			// Load template (Handlebars loader makes the template name "absolute")
 			Template template = handlebars.compile(templateName);
@@ -121,10 +140,10 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 			Map<String, WComponent> componentsByKey = TemplateUtil.mapTaggedComponents(context, taggedComponents);
 
 			// Get Engine
-			Handlebars handlebars = getHandlebarsEngine(options);
+			Handlebars handlebars = getCachedHandlebarsEngine(options);
 
 			// Compile inline
-			Template template = handlebars.compileInline(templateInline);
+			Template template = getInlineTemplate(handlebars, templateInline);
 
 			// Setup handlebars context
 			Context handlebarsContext = createContext(context);
@@ -138,6 +157,47 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	}
 
 	/**
+	 * Retrieves the handlebars engine for the given options. Engines are cached for each renderer class and distinct
+	 * set of options, so {@link #getHandlebarsEngine(Map)} is only called the first time the options are used.
+	 *
+	 * @param options the engine options
+	 * @return the handlebars engine
+	 */
+	private Handlebars getCachedHandlebarsEngine(final Map<String, Object> options) {
+		// Theme i18n
+		Object value = options.get(THEME_I18N);
+		String resourceBundleBasename = null;
+		if (value == null || "true".equalsIgnoreCase(value.toString())) {
+			resourceBundleBasename = ConfigurationProperties.getI18nThemeResourceBundleBaseName();
+			// The i18n helper is shared by all engines and the locale is per request, so must be set on each render.
+			I18nHelper.i18n.setDefaultLocale(I18nUtilities.getEffectiveLocale());
+			I18nHelper.i18n.setDefaultBundle(resourceBundleBasename);
+		}
+
+		List<Object> key = Arrays.<Object>asList(getClass(), options, resourceBundleBasename, isCaching());
+		Handlebars handlebars = ENGINES.get(key);
+
+		if (handlebars == null) {
+			handlebars = getHandlebarsEngine(options);
+
+			if (ENGINES.size() >= MAX_ENGINES) {
+				ENGINES.clear();
+			}
+
+			// Copy the options, as the caller may change them
+			Map<String, Object> keyOptions = new HashMap<>(options);
+			ENGINES.put(Arrays.<Object>asList(getClass(), keyOptions, resourceBundleBasename, isCaching()), handlebars);
+		}
+
+		return handlebars;
+	}
+
+	/**
+	 * Creates the handlebars engine for the given options. Subclasses may override this method to customise the engine.
+	 * <p>
+	 * The engine returned is cached and reused for later renders by this renderer class with the same options, so it
+	 * must only depend on the options and configuration.
+	 * </p>
 	 *
 	 * @param options the engine options
 	 * @return the handlebars engine
@@ -187,6 +247,33 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 		return handlebars;
 	}
 
+	/**
+	 * Retrieves the compiled inline template, compiling it if it has not been used before. Compiled templates are cached
+	 * by their content, up to {@link ConfigurationProperties#getHandlebarsInlineCacheSize()} templates.
+	 *
+	 * @param handlebars the handlebars engine
+	 * @param templateInline the inline template
+	 * @return the compiled template
+	 * @throws IOException an IOException compiling the template
+	 */
+	private static Template getInlineTemplate(final Handlebars handlebars, final String templateInline)
+			throws IOException {
+		List<Object> key = Arrays.<Object>asList(handlebars, templateInline);
+		Template template = INLINE_TEMPLATES.get(key);
+
+		if (template == null) {
+			template = handlebars.compileInline(templateInline);
+
+			if (INLINE_TEMPLATES.size() >= ConfigurationProperties.getHandlebarsInlineCacheSize()) {
+				INLINE_TEMPLATES.clear();
+			}
+
+			INLINE_TEMPLATES.put(key, template);
+		}
+
+		return template;
+	}
+
 	/**
 	 *
 	 * @param componentContext the component context
@@ -7,7 +7,8 @@ import java.util.Arrays;
 /**
  * <p>
  * AbstractSearchReplaceWriter is a writer extension that allows programmatic replacement of strings contained in
- * written stream. For efficiency, it uses a buffer that is twice the size of the longest search string.</p>
+ * written stream. For efficiency, it uses a buffer that is twice the size of the longest search string, and a
+ * {@link SearchStringMatcher} so that the search strings are matched in a single pass over the buffer.</p>
  *
  * <p>
  * Data is only written to the underlying writer when the buffer is filled, or when the writer is closed; calling
@@ -20,9 +21,9 @@ import java.util.Arrays;
 public abstract class AbstractSearchReplaceWriter extends Writer {
 
 	/**
-	 * The array of search Strings, sorted in ascending order.
+	 * The matcher for the search strings, or null if there are no search strings.
 	 */
-	private final String[] search;
+	private final SearchStringMatcher matcher;
 
 	/**
 	 * The underlying writer to write the output to.
@@ -50,9 +51,9 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 		this.backing = backing;
 
 		// Create a copy of the search array, as we need it sorted
-		this.search = new String[search.length];
-		System.arraycopy(search, 0, this.search, 0, search.length);
-		Arrays.sort(this.search);
+		String[] sorted = new String[search.length];
+		System.arraycopy(search, 0, sorted, 0, search.length);
+		Arrays.sort(sorted);
 
 		// Find the longest search item
 		int maxKeyLength = -1;
@@ -68,8 +69,10 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 		if (maxKeyLength == -1) {
 			// Nothing to replace, so no need for a buffer
 			buffer = null;
+			matcher = null;
 		} else {
 			buffer = new char[maxKeyLength * 2];
+			matcher = SearchStringMatcher.getInstance(sorted);
 		}
 	}
 
@@ -114,8 +117,13 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 			// Nothing to replace, just pass the data through
 			backing.write(cbuf, off, len);
 		} else {
-			for (int i = off; i < off + len; i++) {
-				buffer[bufferLen++] = cbuf[i];
+			int pos = off;
+
+			while (pos < off + len) {
+				int count = Math.min(buffer.length - bufferLen, off + len - pos);
+				System.arraycopy(cbuf, pos, buffer, bufferLen, count);
+				bufferLen += count;
+				pos += count;
 
 				if (bufferLen == buffer.length) {
 					writeBuf(buffer.length / 2);
@@ -127,32 +135,67 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 	/**
 	 * Writes the current contents of the buffer, up to the given position. More data may be written from the buffer
 	 * when there is a search string that crosses over endPos.
+	 * <p>
+	 * Where search strings overlap, the one which starts first is replaced, and the longest search string is replaced
+	 * where several start at the same position.
+	 * </p>
 	 *
 	 * @param endPos the end position to stop writing
 	 * @throws IOException if there is an error writing to the underlying writer.
 	 */
 	private void writeBuf(final int endPos) throws IOException {
 		// If the stream is not closed, we only process half the buffer at once.
-		String searchTerm;
-		int pos = 0;
 		int lastWritePos = 0;
+		int state = SearchStringMatcher.ROOT;
+		// The best match found so far, which may yet be beaten by a longer match starting at the same position
+		String candidate = null;
+		int candidateStart = -1;
+		int pos = 0;
+
+		while (true) {
+			// The earliest position at which a search string which has not yet been matched could start
+			int prefixStart;
 
-		while (pos < endPos) {
-			searchTerm = findSearchStrings(pos);
+			if (pos < bufferLen) {
+				state = matcher.nextState(state, buffer[pos]);
+				String match = matcher.getMatch(state);
 
-			if (searchTerm != null) {
-				if (lastWritePos != pos) {
-					backing.write(buffer, lastWritePos, pos - lastWritePos);
+				if (match != null) {
+					int matchStart = pos - match.length() + 1;
+
+					if (matchStart < endPos && (candidate == null || matchStart < candidateStart
+							|| (matchStart == candidateStart && match.length() > candidate.length()))) {
+						candidate = match;
+						candidateStart = matchStart;
+					}
 				}
 
-				doReplace(searchTerm, backing);
-				pos += searchTerm.length();
-				lastWritePos = pos;
-			} else {
 				pos++;
+				prefixStart = pos - matcher.getDepth(state);
+			} else {
+				prefixStart = bufferLen;
+			}
+
+			if (candidate != null && prefixStart > candidateStart) {
+				// No other search string can start at or before the candidate, so replace it
+				if (lastWritePos != candidateStart) {
+					backing.write(buffer, lastWritePos, candidateStart - lastWritePos);
+				}
+
+				doReplace(candidate, backing);
+				lastWritePos = candidateStart + candidate.length();
+
+				// Continue searching after the replaced string
+				pos = lastWritePos;
+				state = SearchStringMatcher.ROOT;
+				candidate = null;
+			} else if (candidate == null && prefixStart >= endPos) {
+				break;
 			}
 		}
 
+		pos = Math.max(endPos, lastWritePos);
+
 		// Write the remaining characters that weren't matched
 		if (lastWritePos != pos) {
 			backing.write(buffer, lastWritePos, pos - lastWritePos);
@@ -163,48 +206,6 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 		bufferLen -= pos;
 	}
 
-	/**
-	 * Searches for any search strings in the buffer that start between the specified offsets.
-	 *
-	 * @param start the start search offset
-	 *
-	 * @return the first search String found, or null if none were found.
-	 */
-	private String findSearchStrings(final int start) {
-		String longestMatch = null;
-
-		// Loop for each string
-		for (int i = 0; i < search.length; i++) {
-			// No point checking a String that's too long
-			if (start + search[i].length() > bufferLen) {
-				continue;
-			}
-
-			boolean found = true;
-
-			// Loop for each character in range
-			for (int j = 0; j < search[i].length() && (start + j < bufferLen); j++) {
-				int diff = buffer[start + j] - search[i].charAt(j);
-
-				if (diff < 0) {
-					// Since the strings are all sorted, we can abort if
-					// the character is less than the corresponding character in
-					// the current search string.
-					return longestMatch;
-				} else if (diff != 0) {
-					found = false;
-					break;
-				}
-			}
-
-			if (found && (longestMatch == null || longestMatch.length() < search[i].length())) {
-				longestMatch = search[i];
-			}
-		}
-
-		return longestMatch;
-	}
-
 	/**
 	 * Indicates whether the backing writer should be closed on close of this writer. Subclasses can override this to
 	 * keep the underlying writer open.
@@ -0,0 +1,375 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * <p>
+ * Reads and writes bean properties, in the same way as {@link PropertyUtils#getProperty(Object, String)} and
+ * {@link PropertyUtils#setProperty(Object, String, Object)}, without parsing the property expression and looking up
+ * the property on every call.</p>
+ *
+ * <p>
+ * Property paths made up of simple property names, such as "address.street", are split once. The getter and setter
+ * for each property name are looked up the first time they are used with a bean class, and are held as method handles
+ * in a {@link ClassValue}, so they are not held beyond the life of the bean class. Each name in a nested path is looked
+ * up using the class of the bean it is read from, so the intermediate beans can be of any class.</p>
+ *
+ * <p>
+ * Indexed and mapped property expressions, such as "items[0]" or "values(key)", and properties of {@link Map} and
+ * {@link DynaBean} beans, are passed to {@link PropertyUtils}.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public final class BeanPropertyAccessor {
+
+	/**
+	 * The names in each property path, or {@link #NOT_SIMPLE} if the path is passed to {@link PropertyUtils}.
+	 */
+	private static final ConcurrentMap<String, String[]> PATHS = new ConcurrentHashMap<>();
+
+	/**
+	 * Marks a property path which does not only contain simple property names.
+	 */
+	private static final String[] NOT_SIMPLE = new String[0];
+
+	/**
+	 * The property accessors of each bean class, by property name.
+	 */
+	private static final ClassValue<ConcurrentMap<String, Accessor>> ACCESSORS
+			= new ClassValue<ConcurrentMap<String, Accessor>>() {
+		@Override
+		protected ConcurrentMap<String, Accessor> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private BeanPropertyAccessor() {
+	}
+
+	/**
+	 * Retrieves the value of a bean property.
+	 *
+	 * @param bean the bean to read the property from.
+	 * @param property the property path, which may be nested, indexed or mapped.
+	 * @return the property value.
+	 * @throws IllegalAccessException if the property getter is not accessible.
+	 * @throws InvocationTargetException if the property getter throws an exception.
+	 * @throws NoSuchMethodException if the property does not have a getter.
+	 */
+	public static Object getProperty(final Object bean, final String property) throws IllegalAccessException,
+			InvocationTargetException, NoSuchMethodException {
+		String[] names = getNames(property);
+
+		if (names == NOT_SIMPLE) {
+			return PropertyUtils.getProperty(bean, property);
+		}
+
+		return getNestedBean(bean, property, names, names.length);
+	}
+
+	/**
+	 * Sets the value of a bean property. As with {@link PropertyUtils}, the value is not converted to the type of the
+	 * property.
+	 *
+	 * @param bean the bean to set the property on.
+	 * @param property the property path, which may be nested, indexed or mapped.
+	 * @param value the value to set.
+	 * @throws IllegalAccessException if the property setter is not accessible.
+	 * @throws InvocationTargetException if the property setter throws an exception.
+	 * @throws NoSuchMethodException if the property does not have a setter.
+	 */
+	public static void setProperty(final Object bean, final String property, final Object value) throws
+			IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		String[] names = getNames(property);
+
+		if (names == NOT_SIMPLE) {
+			PropertyUtils.setProperty(bean, property, value);
+			return;
+		}
+
+		Object target = getNestedBean(bean, property, names, names.length - 1);
+		checkBean(bean, target, property, names, names.length - 1);
+		getAccessor(target, names[names.length - 1]).set(target, value);
+	}
+
+	/**
+	 * Reads the beans along a property path.
+	 *
+	 * @param bean the bean at the start of the path.
+	 * @param property the property path.
+	 * @param names the names in the property path.
+	 * @param depth the number of names to read.
+	 * @return the bean at the given depth.
+	 * @throws IllegalAccessException if a property getter is not accessible.
+	 * @throws InvocationTargetException if a property getter throws an exception.
+	 * @throws NoSuchMethodException if a property does not have a getter.
+	 */
+	private static Object getNestedBean(final Object bean, final String property, final String[] names,
+			final int depth) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		Object current = bean;
+
+		for (int i = 0; i < depth; i++) {
+			checkBean(bean, current, property, names, i);
+			current = getAccessor(current, names[i]).get(current);
+		}
+
+		return current;
+	}
+
+	/**
+	 * Checks that a bean along a property path is not null, reporting it in the same way as {@link PropertyUtils}.
+	 *
+	 * @param bean the bean at the start of the path.
+	 * @param current the bean to check.
+	 * @param property the property path.
+	 * @param names the names in the property path.
+	 * @param index the index in the path of the name to read from the current bean.
+	 */
+	private static void checkBean(final Object bean, final Object current, final String property,
+			final String[] names, final int index) {
+		if (current == null) {
+			if (index == 0) {
+				throw new IllegalArgumentException("No bean specified");
+			}
+
+			int length = index - 1;
+
+			for (int i = 0; i < index; i++) {
+				length += names[i].length();
+			}
+
+			throw new NestedNullException("Null property value for '" + property.substring(0, length)
+					+ "' on bean class '" + bean.getClass() + "'");
+		}
+	}
+
+	/**
+	 * Retrieves the accessor for a property.
+	 *
+	 * @param bean the bean holding the property.
+	 * @param name the property name.
+	 * @return the accessor for the property.
+	 */
+	private static Accessor getAccessor(final Object bean, final String name) {
+		Class<?> beanClass = bean.getClass();
+		ConcurrentMap<String, Accessor> accessors = ACCESSORS.get(beanClass);
+		Accessor accessor = accessors.get(name);
+
+		if (accessor == null) {
+			accessor = createAccessor(beanClass, name);
+			accessors.putIfAbsent(name, accessor);
+		}
+
+		return accessor;
+	}
+
+	/**
+	 * Splits a property path into its names.
+	 *
+	 * @param property the property path.
+	 * @return the names in the path, or {@link #NOT_SIMPLE} if the path is passed to {@link PropertyUtils}.
+	 */
+	private static String[] getNames(final String property) {
+		if (property == null) {
+			return NOT_SIMPLE;
+		}
+
+		String[] names = PATHS.get(property);
+
+		if (names == null) {
+			names = property.split("\\.", -1);
+
+			for (String name : names) {
+				if (!isSimpleName(name)) {
+					names = NOT_SIMPLE;
+					break;
+				}
+			}
+
+			PATHS.putIfAbsent(property, names);
+		}
+
+		return names;
+	}
+
+	/**
+	 * @param name the property name to check.
+	 * @return true if the name is a simple property name, otherwise false.
+	 */
+	private static boolean isSimpleName(final String name) {
+		if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+			return false;
+		}
+
+		for (int i = 1; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Looks up the getter and setter for a property.
+	 *
+	 * @param beanClass the bean class.
+	 * @param name the property name.
+	 * @return the accessor for the property.
+	 */
+	private static Accessor createAccessor(final Class<?> beanClass, final String name) {
+		if (Map.class.isAssignableFrom(beanClass) || DynaBean.class.isAssignableFrom(beanClass)) {
+			return new Accessor(name, null, null, null);
+		}
+
+		PropertyDescriptor descriptor = null;
+
+		for (PropertyDescriptor candidate : PropertyUtils.getPropertyDescriptors(beanClass)) {
+			if (name.equals(candidate.getName())) {
+				descriptor = candidate;
+				break;
+			}
+		}
+
+		if (descriptor == null) {
+			return new Accessor(name, null, null, null);
+		}
+
+		Method readMethod = descriptor.getReadMethod() == null ? null : MethodUtils.getAccessibleMethod(beanClass,
+				descriptor.getReadMethod());
+		Method writeMethod = descriptor.getWriteMethod() == null ? null : MethodUtils.getAccessibleMethod(beanClass,
+				descriptor.getWriteMethod());
+
+		MethodHandle getter = unreflect(readMethod, MethodType.methodType(Object.class, Object.class));
+		MethodHandle setter = unreflect(writeMethod, MethodType.methodType(void.class, Object.class,
+				Object.class));
+		Class<?> type = setter == null ? null : MethodType.methodType(writeMethod.getParameterTypes()[0]).wrap().
+				returnType();
+
+		return new Accessor(name, getter, setter, type);
+	}
+
+	/**
+	 * Creates a method handle for a property getter or setter.
+	 *
+	 * @param method the method, or null if the property does not have one.
+	 * @param type the type to adapt the method handle to.
+	 * @return the method handle, or null if the method is null or can not be accessed.
+	 */
+	private static MethodHandle unreflect(final Method method, final MethodType type) {
+		if (method == null) {
+			return null;
+		}
+
+		try {
+			return MethodHandles.publicLookup().unreflect(method).asType(type);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads and writes a property of a bean class. A property without a getter or setter handle is passed to
+	 * {@link PropertyUtils}, which will report why it can not be accessed.
+	 */
+	private static final class Accessor {
+
+		/**
+		 * The property name.
+		 */
+		private final String name;
+
+		/**
+		 * The property getter, or null to use {@link PropertyUtils}.
+		 */
+		private final MethodHandle getter;
+
+		/**
+		 * The property setter, or null to use {@link PropertyUtils}.
+		 */
+		private final MethodHandle setter;
+
+		/**
+		 * The type of the property setter's parameter, with primitive types wrapped, or null if there is no setter
+		 * handle.
+		 */
+		private final Class<?> type;
+
+		/**
+		 * @param name the property name
+		 * @param getter the property getter
+		 * @param setter the property setter
+		 * @param type the wrapped type of the property setter's parameter
+		 */
+		private Accessor(final String name, final MethodHandle getter, final MethodHandle setter,
+				final Class<?> type) {
+			this.name = name;
+			this.getter = getter;
+			this.setter = setter;
+			this.type = type;
+		}
+
+		/**
+		 * @param bean the bean to read the property from
+		 * @return the property value
+		 * @throws IllegalAccessException if the property getter is not accessible.
+		 * @throws InvocationTargetException if the property getter throws an exception.
+		 * @throws NoSuchMethodException if the property does not have a getter.
+		 */
+		private Object get(final Object bean) throws IllegalAccessException, InvocationTargetException,
+				NoSuchMethodException {
+			if (getter == null) {
+				return PropertyUtils.getProperty(bean, name);
+			}
+
+			try {
+				return (Object) getter.invokeExact(bean);
+			} catch (Throwable t) {
+				throw new InvocationTargetException(t);
+			}
+		}
+
+		/**
+		 * @param bean the bean to set the property on
+		 * @param value the value to set
+		 * @throws IllegalAccessException if the property setter is not accessible.
+		 * @throws InvocationTargetException if the property setter throws an exception.
+		 * @throws NoSuchMethodException if the property does not have a setter.
+		 */
+		private void set(final Object bean, final Object value) throws IllegalAccessException,
+				InvocationTargetException, NoSuchMethodException {
+			if (setter == null) {
+				PropertyUtils.setProperty(bean, name, value);
+				return;
+			}
+
+			// Report the value's type in the same way as PropertyUtils, rather than a ClassCastException
+			if (value != null && !type.isInstance(value)) {
+				throw new IllegalArgumentException("Cannot invoke " + bean.getClass().getName() + "." + name
+						+ " setter with value of type " + value.getClass().getName());
+			}
+
+			try {
+				setter.invokeExact(bean, value);
+			} catch (Throwable t) {
+				throw new InvocationTargetException(t);
+			}
+		}
+	}
+}
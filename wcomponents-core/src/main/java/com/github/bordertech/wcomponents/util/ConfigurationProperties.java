@@ -82,6 +82,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String HANDLEBARS_CACHE = "bordertech.wcomponents.handlebars.cache.enabled";
 
+	/**
+	 * The maximum number of compiled inline handlebars templates to cache.
+	 */
+	public static final String HANDLEBARS_INLINE_CACHE_SIZE = "bordertech.wcomponents.handlebars.inline.cache.size";
+
 	/**
 	 * The prefix for all HTML Class icon configuration properties.
 	 */
@@ -182,6 +187,16 @@ public final class ConfigurationProperties {
 	 */
 	public static final String MEMUTIL_WARN_THRESHOLD = "bordertech.wcomponents.memutil.threshold.warn";
 
+	/**
+	 * The fraction of requests for which the serialized size of the UIContext is measured.
+	 */
+	public static final String MONITOR_UICONTEXT_SIZE_SAMPLE_RATE = "bordertech.wcomponents.monitor.uicontextSize.sampleRate";
+
+	/**
+	 * The number of component types reported by the UIContext size monitor.
+	 */
+	public static final String MONITOR_UICONTEXT_SIZE_TOP_COMPONENTS = "bordertech.wcomponents.monitor.uicontextSize.topComponents";
+
 	/**
 	 * The flag indicating whether plaintext should cache.
 	 */
@@ -227,6 +242,26 @@ public final class ConfigurationProperties {
 	 */
 	public static final String SERVLET_ENABLE_SUBSESSIONS = "bordertech.wcomponents.servlet.subsessions.enabled";
 
+	/**
+	 * The flag indicating whether read-only requests can be processed concurrently for the same user context.
+	 */
+	public static final String SERVLET_CONCURRENT_READ_ONLY_REQUESTS = "bordertech.wcomponents.servlet.concurrentReadOnlyRequests.enabled";
+
+	/**
+	 * The directory which the memory-mapped file UIContext store writes contexts to.
+	 */
+	public static final String SERVLET_UICONTEXT_STORE_DIR = "bordertech.wcomponents.servlet.uicontextStore.dir";
+
+	/**
+	 * The flag indicating whether the UIContext stores compact a context once no requests are using it.
+	 */
+	public static final String SERVLET_UICONTEXT_STORE_COMPACT = "bordertech.wcomponents.servlet.uicontextStore.compact.enabled";
+
+	/**
+	 * The flag indicating whether the serializing UIContext stores compress a context before storing it.
+	 */
+	public static final String SERVLET_UICONTEXT_STORE_COMPRESS = "bordertech.wcomponents.servlet.uicontextStore.compress.enabled";
+
 	/**
 	 * The URL users are redirected to when a step error occurs.
 	 */
@@ -242,6 +277,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String SUPPORT_SERVLET_PATH = "bordertech.wcomponents.servlet.support.path";
 
+	/**
+	 * The number of rows from which table sorts are performed in parallel.
+	 */
+	public static final String TABLE_SORT_PARALLEL_THRESHOLD = "bordertech.wcomponents.table.sort.parallelThreshold";
+
 	/**
 	 * The default rendering engine for templates. Also used as a prefix for a specific template type.
 	 */
@@ -341,6 +381,16 @@ public final class ConfigurationProperties {
 	 */
 	public static final String XSLT_ALLOW_CORRUPT_CHARACTER = "bordertech.wcomponents.xslt.allow.corrupt.characters";
 
+	/**
+	 * The maximum number of idle XSLT transformers kept for reuse, per XSLT.
+	 */
+	public static final String XSLT_TRANSFORMER_POOL_SIZE = "bordertech.wcomponents.xslt.transformer.pool.size";
+
+	/**
+	 * Whether to compile and warm up the theme XSLT when the servlet is initialised.
+	 */
+	public static final String XSLT_WARM_UP = "bordertech.wcomponents.xslt.warmup.enabled";
+
 	/* ****************************
 	* DEVELOPER PROPERTIES - used for local debugging.
 	* *****************************/
@@ -637,6 +687,15 @@ public final class ConfigurationProperties {
 		return get().getBoolean(HANDLEBARS_CACHE, true);
 	}
 
+	/**
+	 * The maximum number of compiled inline handlebars templates to cache.
+	 *
+	 * @return the parameter value, or 200 if not set.
+	 */
+	public static int getHandlebarsInlineCacheSize() {
+		return get().getInt(HANDLEBARS_INLINE_CACHE_SIZE, 200);
+	}
+
 	/**
 	 * The flag indicating whether to handle an error with a fatal error page factory.
 	 *
@@ -825,6 +884,24 @@ public final class ConfigurationProperties {
 		return get().getInt(MEMUTIL_WARN_THRESHOLD, 1000);
 	}
 
+	/**
+	 * The fraction of requests, between 0 and 1, for which the serialized size of the UIContext is measured.
+	 *
+	 * @return the parameter value, or 0 (disabled) if not set.
+	 */
+	public static double getMonitorUIContextSizeSampleRate() {
+		return get().getDouble(MONITOR_UICONTEXT_SIZE_SAMPLE_RATE, 0.0);
+	}
+
+	/**
+	 * The number of component types, with the largest serialized models, reported by the UIContext size monitor.
+	 *
+	 * @return the parameter value, or 10 if not set.
+	 */
+	public static int getMonitorUIContextSizeTopComponents() {
+		return get().getInt(MONITOR_UICONTEXT_SIZE_TOP_COMPONENTS, 10);
+	}
+
 	/**
 	 * The flag indicating whether plaintext should cache.
 	 *
@@ -895,6 +972,42 @@ public final class ConfigurationProperties {
 		return get().getBoolean(SERVLET_ENABLE_SUBSESSIONS, false);
 	}
 
+	/**
+	 * Whether read-only requests (e.g. data list requests) can be processed concurrently for the same user context.
+	 *
+	 * @return the parameter value, or true if not set.
+	 */
+	public static boolean getServletConcurrentReadOnlyRequests() {
+		return get().getBoolean(SERVLET_CONCURRENT_READ_ONLY_REQUESTS, true);
+	}
+
+	/**
+	 * The directory which the memory-mapped file UIContext store writes contexts to.
+	 *
+	 * @return the parameter value, or null (the system temporary directory) if not set.
+	 */
+	public static String getServletUIContextStoreDir() {
+		return get().getString(SERVLET_UICONTEXT_STORE_DIR);
+	}
+
+	/**
+	 * Whether the UIContext stores remove unnecessary component models from a context once no requests are using it.
+	 *
+	 * @return the parameter value, or true if not set.
+	 */
+	public static boolean getServletUIContextStoreCompact() {
+		return get().getBoolean(SERVLET_UICONTEXT_STORE_COMPACT, true);
+	}
+
+	/**
+	 * Whether the serializing UIContext stores compress a context before storing it.
+	 *
+	 * @return the parameter value, or false if not set.
+	 */
+	public static boolean getServletUIContextStoreCompress() {
+		return get().getBoolean(SERVLET_UICONTEXT_STORE_COMPRESS, false);
+	}
+
 	/**
 	 * The parameter variable that contains the URL path to the support servlet that services targeted requests for a
 	 * Portlet application. This parameter is only applicable to portlet applications
@@ -905,6 +1018,15 @@ public final class ConfigurationProperties {
 		return get().getString(SUPPORT_SERVLET_PATH);
 	}
 
+	/**
+	 * The number of rows from which table sorts are performed in parallel. A value of zero disables parallel sorting.
+	 *
+	 * @return the parameter value, or 0 if not set.
+	 */
+	public static int getTableSortParallelThreshold() {
+		return get().getInt(TABLE_SORT_PARALLEL_THRESHOLD, 0);
+	}
+
 	/**
 	 * The step error URL.
 	 *
@@ -1088,6 +1210,24 @@ public final class ConfigurationProperties {
 		return get().getBoolean(XSLT_ALLOW_CORRUPT_CHARACTER, false);
 	}
 
+	/**
+	 * The maximum number of idle XSLT transformers kept for reuse, per XSLT.
+	 *
+	 * @return the parameter value, or 16 if not set.
+	 */
+	public static int getXsltTransformerPoolSize() {
+		return get().getInt(XSLT_TRANSFORMER_POOL_SIZE, 16);
+	}
+
+	/**
+	 * Whether to compile and warm up the theme XSLT when the servlet is initialised.
+	 *
+	 * @return the parameter value, or true if not set.
+	 */
+	public static boolean getXsltWarmUp() {
+		return get().getBoolean(XSLT_WARM_UP, true);
+	}
+
 	/* ****************************
 	* DEVELOPER PROPERTIES - used for local debugging.
 	* *****************************/
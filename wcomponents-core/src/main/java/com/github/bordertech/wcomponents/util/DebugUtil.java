@@ -14,11 +14,11 @@ public final class DebugUtil {
 	/**
 	 * The flag used to indicate if wComponents is running in debug mode.
 	 */
-	private static boolean debugFeaturesEnabled;
+	private static volatile boolean debugFeaturesEnabled;
 	/**
 	 * The flag used to indicate if Validate XML is enabled.
 	 */
-	private static boolean validateXMLEnabled;
+	private static volatile boolean validateXMLEnabled;
 
 	/**
 	 * When this class is loaded by the application, register a property change listener.
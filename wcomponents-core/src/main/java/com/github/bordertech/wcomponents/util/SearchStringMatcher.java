@@ -0,0 +1,243 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An Aho-Corasick automaton which matches a set of search strings against a stream of characters. Each character is
+ * fed to the automaton once, so the cost of matching is linear in the length of the input regardless of how many search
+ * strings there are.</p>
+ *
+ * <p>
+ * Matchers are immutable and are cached by search string set, as the same set of strings (e.g. the tagged components
+ * of a template) is usually searched for on every request. The cache is discarded if it grows past
+ * {@link #MAX_CACHE_SIZE} entries, so that search strings which vary between requests can not exhaust memory.</p>
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ * @see AbstractSearchReplaceWriter
+ */
+final class SearchStringMatcher {
+
+	/**
+	 * The maximum number of matchers to cache.
+	 */
+	private static final int MAX_CACHE_SIZE = 500;
+
+	/**
+	 * The cached matchers, keyed by search strings.
+	 */
+	private static final Map<List<String>, SearchStringMatcher> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The initial state of the automaton.
+	 */
+	static final int ROOT = 0;
+
+	/**
+	 * The characters of the transitions out of each state, sorted in ascending order.
+	 */
+	private final char[][] edgeChars;
+
+	/**
+	 * The states the transitions out of each state lead to, in the same order as {@link #edgeChars}.
+	 */
+	private final int[][] edgeTargets;
+
+	/**
+	 * The failure transition for each state.
+	 */
+	private final int[] fail;
+
+	/**
+	 * The length of the input matched by each state.
+	 */
+	private final int[] depth;
+
+	/**
+	 * The longest search string which ends at each state, or null if no search string ends at the state.
+	 */
+	private final String[] match;
+
+	/**
+	 * Creates a SearchStringMatcher.
+	 *
+	 * @param search the search strings.
+	 */
+	private SearchStringMatcher(final String[] search) {
+		// Build the trie
+		List<StringBuilder> chars = new ArrayList<>();
+		List<List<Integer>> targets = new ArrayList<>();
+		List<Integer> depths = new ArrayList<>();
+		List<String> matches = new ArrayList<>();
+
+		chars.add(new StringBuilder());
+		targets.add(new ArrayList<Integer>());
+		depths.add(0);
+		matches.add(null);
+
+		for (String key : search) {
+			int state = ROOT;
+
+			for (int i = 0; i < key.length(); i++) {
+				int edge = chars.get(state).indexOf(String.valueOf(key.charAt(i)));
+
+				if (edge == -1) {
+					int next = chars.size();
+					chars.add(new StringBuilder());
+					targets.add(new ArrayList<Integer>());
+					depths.add(i + 1);
+					matches.add(null);
+
+					chars.get(state).append(key.charAt(i));
+					targets.get(state).add(next);
+					state = next;
+				} else {
+					state = targets.get(state).get(edge);
+				}
+			}
+
+			matches.set(state, key);
+		}
+
+		int count = chars.size();
+		edgeChars = new char[count][];
+		edgeTargets = new int[count][];
+		fail = new int[count];
+		depth = new int[count];
+		match = matches.toArray(new String[count]);
+
+		for (int state = 0; state < count; state++) {
+			edgeChars[state] = chars.get(state).toString().toCharArray();
+			edgeTargets[state] = new int[edgeChars[state].length];
+			depth[state] = depths.get(state);
+
+			for (int i = 0; i < edgeTargets[state].length; i++) {
+				edgeTargets[state][i] = targets.get(state).get(i);
+			}
+
+			sortEdges(edgeChars[state], edgeTargets[state]);
+		}
+
+		// Compute the failure transitions breadth first, so that shallower states are done first
+		Deque<Integer> queue = new ArrayDeque<>();
+
+		for (int target : edgeTargets[ROOT]) {
+			fail[target] = ROOT;
+			queue.add(target);
+		}
+
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+
+			for (int i = 0; i < edgeChars[state].length; i++) {
+				int target = edgeTargets[state][i];
+				fail[target] = nextState(fail[state], edgeChars[state][i]);
+
+				// Inherit the longest search string which is a suffix of this state
+				if (match[target] == null) {
+					match[target] = match[fail[target]];
+				}
+
+				queue.add(target);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the matcher for the given search strings.
+	 *
+	 * @param search the search strings, sorted in ascending order.
+	 * @return the matcher for the search strings.
+	 */
+	static SearchStringMatcher getInstance(final String[] search) {
+		List<String> key = Arrays.asList(search);
+		SearchStringMatcher matcher = CACHE.get(key);
+
+		if (matcher == null) {
+			matcher = new SearchStringMatcher(search);
+
+			if (CACHE.size() >= MAX_CACHE_SIZE) {
+				CACHE.clear();
+			}
+
+			CACHE.put(key, matcher);
+		}
+
+		return matcher;
+	}
+
+	/**
+	 * Moves the automaton to the next state.
+	 *
+	 * @param state the current state.
+	 * @param chr the next input character.
+	 * @return the next state.
+	 */
+	int nextState(final int state, final char chr) {
+		int current = state;
+
+		while (true) {
+			int edge = Arrays.binarySearch(edgeChars[current], chr);
+
+			if (edge >= 0) {
+				return edgeTargets[current][edge];
+			} else if (current == ROOT) {
+				return ROOT;
+			}
+
+			current = fail[current];
+		}
+	}
+
+	/**
+	 * Retrieves the number of input characters matched by a state. A search string may still start this many
+	 * characters back from the current input position.
+	 *
+	 * @param state the state.
+	 * @return the length of the input matched by the state.
+	 */
+	int getDepth(final int state) {
+		return depth[state];
+	}
+
+	/**
+	 * Retrieves the longest search string which ends at the given state.
+	 *
+	 * @param state the state.
+	 * @return the longest search string ending at the state, or null if there is none.
+	 */
+	String getMatch(final int state) {
+		return match[state];
+	}
+
+	/**
+	 * Sorts the transitions of a state by character.
+	 *
+	 * @param chars the transition characters.
+	 * @param targets the transition targets.
+	 */
+	private static void sortEdges(final char[] chars, final int[] targets) {
+		// Insertion sort - states only have a handful of transitions
+		for (int i = 1; i < chars.length; i++) {
+			char chr = chars[i];
+			int target = targets[i];
+			int j = i - 1;
+
+			while (j >= 0 && chars[j] > chr) {
+				chars[j + 1] = chars[j];
+				targets[j + 1] = targets[j];
+				j--;
+			}
+
+			chars[j + 1] = chr;
+			targets[j + 1] = target;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents.util;
 
+import com.github.bordertech.wcomponents.RowPath;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WComponent;
@@ -8,8 +9,11 @@ import com.github.bordertech.wcomponents.WTable;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
 import com.github.bordertech.wcomponents.WebUtilities;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -26,6 +30,11 @@ public final class TableUtil {
 	 */
 	private static final Log LOG = LogFactory.getLog(TableUtil.class);
 
+	/**
+	 * Ranges of row indices smaller than this are sorted with an insertion sort rather than a merge sort.
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 8;
+
 	/**
 	 * Row index delimiter.
 	 */
@@ -48,15 +57,20 @@ public final class TableUtil {
 			return null;
 		}
 
-		StringBuffer index = new StringBuffer();
-		boolean addDelimiter = false;
+		StringBuilder index = new StringBuilder();
+		// Read row paths without boxing the indexes
+		RowPath path = row instanceof RowPath ? (RowPath) row : null;
 
-		for (Integer lvl : row) {
-			if (addDelimiter) {
+		for (int i = 0; i < row.size(); i++) {
+			if (i > 0) {
 				index.append(INDEX_DELIMITER);
 			}
-			index.append(lvl);
-			addDelimiter = true;
+
+			if (path == null) {
+				index.append(row.get(i));
+			} else {
+				index.append(path.getIndex(i));
+			}
 		}
 
 		return index.toString();
@@ -127,7 +141,59 @@ public final class TableUtil {
 	}
 
 	/**
-	 * Sorts the data using the given comparator, using a quick-sort.
+	 * Sorts the row indices for a column. The column data should be read once for each row, so that the comparator
+	 * does not need to read the data for each comparison.
+	 * <p>
+	 * The sort is stable, so rows with equal values keep their relative order for both ascending and descending sorts.
+	 * If {@link ConfigurationProperties#getTableSortParallelThreshold()} is set, sorts of at least that many rows are
+	 * performed in parallel.
+	 * </p>
+	 *
+	 * @param data the data for the column, indexed by row.
+	 * @param comparator the comparator to use for sorting.
+	 * @param ascending true for an ascending sort, false for descending.
+	 * @return the row indices in sort order.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static int[] sortIndices(final Object[] data, final Comparator<Object> comparator,
+			final boolean ascending) {
+		return sortIndices(new Object[][]{data}, new Comparator[]{comparator}, new boolean[]{ascending});
+	}
+
+	/**
+	 * Sorts the row indices by several columns. Rows are ordered by the first column, then rows with equal values in
+	 * the first column are ordered by the second column, and so on.
+	 * <p>
+	 * The sort is stable, and if {@link ConfigurationProperties#getTableSortParallelThreshold()} is set, sorts of at
+	 * least that many rows are performed in parallel.
+	 * </p>
+	 *
+	 * @param data the data for each column, indexed by row.
+	 * @param comparators the comparator to use for each column.
+	 * @param ascending for each column, true for an ascending sort, false for descending.
+	 * @return the row indices in sort order.
+	 */
+	public static int[] sortIndices(final Object[][] data, final Comparator<Object>[] comparators,
+			final boolean[] ascending) {
+		if (comparators.length != data.length || ascending.length != data.length) {
+			throw new IllegalArgumentException("A comparator and direction must be given for each column");
+		}
+
+		int rowCount = data.length == 0 ? 0 : data[0].length;
+		int[] sortIndices = new int[rowCount];
+
+		for (int i = 0; i < rowCount; i++) {
+			sortIndices[i] = i;
+		}
+
+		sortOrder(sortIndices, 0, rowCount, new RowComparator(data, comparators, ascending));
+
+		return sortIndices;
+	}
+
+	/**
+	 * Sorts the data using the given comparator. The sort is stable, so rows with equal values keep their relative
+	 * order.
 	 *
 	 * @param data the data for the column.
 	 * @param comparator the comparator to use for sorting.
@@ -136,6 +202,7 @@ public final class TableUtil {
 	 * @param highIndex the end index for sub-sorting
 	 * @param sortIndices the row indices, which will be updated as a result of the sort
 	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
 	public static void sortData(final Object[] data, final Comparator<Object> comparator,
 			final boolean ascending,
 			final int lowIndex, final int highIndex, final int[] sortIndices) {
@@ -143,38 +210,230 @@ public final class TableUtil {
 			return; // 1 element, so sorted already!
 		}
 
-		Object midValue = data[sortIndices[(lowIndex + highIndex) >>> 1]];
+		sortOrder(sortIndices, lowIndex, highIndex + 1, new RowComparator(new Object[][]{data},
+				new Comparator[]{comparator}, new boolean[]{ascending}));
+	}
 
-		int i = lowIndex - 1;
-		int j = highIndex + 1;
-		int sign = ascending ? 1 : -1;
+	/**
+	 * Sorts a range of row indices with a stable merge sort, in parallel if there are enough rows. The indices are
+	 * sorted as primitives, rather than boxing each index to use a {@link Comparator}.
+	 *
+	 * @param order the row indices to sort.
+	 * @param low the start of the range to sort, inclusive.
+	 * @param high the end of the range to sort, exclusive.
+	 * @param comparator the comparator for the row indices.
+	 */
+	private static void sortOrder(final int[] order, final int low, final int high,
+			final RowComparator comparator) {
+		int threshold = ConfigurationProperties.getTableSortParallelThreshold();
+		int[] buffer = Arrays.copyOf(order, high);
 
-		for (;;) {
-			do {
-				i++;
-			} while (comparator.compare(data[sortIndices[i]], midValue) * sign < 0);
+		if (threshold > 0 && high - low >= threshold) {
+			ForkJoinPool.commonPool().invoke(new MergeSortTask(buffer, order, low, high, comparator, threshold));
+		} else {
+			mergeSort(buffer, order, low, high, comparator);
+		}
+	}
 
-			do {
-				j--;
-			} while (comparator.compare(data[sortIndices[j]], midValue) * sign > 0);
+	/**
+	 * Sorts a range of row indices from the source array into the destination array. Both arrays must hold the same
+	 * indices in the range, and the source array is overwritten. The halves of the range are sorted into the source
+	 * array, and then merged into the destination array.
+	 *
+	 * @param src the source array.
+	 * @param dest the destination array.
+	 * @param low the start of the range to sort, inclusive.
+	 * @param high the end of the range to sort, exclusive.
+	 * @param comparator the comparator for the row indices.
+	 */
+	private static void mergeSort(final int[] src, final int[] dest, final int low, final int high,
+			final RowComparator comparator) {
+		if (high - low < INSERTION_SORT_THRESHOLD) {
+			insertionSort(dest, low, high, comparator);
+			return;
+		}
 
-			if (i >= j) {
-				break; // crossover, good!
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, comparator);
+		mergeSort(dest, src, mid, high, comparator);
+		merge(src, dest, low, mid, high, comparator);
+	}
+
+	/**
+	 * Sorts a small range of row indices in place.
+	 *
+	 * @param order the row indices to sort.
+	 * @param low the start of the range to sort, inclusive.
+	 * @param high the end of the range to sort, exclusive.
+	 * @param comparator the comparator for the row indices.
+	 */
+	private static void insertionSort(final int[] order, final int low, final int high,
+			final RowComparator comparator) {
+		for (int i = low + 1; i < high; i++) {
+			int row = order[i];
+			int j = i;
+
+			while (j > low && comparator.compare(order[j - 1], row) > 0) {
+				order[j] = order[j - 1];
+				j--;
 			}
 
-			// Out of order - swap!
-			int temp = sortIndices[i];
-			sortIndices[i] = sortIndices[j];
-			sortIndices[j] = temp;
+			order[j] = row;
+		}
+	}
+
+	/**
+	 * Merges two sorted ranges of row indices from the source array into the destination array. Rows in the first
+	 * range are placed before equal rows in the second range, so that the sort is stable.
+	 *
+	 * @param src the source array.
+	 * @param dest the destination array.
+	 * @param low the start of the first range, inclusive.
+	 * @param mid the end of the first range and the start of the second range.
+	 * @param high the end of the second range, exclusive.
+	 * @param comparator the comparator for the row indices.
+	 */
+	private static void merge(final int[] src, final int[] dest, final int low, final int mid, final int high,
+			final RowComparator comparator) {
+		if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+			// Already in order
+			System.arraycopy(src, low, dest, low, high - low);
+			return;
 		}
 
-		// now determine the split point...
-		if (i > j) {
-			i = j;
+		int left = low;
+		int right = mid;
+
+		for (int i = low; i < high; i++) {
+			if (right >= high || left < mid && comparator.compare(src[left], src[right]) <= 0) {
+				dest[i] = src[left++];
+			} else {
+				dest[i] = src[right++];
+			}
+		}
+	}
+
+	/**
+	 * Sorts a range of row indices in parallel, by sorting each half in a separate task until the ranges are smaller
+	 * than the parallel sort threshold.
+	 */
+	private static final class MergeSortTask extends RecursiveAction {
+
+		/**
+		 * The source array.
+		 */
+		private final int[] src;
+
+		/**
+		 * The destination array.
+		 */
+		private final int[] dest;
+
+		/**
+		 * The start of the range to sort, inclusive.
+		 */
+		private final int low;
+
+		/**
+		 * The end of the range to sort, exclusive.
+		 */
+		private final int high;
+
+		/**
+		 * The comparator for the row indices.
+		 */
+		private final RowComparator comparator;
+
+		/**
+		 * The size of range below which the range is sorted in the current task.
+		 */
+		private final int threshold;
+
+		/**
+		 * @param src the source array.
+		 * @param dest the destination array.
+		 * @param low the start of the range to sort, inclusive.
+		 * @param high the end of the range to sort, exclusive.
+		 * @param comparator the comparator for the row indices.
+		 * @param threshold the size of range below which the range is sorted in the current task.
+		 */
+		private MergeSortTask(final int[] src, final int[] dest, final int low, final int high,
+				final RowComparator comparator, final int threshold) {
+			this.src = src;
+			this.dest = dest;
+			this.low = low;
+			this.high = high;
+			this.comparator = comparator;
+			this.threshold = threshold;
 		}
 
-		sortData(data, comparator, ascending, lowIndex, i, sortIndices);
-		sortData(data, comparator, ascending, i + 1, highIndex, sortIndices);
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			if (high - low < Math.max(threshold, INSERTION_SORT_THRESHOLD)) {
+				mergeSort(src, dest, low, high, comparator);
+				return;
+			}
+
+			int mid = (low + high) >>> 1;
+			invokeAll(new MergeSortTask(dest, src, low, mid, comparator, threshold),
+					new MergeSortTask(dest, src, mid, high, comparator, threshold));
+			merge(src, dest, low, mid, high, comparator);
+		}
 	}
 
+	/**
+	 * Compares row indices using the data for each row.
+	 */
+	private static final class RowComparator {
+
+		/**
+		 * The data for each column, indexed by row.
+		 */
+		private final Object[][] data;
+
+		/**
+		 * The comparator to use for each column.
+		 */
+		private final Comparator<Object>[] comparators;
+
+		/**
+		 * The sort direction for each column.
+		 */
+		private final boolean[] ascending;
+
+		/**
+		 * @param data the data for each column, indexed by row.
+		 * @param comparators the comparator to use for each column.
+		 * @param ascending the sort direction for each column.
+		 */
+		private RowComparator(final Object[][] data, final Comparator<Object>[] comparators,
+				final boolean[] ascending) {
+			this.data = data;
+			this.comparators = comparators;
+			this.ascending = ascending;
+		}
+
+		/**
+		 * Compares two rows.
+		 *
+		 * @param row1 the index of the first row.
+		 * @param row2 the index of the second row.
+		 * @return a negative number, zero or a positive number as the first row sorts before, with or after the
+		 * second row.
+		 */
+		private int compare(final int row1, final int row2) {
+			for (int col = 0; col < data.length; col++) {
+				int diff = comparators[col].compare(data[col][row1], data[col][row2]);
+
+				if (diff != 0) {
+					return ascending[col] ? diff : Integer.compare(0, diff);
+				}
+			}
+
+			return 0;
+		}
+	}
 }
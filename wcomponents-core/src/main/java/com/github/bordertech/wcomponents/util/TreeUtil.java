@@ -344,8 +344,10 @@ public final class TreeUtil {
 				if (node instanceof WRepeater) {
 					// Get parent repeater
 					WRepeater repeater = (WRepeater) node;
-					// Get row contexts
-					List<UIContext> rowContextList = repeater.getRowContexts();
+					// Get row contexts, only including the rows which can contain the component being searched for
+					List<UIContext> rowContextList = visitor instanceof FindComponentByIdVisitor
+							? repeater.getRowContextsForId(((FindComponentByIdVisitor) visitor).getFindId())
+							: repeater.getRowContexts();
 					WRepeatRoot repeatRoot = (WRepeatRoot) repeater.getRepeatedComponent().getParent();
 
 					for (UIContext rowContext : rowContextList) {
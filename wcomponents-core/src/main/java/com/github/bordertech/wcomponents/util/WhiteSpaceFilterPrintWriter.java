@@ -16,6 +16,11 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	private final WhiteSpaceFilterStateMachine stateMachine;
 
+	/**
+	 * Buffer used to filter Strings in chunks.
+	 */
+	private final char[] buffer = new char[1024];
+
 	/**
 	 * Creates a new WhiteSpaceFilterOutputStream.
 	 *
@@ -47,7 +52,8 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	}
 
 	/**
-	 * Writes the given character data to the underlying output stream, filtering as necessary.
+	 * Writes the given character data to the underlying output stream, filtering as necessary. Runs of characters which
+	 * pass through the filter unchanged are written to the underlying output stream in a single call.
 	 *
 	 * @param buf the character data to write.
 	 * @param off the data offset to start writing data from.
@@ -55,8 +61,33 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final char[] buf, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(buf[i]);
+		int end = off + len;
+		// Start of the current run of characters which have not been written yet
+		int runStart = off;
+		int i = stateMachine.skipUnchanged(buf, off, end);
+
+		while (i < end) {
+			WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState(buf[i]);
+
+			if (change.getOutputBytes() != null || change.isSuppressCurrentChar()) {
+				if (i > runStart) {
+					super.write(buf, runStart, i - runStart);
+				}
+
+				if (change.getOutputBytes() != null) {
+					for (int j = 0; j < change.getOutputBytes().length; j++) {
+						super.write(change.getOutputBytes()[j]);
+					}
+				}
+
+				runStart = change.isSuppressCurrentChar() ? i + 1 : i;
+			}
+
+			i = stateMachine.skipUnchanged(buf, i + 1, end);
+		}
+
+		if (end > runStart) {
+			super.write(buf, runStart, end - runStart);
 		}
 	}
 
@@ -69,8 +100,10 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final String string, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(string.charAt(i));
+		for (int pos = off; pos < off + len; pos += buffer.length) {
+			int count = Math.min(buffer.length, off + len - pos);
+			string.getChars(pos, pos + count, buffer, 0);
+			write(buffer, 0, count);
 		}
 	}
 }
@@ -651,6 +651,31 @@ public class WhiteSpaceFilterStateMachine {
 		return change;
 	}
 
+	/**
+	 * Skips over the input characters which would leave the machine in its current state without altering the output.
+	 * This is the case for most characters in text or inside tags, so the caller can copy these characters in bulk
+	 * rather than calling {@link #nextState(char)} for each one.
+	 *
+	 * @param buf the input characters.
+	 * @param off the offset to start from.
+	 * @param end the offset to stop at (exclusive).
+	 * @return the offset of the first character which must be passed to {@link #nextState(char)}, or end if there are
+	 * none.
+	 */
+	public int skipUnchanged(final char[] buf, final int off, final int end) {
+		if (!currentState.isUnchangedByDefault()) {
+			return off;
+		}
+
+		for (int i = off; i < end; i++) {
+			if (currentState.hasChange(buf[i])) {
+				return i;
+			}
+		}
+
+		return end;
+	}
+
 	/**
 	 * Represents a state in the state-machine.
 	 */
@@ -723,6 +748,32 @@ public class WhiteSpaceFilterStateMachine {
 
 			return defaultStateChange;
 		}
+
+		/**
+		 * Indicates whether the given character has a specific transition from this state.
+		 *
+		 * @param c the input character.
+		 * @return true if there is a transition for the character, false if the default transition applies.
+		 */
+		public boolean hasChange(final char c) {
+			for (int i = 0; i < inputChars.length; i++) {
+				if (c == inputChars[i]) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Indicates whether the default transition stays in this state without suppressing or adding any output.
+		 *
+		 * @return true if the default transition leaves the state and output unchanged.
+		 */
+		public boolean isUnchangedByDefault() {
+			return defaultStateChange.getNewState() == this && !defaultStateChange.isSuppressCurrentChar()
+					&& defaultStateChange.getOutputBytes() == null;
+		}
 	}
 
 	/**
@@ -12,10 +12,12 @@ import org.junit.Test;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.io.StringWriter;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test of basic WComponent features.
@@ -1024,6 +1026,112 @@ public class AbstractWComponent_Test extends AbstractWComponentTestCase {
 				grandchild.getId());
 	}
 
+	@Test
+	public void testGetIdCached() {
+		WContainer root = new WContainer();
+		WContainer child = new WContainer();
+		root.add(child);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+
+		String id = child.getId();
+		Assert.assertEquals("Id should be cached", id, UIContextImpl.getIdCache(uic, child).get(child));
+
+		uic.clearScratchMap(child);
+		Assert.assertNull("Cached id should be cleared with the scratch map", UIContextImpl.getIdCache(uic, child).
+				get(child));
+
+		child.getId();
+		uic.clearScratchMap();
+		Assert.assertNull("Cached ids should be cleared with the scratch maps", UIContextImpl.getIdCache(uic, child).
+				get(child));
+	}
+
+	@Test
+	public void testGetIdCachedOnPaint() {
+		WNamingContext root = new WNamingContext("TEST");
+		WContainer child = new WContainer();
+		WContainer grandchild = new WContainer();
+		WNamingContext nested = new WNamingContext("NESTED");
+		WContainer nestedChild = new WContainer();
+		WTextField field = new WTextField();
+
+		root.add(new WContainer());
+		root.add(child);
+		child.add(grandchild);
+		child.add(nested);
+		nested.add(nestedChild);
+		nestedChild.add(field);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+		ComponentSlotMap<String> idCache = UIContextImpl.getIdCache(uic, root);
+
+		PrintWriter writer = new XmlStringBuilder(new StringWriter());
+		root.preparePaint(new MockRequest());
+		root.paint(new WebXmlRenderContext(writer));
+
+		resetContext();
+
+		Assert.assertEquals("Incorrect cached id for child", child.getId(), idCache.get(child));
+		Assert.assertEquals("Incorrect cached id for grand child", grandchild.getId(), idCache.get(grandchild));
+		Assert.assertEquals("Incorrect cached id for nested context", nested.getId(), idCache.get(nested));
+		Assert.assertEquals("Incorrect cached id in nested context", nestedChild.getId(), idCache.get(nestedChild));
+		Assert.assertEquals("Incorrect cached id for field", field.getId(), idCache.get(field));
+	}
+
+	@Test
+	public void testSharedSlot() throws Exception {
+		WContainer component1 = new WContainer();
+		WContainer component2 = new WContainer();
+		component1.setLocked(true);
+		component2.setLocked(true);
+
+		// Simulate the slot counter having been reused
+		Field slot = AbstractWComponent.class.getDeclaredField("slot");
+		slot.setAccessible(true);
+		slot.setInt(component2, component1.getSlot());
+
+		ComponentSlotMap<String> map = new ComponentSlotMap<>();
+		map.put(component1, "value1");
+		Assert.assertNull("Should not return another component's value", map.get(component2));
+		Assert.assertNull("Should not remove another component's value", map.remove(component2));
+
+		map.put(component2, "value2");
+		Assert.assertEquals("Incorrect value for first component", "value1", map.get(component1));
+		Assert.assertEquals("Incorrect value for second component", "value2", map.get(component2));
+		Assert.assertEquals("Incorrect size", 2, map.size());
+
+		Assert.assertEquals("Incorrect value removed for second component", "value2", map.remove(component2));
+		Assert.assertEquals("First component's value should remain", "value1", map.get(component1));
+		Assert.assertEquals("Incorrect value removed for first component", "value1", map.remove(component1));
+		Assert.assertTrue("Map should be empty", map.isEmpty());
+	}
+
+	@Test
+	public void testSlotsRunOut() throws Exception {
+		Field field = AbstractWComponent.class.getDeclaredField("NEXT_SLOT");
+		field.setAccessible(true);
+		AtomicInteger nextSlot = (AtomicInteger) field.get(null);
+		int next = nextSlot.getAndSet(Integer.MAX_VALUE);
+
+		try {
+			WContainer last = new WContainer();
+			WContainer after = new WContainer();
+			WContainer later = new WContainer();
+			last.setLocked(true);
+			after.setLocked(true);
+			later.setLocked(true);
+
+			Assert.assertEquals("Should have been given the last slot", Integer.MAX_VALUE, last.getSlot());
+			Assert.assertTrue("Should not have a slot once they have run out", after.getSlot() < 1);
+			Assert.assertTrue("Slots should not be reused", later.getSlot() < 1);
+		} finally {
+			nextSlot.set(next);
+		}
+	}
+
 	@Test(expected = SystemException.class)
 	public void testDuplicateId() {
 		WNamingContext root = new WNamingContext("TEST");
@@ -0,0 +1,241 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * ComponentIdIndex_Test - unit tests for {@link ComponentIdIndex}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class ComponentIdIndex_Test extends AbstractWComponentTestCase {
+
+	@Test
+	public void testGetVisibleComponentById() {
+		WContainer root = new WContainer();
+		WText text = new WText();
+		root.add(text);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+
+		ComponentWithContext result = ComponentIdIndex.getVisibleComponentById(text.getId());
+		Assert.assertSame("Incorrect component", text, result.getComponent());
+		Assert.assertSame("Incorrect context", UIContextHolder.getCurrent(), result.getContext());
+
+		Assert.assertNull("Should not find unknown id", ComponentIdIndex.getVisibleComponentById("unknown"));
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdVisibilityChanged() {
+		WContainer root = new WContainer();
+		WPanel panel = new WPanel();
+		WText text = new WText();
+		root.add(panel);
+		panel.add(text);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+		String id = text.getId();
+
+		Assert.assertNotNull("Should find visible component", ComponentIdIndex.getVisibleComponentById(id));
+
+		panel.setVisible(false);
+		Assert.assertNull("Should not find component with invisible parent", ComponentIdIndex.
+				getVisibleComponentById(id));
+
+		panel.setVisible(true);
+		Assert.assertSame("Should find component once visible again", text, ComponentIdIndex.
+				getVisibleComponentById(id).getComponent());
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdMissNotRebuilt() {
+		WContainer root = new WContainer();
+		WPanel panel = new WPanel();
+		WText text = new WText();
+		WText hiddenText = new WText();
+		root.add(text);
+		root.add(panel);
+		panel.add(hiddenText);
+		root.setLocked(true);
+
+		UIContext uic = createUIContext(root);
+		setActiveContext(uic);
+		panel.setVisible(false);
+
+		Assert.assertNotNull("Should find visible component", ComponentIdIndex.getVisibleComponentById(text.getId()));
+		Object index = uic.getRequestScratchMap(root).get(ComponentIdIndex.SCRATCHMAP_KEY);
+
+		Assert.assertNull("Should not find invisible component", ComponentIdIndex.getVisibleComponentById(hiddenText.
+				getId()));
+		Assert.assertNull("Should not find unknown id", ComponentIdIndex.getVisibleComponentById("unknown"));
+		Assert.assertSame("Index should not be rebuilt for a miss", index, uic.getRequestScratchMap(root).get(
+				ComponentIdIndex.SCRATCHMAP_KEY));
+
+		panel.setVisible(true);
+		Assert.assertSame("Should find component once visible", hiddenText, ComponentIdIndex.
+				getVisibleComponentById(hiddenText.getId()).getComponent());
+		Assert.assertNotSame("Index should be rebuilt after the tree changed", index, uic.getRequestScratchMap(root).
+				get(ComponentIdIndex.SCRATCHMAP_KEY));
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdTreeChanged() {
+		WContainer root = new WContainer();
+		WText text = new WText();
+		root.add(text);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+		String id = text.getId();
+
+		Assert.assertNotNull("Should find component", ComponentIdIndex.getVisibleComponentById(id));
+
+		// Added after the index was built
+		WText added = new WText();
+		added.setIdName("added");
+		root.add(added);
+		Assert.assertSame("Should find added component", added, ComponentIdIndex.getVisibleComponentById(added.
+				getId()).getComponent());
+
+		// Removed after the index was built
+		root.remove(text);
+		Assert.assertNull("Should not find removed component", ComponentIdIndex.getVisibleComponentById(id));
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdCardManager() {
+		WContainer root = new WContainer();
+		WCardManager cardManager = new WCardManager();
+		WText card1 = new WText();
+		WText card2 = new WText();
+		root.add(cardManager);
+		cardManager.add(card1);
+		cardManager.add(card2);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+		cardManager.makeVisible(card1);
+
+		Assert.assertNotNull("Should find visible card", ComponentIdIndex.getVisibleComponentById(card1.getId()));
+		Assert.assertNull("Should not find invisible card", ComponentIdIndex.getVisibleComponentById(card2.getId()));
+
+		cardManager.makeVisible(card2);
+		Assert.assertNull("Should not find card which is no longer visible", ComponentIdIndex.
+				getVisibleComponentById(card1.getId()));
+		Assert.assertNotNull("Should find newly visible card", ComponentIdIndex.getVisibleComponentById(card2.
+				getId()));
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdWithRepeater() {
+		WContainer root = new WContainer();
+		WRepeater repeater = new WRepeater();
+		WText repeated = new WText();
+		repeater.setRepeatedComponent(repeated);
+		root.add(repeater);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+		List<String> data = new ArrayList<>(Arrays.asList("a", "b", "c"));
+		repeater.setData(data);
+
+		UIContext rowContext = repeater.getRowContexts().get(1);
+		String id = getComponentId(repeated, rowContext);
+
+		ComponentWithContext result = ComponentIdIndex.getVisibleComponentById(id);
+		Assert.assertSame("Incorrect component for repeated row", repeated, result.getComponent());
+		Assert.assertSame("Incorrect context for repeated row", rowContext, result.getContext());
+
+		// Remove the row after the index was built
+		repeater.setData(new ArrayList<>(Arrays.asList("a", "c")));
+		Assert.assertNull("Should not find component for removed row", ComponentIdIndex.
+				getVisibleComponentById(id));
+	}
+
+	@Test
+	public void testGetVisibleComponentByIdPruned() {
+		WContainer root = new WContainer();
+		WNamingContext context1 = new WNamingContext("one");
+		WNamingContext context2 = new WNamingContext("two");
+		VisitedText text1 = new VisitedText();
+		VisitedText text2 = new VisitedText();
+		WRepeater repeater = new WRepeater();
+		VisitedText repeated = new VisitedText();
+		root.add(context1);
+		root.add(context2);
+		context1.add(text1);
+		context2.add(text2);
+		repeater.setRepeatedComponent(repeated);
+		context1.add(repeater);
+		root.setLocked(true);
+
+		setActiveContext(createUIContext(root));
+		repeater.setData(new ArrayList<>(Arrays.asList("a", "b", "c")));
+		UIContext rowContext = repeater.getRowContexts().get(1);
+		String id = getComponentId(repeated, rowContext);
+
+		Assert.assertSame("Incorrect component found", text1, ComponentIdIndex.getVisibleComponentById(text1.getId()).
+				getComponent());
+		Assert.assertTrue("Other naming contexts should not be indexed", text2.contexts.isEmpty());
+		Assert.assertTrue("Repeater rows should not be indexed", repeated.contexts.isEmpty());
+
+		Assert.assertSame("Incorrect row context found", rowContext, ComponentIdIndex.getVisibleComponentById(id).
+				getContext());
+		Assert.assertTrue("Other naming contexts should not be indexed", text2.contexts.isEmpty());
+		Assert.assertEquals("Only the matching row should be indexed", 1, new HashSet<>(repeated.contexts).size());
+		Assert.assertSame("Only the matching row should be indexed", rowContext, repeated.contexts.get(0));
+	}
+
+	/**
+	 * Creates a context for the given UI.
+	 *
+	 * @param root the root component.
+	 * @return a new context.
+	 */
+	private UIContext createUIContext(final WComponent root) {
+		UIContext uic = createUIContext();
+		uic.setUI(root);
+		return uic;
+	}
+
+	/**
+	 * Retrieves the id of a component in the given context.
+	 *
+	 * @param component the component.
+	 * @param uic the context.
+	 * @return the component id.
+	 */
+	private static String getComponentId(final WComponent component, final UIContext uic) {
+		UIContextHolder.pushContext(uic);
+
+		try {
+			return component.getId();
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * A text component which records the contexts it is checked for visibility in.
+	 */
+	private static final class VisitedText extends WText {
+
+		/**
+		 * The contexts the component has been checked for visibility in.
+		 */
+		private final List<UIContext> contexts = new ArrayList<>();
+
+		@Override
+		public boolean isVisible() {
+			contexts.add(UIContextHolder.getCurrent());
+			return super.isVisible();
+		}
+	}
+}
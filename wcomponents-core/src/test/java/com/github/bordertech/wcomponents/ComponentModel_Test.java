@@ -1,12 +1,18 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WPanel.PanelModel;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Stack;
 import org.junit.Assert;
 import org.junit.Test;
@@ -83,4 +89,121 @@ public class ComponentModel_Test extends AbstractWComponentTestCase {
 			Assert.fail(e.getMessage());
 		}
 	}
+
+	/**
+	 * Test that overridden values of all kinds survive externalization, and that values which are not overridden are
+	 * restored from the shared model.
+	 */
+	@Test
+	public void testExternalizeOverrides() {
+		TestModel shared = new TestModel();
+		shared.text = "shared";
+		shared.number = 1;
+		shared.type = WPanel.Type.BOX;
+		shared.unchanged = "same";
+
+		TestModel model = new TestModel();
+		model.setSharedModel(shared);
+		model.setFlags(0);
+		model.text = null;
+		model.bool = Boolean.TRUE;
+		model.number = 2;
+		model.type = WPanel.Type.FEATURE;
+		model.count = 5L;
+		model.list = new ArrayList<>(Arrays.asList("a", "b"));
+
+		TestModel copy = (TestModel) SerializationUtil.pipe(model);
+		copy.setSharedModel(shared);
+
+		Assert.assertEquals("Incorrect flags", 0, copy.getFlags());
+		Assert.assertNull("Null override should be restored", copy.text);
+		Assert.assertEquals("Incorrect Boolean", Boolean.TRUE, copy.bool);
+		Assert.assertEquals("Incorrect Integer", Integer.valueOf(2), copy.number);
+		Assert.assertEquals("Incorrect enum", WPanel.Type.FEATURE, copy.type);
+		Assert.assertEquals("Incorrect long", 5L, copy.count);
+		Assert.assertEquals("Incorrect list", Arrays.asList("a", "b"), copy.list);
+		Assert.assertEquals("Value not overridden should be set from shared model", "same", copy.unchanged);
+	}
+
+	/**
+	 * Test that enum constants are read by name, so that they are restored correctly if the enum changes.
+	 *
+	 * @throws Exception an exception
+	 */
+	@Test
+	public void testExternalizeEnumByName() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			ComponentModelCodec.writeValue(out, WPanel.Type.class, WPanel.Type.FEATURE);
+			ComponentModelCodec.writeValue(out, WPanel.Type.class, WPanel.Type.BOX);
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Assert.assertEquals("Reordered enum constant should be read by name", ReorderedType.FEATURE,
+					ComponentModelCodec.readValue(in, ReorderedType.class));
+
+			try {
+				ComponentModelCodec.readValue(in, ReorderedType.class);
+				Assert.fail("Removed enum constant should not be read");
+			} catch (InvalidObjectException expected) {
+				Assert.assertNotNull("Expected exception for removed enum constant", expected.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Stands in for a later version of {@link WPanel.Type} whose constants have been changed.
+	 */
+	private enum ReorderedType {
+		/**
+		 * A new constant.
+		 */
+		ADDED,
+		/**
+		 * A constant which has moved.
+		 */
+		FEATURE
+	}
+
+	/**
+	 * A model with fields of various types.
+	 */
+	public static class TestModel extends ComponentModel {
+
+		/**
+		 * A String field.
+		 */
+		private String text;
+
+		/**
+		 * A Boolean field.
+		 */
+		private Boolean bool;
+
+		/**
+		 * An Integer field.
+		 */
+		private Integer number;
+
+		/**
+		 * An enum field.
+		 */
+		private WPanel.Type type;
+
+		/**
+		 * A primitive long field.
+		 */
+		private long count;
+
+		/**
+		 * A List field.
+		 */
+		private List<String> list;
+
+		/**
+		 * A field which is not overridden.
+		 */
+		private String unchanged;
+	}
 }
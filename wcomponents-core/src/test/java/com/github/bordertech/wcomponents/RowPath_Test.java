@@ -0,0 +1,95 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.util.SerializationUtil;
+import com.github.bordertech.wcomponents.util.TableUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * RowPath_Test - unit tests for {@link RowPath}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class RowPath_Test {
+
+	@Test
+	public void testIndexes() {
+		RowPath path = RowPath.of(3, 1, 200);
+
+		Assert.assertEquals("Incorrect depth", 3, path.getDepth());
+		Assert.assertEquals("Incorrect size", 3, path.size());
+		Assert.assertEquals("Incorrect index for level 0", 3, path.getIndex(0));
+		Assert.assertEquals("Incorrect index for level 2", 200, path.getIndex(2));
+		Assert.assertEquals("Incorrect last index", 200, path.getLastIndex());
+		Assert.assertEquals("Incorrect list element", Integer.valueOf(1), path.get(1));
+	}
+
+	@Test
+	public void testChildAndParent() {
+		RowPath path = RowPath.of(2);
+		RowPath child = path.child(5);
+
+		Assert.assertEquals("Incorrect child path", Arrays.asList(2, 5), child);
+		Assert.assertEquals("Parent path should not have changed", Arrays.asList(2), path);
+		Assert.assertEquals("Incorrect parent path", path, child.getParent());
+		Assert.assertNull("Top level row should not have a parent", path.getParent());
+	}
+
+	@Test
+	public void testEqualsList() {
+		List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+		RowPath path = RowPath.of(1, 2, 3);
+
+		Assert.assertEquals("Path should equal list", list, path);
+		Assert.assertEquals("List should equal path", path, list);
+		Assert.assertEquals("Hash code should match list", list.hashCode(), path.hashCode());
+		Assert.assertEquals("Path should equal path", RowPath.of(1, 2, 3), path);
+		Assert.assertNotEquals("Path should not equal different path", RowPath.of(1, 2), path);
+
+		Map<List<Integer>, String> map = new HashMap<>();
+		map.put(path, "value");
+		Assert.assertEquals("Should find path using list key", "value", map.get(list));
+	}
+
+	@Test
+	public void testValueOf() {
+		RowPath path = RowPath.of(4, 7);
+		Assert.assertSame("Should return the same path", path, RowPath.valueOf(path));
+		Assert.assertEquals("Incorrect path for list", path, RowPath.valueOf(Arrays.asList(4, 7)));
+	}
+
+	@Test
+	public void testOfCopiesArray() {
+		int[] indexes = new int[]{1, 2};
+		RowPath path = RowPath.of(indexes);
+		indexes[0] = 9;
+
+		Assert.assertEquals("Path should not change when array changes", Arrays.asList(1, 2), path);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		RowPath.of(1).add(2);
+	}
+
+	@Test
+	public void testRowIndexListToString() {
+		Assert.assertEquals("Incorrect string for path", "1-0-12", TableUtil.rowIndexListToString(RowPath.of(1, 0,
+				12)));
+	}
+
+	@Test
+	public void testSerialization() {
+		RowPath path = RowPath.of(1, 2);
+		RowPath copy = (RowPath) SerializationUtil.pipe(path);
+
+		Assert.assertEquals("Incorrect path after serialization", path, copy);
+		Assert.assertEquals("Incorrect hash code after serialization", path.hashCode(), copy.hashCode());
+	}
+}
@@ -0,0 +1,79 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.EmptyStackException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * UIContextHolder_Test - unit tests for {@link UIContextHolder}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextHolder_Test {
+
+	@After
+	public void tearDown() {
+		UIContextHolder.reset();
+	}
+
+	@Test
+	public void testPushPop() {
+		Assert.assertNull("Should not have a context before one is pushed", UIContextHolder.getCurrent());
+
+		UIContext uic = new UIContextImpl();
+		UIContextHolder.pushContext(uic);
+		Assert.assertSame("Incorrect current context", uic, UIContextHolder.getCurrent());
+
+		// Push enough contexts to grow the stack
+		UIContext[] nested = new UIContext[20];
+
+		for (int i = 0; i < nested.length; i++) {
+			nested[i] = new UIContextDelegate(uic);
+			UIContextHolder.pushContext(nested[i]);
+			Assert.assertSame("Incorrect current nested context", nested[i], UIContextHolder.getCurrent());
+			Assert.assertSame("Incorrect primary context", uic, UIContextHolder.getCurrentPrimaryUIContext());
+		}
+
+		for (int i = nested.length - 1; i >= 0; i--) {
+			Assert.assertSame("Incorrect context popped", nested[i], UIContextHolder.popContext());
+		}
+
+		Assert.assertSame("Incorrect current context after pop", uic, UIContextHolder.getCurrent());
+		Assert.assertSame("Incorrect context popped", uic, UIContextHolder.popContext());
+		Assert.assertNull("Should not have a context after all are popped", UIContextHolder.getCurrent());
+	}
+
+	@Test
+	public void testReset() {
+		UIContextHolder.pushContext(new UIContextImpl());
+		UIContextHolder.pushContext(new UIContextImpl());
+		UIContextHolder.reset();
+
+		Assert.assertNull("Should not have a context after reset", UIContextHolder.getCurrent());
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void testPopEmpty() {
+		UIContextHolder.popContext();
+	}
+
+	@Test
+	public void testThreadIsolation() throws InterruptedException {
+		UIContextHolder.pushContext(new UIContextImpl());
+
+		final UIContext[] other = new UIContext[1];
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				other[0] = UIContextHolder.getCurrent();
+			}
+		});
+
+		thread.start();
+		thread.join();
+
+		Assert.assertNull("Context should not be visible to other threads", other[0]);
+	}
+}
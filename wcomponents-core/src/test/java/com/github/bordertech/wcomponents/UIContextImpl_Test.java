@@ -3,9 +3,11 @@ package com.github.bordertech.wcomponents;
 import com.github.bordertech.wcomponents.SimpleBeanBoundTableModel.LevelDetails;
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
 import com.github.bordertech.wcomponents.WTable.ExpandMode;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -129,6 +131,63 @@ public class UIContextImpl_Test extends AbstractWComponentTestCase {
 				component2));
 	}
 
+	@Test
+	public void testModelAccessorsLocked() {
+		WContainer root = new WContainer();
+
+		for (int i = 0; i < 100; i++) {
+			root.add(new WTextField());
+		}
+
+		root.setLocked(true);
+		WComponent unlocked = new DefaultWComponent();
+		root.add(unlocked);
+
+		UIContextImpl uic = new UIContextImpl();
+
+		for (int i = 0; i < 100; i += 2) {
+			uic.setModel(root.getChildAt(i), new ComponentModel());
+		}
+
+		uic.setModel(unlocked, new ComponentModel());
+
+		// Add a locked component far away from the others, which must not be held in the slot array.
+		for (int i = 0; i < 1000; i++) {
+			new WContainer().setLocked(true);
+		}
+
+		WComponent distant = new DefaultWComponent();
+		distant.setLocked(true);
+		uic.setModel(distant, new ComponentModel());
+
+		Assert.assertEquals("Incorrect number of components returned", 52, uic.getComponents().size());
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("Incorrect model presence for child " + i, i % 2 == 0, uic.getModel(root.getChildAt(
+					i)) != null);
+		}
+
+		Assert.assertNotNull("Unlocked component should have a model", uic.getModel(unlocked));
+		Assert.assertNotNull("Distant component should have a model", uic.getModel(distant));
+
+		uic.removeModel(root.getChildAt(0));
+		uic.removeModel(unlocked);
+		uic.removeModel(distant);
+		Assert.assertNull("Model should be null after being removed", uic.getModel(root.getChildAt(0)));
+		Assert.assertNull("Unlocked model should be null after being removed", uic.getModel(unlocked));
+		Assert.assertNull("Distant model should be null after being removed", uic.getModel(distant));
+		Assert.assertEquals("Incorrect number of components after removal", 49, uic.getComponents().size());
+
+		uic.setUI(root);
+		UIContextImpl restored = (UIContextImpl) SerializationUtil.pipe(uic);
+		Assert.assertEquals("Incorrect number of components after serialization", 49, restored.getComponents().
+				size());
+
+		WContainer restoredRoot = (WContainer) restored.getUI();
+		Assert.assertNotNull("Model should be restored", restored.getModel(restoredRoot.getChildAt(2)));
+		Assert.assertNull("Model should not be restored", restored.getModel(restoredRoot.getChildAt(1)));
+	}
+
 	@Test
 	public void testEnvironmentAccessors() {
 		UIContext uic = createUIContext();
@@ -144,6 +203,152 @@ public class UIContextImpl_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("Incorrect environment returned", environment, uic.getEnvironment());
 	}
 
+	@Test
+	public void testChangedModels() {
+		UIContextImpl uic = new UIContextImpl();
+		WComponent component = new DefaultWComponent();
+		WComponent component2 = new DefaultWComponent();
+		WebModel model = new ComponentModel();
+
+		uic.setModel(component, model);
+		Assert.assertEquals("All models should be changed before a checkpoint", 1, uic.getChangedModels().size());
+
+		uic.checkpoint();
+		Assert.assertTrue("No models should be changed after a checkpoint", uic.getChangedModels().isEmpty());
+
+		uic.setModel(component2, new ComponentModel());
+		uic.removeModel(component);
+		Assert.assertEquals("Incorrect number of changed models", 2, uic.getChangedModels().size());
+		Assert.assertNotNull("Set model should be changed", uic.getChangedModels().get(component2));
+		Assert.assertTrue("Removed model should be changed", uic.getChangedModels().containsKey(component));
+		Assert.assertNull("Removed model should be null", uic.getChangedModels().get(component));
+
+		uic.checkpoint();
+		Assert.assertTrue("No models should be changed after a checkpoint", uic.getChangedModels().isEmpty());
+	}
+
+	@Test
+	public void testChangedModelsOnModification() {
+		WTextField text = new WTextField();
+		WTextField text2 = new WTextField();
+		WContainer root = new WContainer();
+		root.add(text);
+		root.add(text2);
+		root.setLocked(true);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+		text.setText("a");
+		text2.setText("b");
+		uic.checkpoint();
+
+		Assert.assertEquals("Incorrect text", "a", text.getText());
+		Assert.assertTrue("Reading a model should not change it", uic.getChangedModels().isEmpty());
+
+		text.setText("c");
+		Assert.assertEquals("Incorrect number of changed models", 1, uic.getChangedModels().size());
+		Assert.assertTrue("Modified model should be changed", uic.getChangedModels().containsKey(text));
+	}
+
+	@Test
+	public void testChangedModelsInWRepeater() {
+		WTextField text = new WTextField();
+		WRepeater repeater = new WRepeater(text);
+		repeater.setLocked(true);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+		repeater.setData(Arrays.asList("a", "b"));
+		UIContext rowContext = repeater.getRowContext("a");
+		uic.checkpoint();
+
+		UIContextHolder.pushContext(rowContext);
+
+		try {
+			text.setText("c");
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		Assert.assertEquals("Incorrect number of changed models", 1, uic.getChangedModels().size());
+		Assert.assertTrue("Repeater holding the row should be changed", uic.getChangedModels().containsKey(
+				repeater));
+	}
+
+	@Test
+	public void testCompact() {
+		WTextField text = new WTextField();
+		WTextField text2 = new WTextField();
+		WTextField detached = new WTextField();
+		WContainer root = new WContainer();
+		root.add(text);
+		root.add(text2);
+		root.setLocked(true);
+		detached.setLocked(true);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+		text.setText("a");
+		text2.setText("b");
+		text2.setText(null);
+		detached.setText("c");
+		detached.setText(null);
+		resetContext();
+
+		uic.compact();
+
+		Assert.assertNotNull("Model with user data should be retained", uic.getModel(text));
+		Assert.assertNull("Model in default state should be removed", uic.getModel(text2));
+		Assert.assertNull("Detached model in default state should be removed", uic.getModel(detached));
+	}
+
+	@Test
+	public void testCompactWRepeater() {
+		WTextField text = new WTextField();
+		WRepeater repeater = new WRepeater(text);
+		repeater.setLocked(true);
+
+		UIContextImpl uic = new UIContextImpl();
+		setActiveContext(uic);
+		repeater.setData(Arrays.asList("a", "b"));
+
+		UIContext rowContextA = repeater.getRowContext("a");
+		UIContext rowContextB = repeater.getRowContext("b");
+
+		// Change the data without the repeater cleaning up the row contexts
+		((WRepeater.RepeaterModel) uic.getModel(repeater)).setData(Arrays.asList("a"));
+		resetContext();
+
+		uic.compact();
+
+		setActiveContext(uic);
+		Assert.assertSame("Current row context should be retained", rowContextA, repeater.getRowContext("a"));
+		Assert.assertNotSame("Stale row context should be removed", rowContextB, repeater.getRowContext("b"));
+	}
+
+	@Test
+	public void testContextChanged() {
+		UIContextImpl uic = new UIContextImpl();
+		Assert.assertTrue("Context should be changed before a checkpoint", uic.isContextChanged());
+
+		uic.checkpoint();
+		Assert.assertFalse("Context should not be changed after a checkpoint", uic.isContextChanged());
+
+		uic.removeFwkAttribute("test");
+		Assert.assertFalse("Removing a missing attribute should not change the context", uic.isContextChanged());
+
+		uic.setFwkAttribute("test", "value");
+		Assert.assertTrue("Setting an attribute should change the context", uic.isContextChanged());
+
+		uic.checkpoint();
+		uic.setLocale(Locale.ENGLISH);
+		Assert.assertTrue("Setting the locale should change the context", uic.isContextChanged());
+
+		uic.checkpoint();
+		uic.setLocale(Locale.ENGLISH);
+		Assert.assertFalse("Setting the same locale should not change the context", uic.isContextChanged());
+	}
+
 	@Test
 	public void testFocussedAccessors() {
 		UIContext uic = createUIContext();
@@ -50,6 +50,7 @@ import org.junit.runners.Suite;
 	BeanBoundComponentModel_Test.class,
 	BeanProviderBoundComponentModel_Test.class,
 	CollapsibleGroup_Test.class,
+	ComponentIdIndex_Test.class,
 	ComponentModel_Test.class,
 	ContentEscape_Test.class,
 	FatalErrorPage_Test.class,
@@ -65,6 +66,7 @@ import org.junit.runners.Suite;
 	OptionGroup_Test.class,
 	RadioButtonGroup_Test.class,
 	RowIdList_Test.class,
+	RowPath_Test.class,
 	SelectListUtil_Test.class,
 	Serialization_Test.class,
 	SerializationPerformance_Test.class,
@@ -75,6 +77,7 @@ import org.junit.runners.Suite;
 	TestApp_Test.class,
 	ThemeUtil_Test.class,
 	UIContextDebugWrapper_Test.class,
+	UIContextHolder_Test.class,
 	UIContextImpl_Test.class,
 	UicProfileButton_Test.class,
 	UserAgentInfo_Test.class,
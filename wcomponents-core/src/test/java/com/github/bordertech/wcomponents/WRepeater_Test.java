@@ -1,8 +1,10 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.util.TreeUtil;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import com.github.bordertech.wcomponents.validation.Diagnostic;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -305,6 +307,78 @@ public class WRepeater_Test extends AbstractWComponentTestCase {
 		}
 	}
 
+	@Test
+	public void testGetRowContextsForId() {
+		WNamingContext context = new WNamingContext("TEST");
+
+		WTextField repeated = new WTextField();
+		WRepeater repeater = new WRepeater(repeated);
+		context.add(repeater);
+
+		context.setLocked(true);
+		setActiveContext(new UIContextImpl());
+
+		repeater.setBeanList(Arrays.asList("A", "B", "C", "D"));
+		List<UIContext> rowContexts = repeater.getRowContexts();
+
+		for (UIContext rowContext : rowContexts) {
+			Assert.assertTrue("Row context should not have any models", rowContext.getComponents().isEmpty());
+		}
+
+		UIContext rowContext = rowContexts.get(2);
+		String id;
+
+		try {
+			UIContextHolder.pushContext(rowContext);
+			id = repeated.getId();
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		Assert.assertEquals("Incorrect row contexts for id", Arrays.asList(rowContext), repeater.
+				getRowContextsForId(id));
+		Assert.assertTrue("Should not have row contexts for id outside the repeater", repeater.getRowContextsForId(
+				"TEST-X").isEmpty());
+
+		ComponentWithContext found = TreeUtil.getComponentWithContextForId(context, id);
+		Assert.assertSame("Incorrect component found", repeated, found.getComponent());
+		Assert.assertSame("Incorrect context found", rowContext, found.getContext());
+
+		// Removed rows should not be returned
+		repeater.setBeanList(Arrays.asList("A", "B", "D"));
+		Assert.assertFalse("Should not return context for removed row", repeater.getRowContextsForId(id).contains(
+				rowContext));
+	}
+
+	@Test
+	public void testGetRowContextsForIdEqualBeans() {
+		WNamingContext context = new WNamingContext("TEST");
+
+		WTextField repeated = new WTextField();
+		WRepeater repeater = new WRepeater(repeated);
+		repeater.setRowIdProperty("id");
+		context.add(repeater);
+
+		context.setLocked(true);
+		setActiveContext(new UIContextImpl());
+
+		repeater.setBeanList(Arrays.asList(new EqualBean("A"), new EqualBean("B")));
+		UIContext rowContext = repeater.getRowContexts().get(1);
+		String id;
+
+		try {
+			UIContextHolder.pushContext(rowContext);
+			id = repeated.getId();
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		Assert.assertEquals("Incorrect row contexts for id", Arrays.asList(rowContext), repeater.
+				getRowContextsForId(id));
+		Assert.assertEquals("Row index should not be taken from an equal bean", 1, ((SubUIContext) rowContext).
+				getRowIndex());
+	}
+
 	@Test
 	public void testNamingContextAccessors() {
 		assertAccessorsCorrect(new WRepeater(), "namingContext", false, true, false);
@@ -320,4 +394,38 @@ public class WRepeater_Test extends AbstractWComponentTestCase {
 				getNamingContextId());
 	}
 
+	/**
+	 * A row bean which is equal to every other row bean, but has its own row id.
+	 */
+	public static final class EqualBean implements Serializable {
+
+		/**
+		 * The row id.
+		 */
+		private final String id;
+
+		/**
+		 * @param id the row id
+		 */
+		public EqualBean(final String id) {
+			this.id = id;
+		}
+
+		/**
+		 * @return the row id
+		 */
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof EqualBean;
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+	}
 }
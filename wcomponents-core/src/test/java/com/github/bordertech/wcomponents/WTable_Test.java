@@ -2,11 +2,14 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
 import com.github.bordertech.wcomponents.WTable.ExpandMode;
+import com.github.bordertech.wcomponents.WTable.PagedTableModel;
 import com.github.bordertech.wcomponents.WTable.PaginationMode;
 import com.github.bordertech.wcomponents.WTable.PaginationLocation;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
+import com.github.bordertech.wcomponents.WTable.RowPathTableModel;
 import com.github.bordertech.wcomponents.WTable.SelectAllType;
 import com.github.bordertech.wcomponents.WTable.SelectMode;
+import com.github.bordertech.wcomponents.WTable.SharedSortTableModel;
 import com.github.bordertech.wcomponents.WTable.SeparatorType;
 import com.github.bordertech.wcomponents.WTable.SortMode;
 import com.github.bordertech.wcomponents.WTable.StripingType;
@@ -77,6 +80,193 @@ public final class WTable_Test extends AbstractWComponentTestCase {
 		assertAccessorsCorrect(new WTable(), "tableModel", EmptyTableModel.INSTANCE, model1, model2);
 	}
 
+	@Test
+	public void testGetRowPathTableModel() {
+		WTable table = new WTable();
+		table.setLocked(true);
+		setActiveContext(createUIContext());
+
+		Assert.assertSame("Abstract table model should not be adapted", EmptyTableModel.INSTANCE, table.
+				getRowPathTableModel());
+
+		TableModel plain = new PlainTableModel();
+		table.setTableModel(plain);
+		RowPathTableModel adapted = table.getRowPathTableModel();
+		Assert.assertTrue("Table model should have been adapted", adapted instanceof AdapterRowPathTableModel);
+		Assert.assertSame("Incorrect adapted model", plain, ((AdapterRowPathTableModel) adapted).getBacking());
+		Assert.assertSame("Adapter should be reused", adapted, table.getRowPathTableModel());
+
+		TableModel model = createModel(new String[][]{{"A"}, {"B"}});
+		table.setTableModel(model);
+		Assert.assertSame("Row path model should not be adapted", model, table.getRowPathTableModel());
+		Assert.assertEquals("Incorrect value for row path", "B", table.getRowPathTableModel().getValueAt(RowPath.of(1),
+				0));
+	}
+
+	@Test
+	public void testBeanBoundTableModelRowPath() {
+		SimpleBeanBoundTableModel model = new SimpleBeanBoundTableModel(new String[]{"."});
+		WTable table = new WTable();
+		table.setTableModel(model);
+		table.setBeanProperty(".");
+		table.setLocked(true);
+		setActiveContext(createUIContext());
+		table.setBean(Arrays.asList("A", "B"));
+
+		Assert.assertSame("Bean bound model should not be adapted", model, table.getRowPathTableModel());
+		Assert.assertEquals("Incorrect value for row path", "B", model.getValueAt(RowPath.of(1), 0));
+		Assert.assertEquals("Incorrect row key for row path", "A", model.getRowKey(RowPath.of(0)));
+		Assert.assertEquals("Incorrect value for list row index", "B", model.getValueAt(Arrays.asList(1), 0));
+	}
+
+	@Test
+	public void testPagedTableModel() {
+		WTable table = new WTable();
+		table.setPaginationMode(PaginationMode.DYNAMIC);
+		table.setRowsPerPage(10);
+		MockPagedTableModel model = new MockPagedTableModel(25, true);
+		table.setTableModel(model);
+
+		Assert.assertEquals("Incorrect row count", 25, table.getRowCount());
+		Assert.assertEquals("Should have fetched the first page", 1, model.fetches);
+		Assert.assertEquals("Incorrect start row", 0, model.start);
+		Assert.assertEquals("Should not fetch the page again", 25, table.getRowCount());
+		Assert.assertEquals("Should not fetch the page again", 1, model.fetches);
+
+		table.setCurrentPage(2);
+		List<RowIdWrapper> rows = table.getRepeater().getBeanList();
+		Assert.assertEquals("Incorrect number of rows on last page", 5, rows.size());
+		Assert.assertEquals("Incorrect first row on last page", Arrays.asList(20), rows.get(0).getRowIndex());
+		Assert.assertEquals("Incorrect start row", 20, model.start);
+		Assert.assertEquals("Incorrect value", 20, model.getValueAt(rows.get(0).getRowIndex(), 0));
+
+		// Sorting should fetch the page again, without sorting all the rows
+		table.sort(0, false);
+		rows = table.getRepeater().getBeanList();
+		Assert.assertEquals("Incorrect sort column", 0, model.sortCol);
+		Assert.assertFalse("Incorrect sort direction", model.ascending);
+		Assert.assertEquals("Incorrect value after sort", 4, model.getValueAt(rows.get(0).getRowIndex(), 0));
+	}
+
+	@Test
+	public void testPagedTableModelUnknownRowCount() {
+		WTable table = new WTable();
+		table.setPaginationMode(PaginationMode.DYNAMIC);
+		table.setRowsPerPage(10);
+		MockPagedTableModel model = new MockPagedTableModel(25, false);
+		table.setTableModel(model);
+
+		Assert.assertEquals("Row count should allow for the next page", 11, table.getRowCount());
+		table.setCurrentPage(1);
+		Assert.assertEquals("Row count should allow for the next page", 21, table.getRowCount());
+		table.setCurrentPage(2);
+		Assert.assertEquals("Row count should be known on the last page", 25, table.getRowCount());
+		table.setCurrentPage(3);
+		Assert.assertEquals("Should not move past the last page", 2, table.getCurrentPage());
+
+		// Rows removed, so the current page is now past the end
+		model.rows = 15;
+		table.handleDataChanged();
+		Assert.assertEquals("Incorrect row count after data changed", 15, table.getRowCount());
+		Assert.assertEquals("Should have moved back to the last page", 1, table.getCurrentPage());
+	}
+
+	@Test
+	public void testPagedTableModelKnownRowCountShrunk() {
+		WTable table = new WTable();
+		table.setPaginationMode(PaginationMode.DYNAMIC);
+		table.setRowsPerPage(10);
+		MockPagedTableModel model = new MockPagedTableModel(25, true);
+		table.setTableModel(model);
+		table.setCurrentPage(2);
+		Assert.assertEquals("Incorrect row count", 25, table.getRowCount());
+		Assert.assertEquals("Incorrect page fetched", 20, model.start);
+
+		// Rows removed, so the current page is now past the end
+		model.rows = 15;
+		model.fetches = 0;
+		table.handleDataChanged();
+		Assert.assertEquals("Incorrect row count after data changed", 15, table.getRowCount());
+		Assert.assertEquals("Should have moved back to the last page", 1, table.getCurrentPage());
+		Assert.assertEquals("Last page should have been fetched", 10, model.start);
+		Assert.assertEquals("Incorrect number of rows fetched", 5, model.fetched);
+		Assert.assertEquals("Should not have fetched the page past the end", 1, model.fetches);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPagedTableModelNotPaginated() {
+		WTable table = new WTable();
+		table.setPaginationMode(PaginationMode.NONE);
+		table.setTableModel(new MockPagedTableModel(25, true));
+	}
+
+	@Test
+	public void testSharedSortTableModel() {
+		WTable table = new WTable();
+		table.addColumn(new WTableColumn("dummy", WText.class));
+		table.setLocked(true);
+		TableSortCache.clear();
+
+		try {
+			// First user sorts the data
+			MockSharedSortTableModel model1 = new MockSharedSortTableModel("v1");
+			setActiveContext(createUIContext());
+			table.setTableModel(model1);
+			table.sort(0, true);
+			List<RowIdWrapper> rows = table.getRepeater().getBeanList();
+			Assert.assertEquals("Data should have been sorted", 1, model1.sorts);
+			Assert.assertEquals("Incorrect first row after sort", Arrays.asList(1), rows.get(0).getRowIndex());
+
+			// Second user shares the sorted mapping
+			MockSharedSortTableModel model2 = new MockSharedSortTableModel("v1");
+			setActiveContext(createUIContext());
+			table.setTableModel(model2);
+			table.sort(0, true);
+			rows = table.getRepeater().getBeanList();
+			Assert.assertEquals("Shared data should not be sorted again", 0, model2.sorts);
+			Assert.assertEquals("Incorrect first row for shared sort", Arrays.asList(1), rows.get(0).getRowIndex());
+			Assert.assertEquals("Incorrect last row for shared sort", Arrays.asList(0), rows.get(2).getRowIndex());
+
+			// A new version of the data is sorted again
+			model2.version = "v2";
+			table.handleDataChanged();
+			rows = table.getRepeater().getBeanList();
+			Assert.assertEquals("New version of the data should be sorted", 1, model2.sorts);
+			Assert.assertEquals("Incorrect first row for new version", Arrays.asList(1), rows.get(0).getRowIndex());
+
+			// Third user shares the mapping for the new version, but not for a new sort direction
+			MockSharedSortTableModel model3 = new MockSharedSortTableModel("v2");
+			setActiveContext(createUIContext());
+			table.setTableModel(model3);
+			table.sort(0, true);
+			Assert.assertEquals("New version of the data should be shared", 0, model3.sorts);
+			table.sort(0, false);
+			rows = table.getRepeater().getBeanList();
+			Assert.assertEquals("New sort direction should be sorted", 1, model3.sorts);
+			Assert.assertEquals("Incorrect first row for descending sort", Arrays.asList(0), rows.get(0).
+					getRowIndex());
+		} finally {
+			TableSortCache.clear();
+		}
+	}
+
+	@Test
+	public void testSharedSortTableModelNotShared() {
+		WTable table = new WTable();
+		table.addColumn(new WTableColumn("dummy", WText.class));
+		table.setLocked(true);
+
+		for (int i = 0; i < 2; i++) {
+			MockSharedSortTableModel model = new MockSharedSortTableModel(null);
+			setActiveContext(createUIContext());
+			table.setTableModel(model);
+			table.sort(0, true);
+			List<RowIdWrapper> rows = table.getRepeater().getBeanList();
+			Assert.assertEquals("Data without a version should be sorted by each table", 1, model.sorts);
+			Assert.assertEquals("Incorrect first row after sort", Arrays.asList(1), rows.get(0).getRowIndex());
+		}
+	}
+
 	@Test
 	public void testSeparatorTypeAccessors() {
 		assertAccessorsCorrect(new WTable(), "separatorType", SeparatorType.NONE,
@@ -1238,6 +1428,222 @@ public final class WTable_Test extends AbstractWComponentTestCase {
 				getNamingContextId());
 	}
 
+	/**
+	 * A paged table model over rows whose value is their index in the unsorted data.
+	 */
+	private static final class MockPagedTableModel extends AbstractTableModel implements PagedTableModel {
+
+		/**
+		 * The number of rows in the data.
+		 */
+		private int rows;
+
+		/**
+		 * True if the model reports the total row count.
+		 */
+		private final boolean countKnown;
+
+		/**
+		 * The number of pages fetched.
+		 */
+		private int fetches;
+
+		/**
+		 * The start of the fetched page.
+		 */
+		private int start;
+
+		/**
+		 * The number of rows fetched.
+		 */
+		private int fetched;
+
+		/**
+		 * The sort column of the fetched page.
+		 */
+		private int sortCol;
+
+		/**
+		 * The sort direction of the fetched page.
+		 */
+		private boolean ascending;
+
+		/**
+		 * @param rows the number of rows in the data
+		 * @param countKnown true if the model reports the total row count
+		 */
+		private MockPagedTableModel(final int rows, final boolean countKnown) {
+			this.rows = rows;
+			this.countKnown = countKnown;
+		}
+
+		@Override
+		public int fetchPage(final int start, final int count, final int sortCol, final boolean ascending) {
+			this.fetches++;
+			this.start = start;
+			this.fetched = Math.max(0, Math.min(count, rows - start));
+			this.sortCol = sortCol;
+			this.ascending = ascending;
+			return fetched;
+		}
+
+		@Override
+		public Object getValueAt(final List<Integer> row, final int col) {
+			int index = row.get(0);
+
+			if (index < start || index >= start + fetched) {
+				throw new IllegalArgumentException("Row " + index + " is not on the fetched page");
+			}
+
+			return sortCol >= 0 && !ascending ? rows - 1 - index : index;
+		}
+
+		@Override
+		public int getRowCount() {
+			return countKnown ? rows : UNKNOWN_ROW_COUNT;
+		}
+
+		@Override
+		public int getChildCount(final List<Integer> row) {
+			return 0;
+		}
+
+		@Override
+		public int[] sort(final int col, final boolean ascending) {
+			throw new UnsupportedOperationException("Paged models should not be asked to sort all rows");
+		}
+	}
+
+	/**
+	 * A shared sort table model over the rows "c", "a" and "b", which counts the number of times it is sorted.
+	 */
+	private static final class MockSharedSortTableModel extends AbstractTableModel implements SharedSortTableModel {
+
+		/**
+		 * The row data.
+		 */
+		private static final String[] DATA = new String[]{"c", "a", "b"};
+
+		/**
+		 * The version of the data.
+		 */
+		private String version;
+
+		/**
+		 * The number of times the data has been sorted.
+		 */
+		private int sorts;
+
+		/**
+		 * @param version the version of the data
+		 */
+		private MockSharedSortTableModel(final String version) {
+			this.version = version;
+		}
+
+		@Override
+		public Serializable getDataVersion() {
+			return version;
+		}
+
+		@Override
+		public Object getValueAt(final List<Integer> row, final int col) {
+			return DATA[row.get(0)];
+		}
+
+		@Override
+		public int getRowCount() {
+			return DATA.length;
+		}
+
+		@Override
+		public int getChildCount(final List<Integer> row) {
+			return 0;
+		}
+
+		@Override
+		public boolean isSortable(final int col) {
+			return true;
+		}
+
+		@Override
+		public int[] sort(final int col, final boolean ascending) {
+			sorts++;
+			return ascending ? new int[]{1, 2, 0} : new int[]{0, 2, 1};
+		}
+	}
+
+	/**
+	 * A table model with a single row, which only implements {@link TableModel}.
+	 */
+	private static final class PlainTableModel implements TableModel, Serializable {
+
+		@Override
+		public Object getValueAt(final List<Integer> row, final int col) {
+			return "A";
+		}
+
+		@Override
+		public boolean isCellEditable(final List<Integer> row, final int col) {
+			return false;
+		}
+
+		@Override
+		public void setValueAt(final Object value, final List<Integer> row, final int col) {
+			// NOP
+		}
+
+		@Override
+		public boolean isSortable(final int col) {
+			return false;
+		}
+
+		@Override
+		public int[] sort(final int col, final boolean ascending) {
+			return null;
+		}
+
+		@Override
+		public boolean isDisabled(final List<Integer> row) {
+			return false;
+		}
+
+		@Override
+		public boolean isSelectable(final List<Integer> row) {
+			return false;
+		}
+
+		@Override
+		public boolean isExpandable(final List<Integer> row) {
+			return false;
+		}
+
+		@Override
+		public int getRowCount() {
+			return 1;
+		}
+
+		@Override
+		public boolean hasChildren(final List<Integer> row) {
+			return false;
+		}
+
+		@Override
+		public int getChildCount(final List<Integer> row) {
+			return 0;
+		}
+
+		@Override
+		public Class<? extends WComponent> getRendererClass(final List<Integer> row) {
+			return null;
+		}
+
+		@Override
+		public Object getRowKey(final List<Integer> row) {
+			return row;
+		}
+	}
+
 	/**
 	 * @param data the test data
 	 * @return the table model
@@ -5,6 +5,8 @@ import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -446,6 +448,27 @@ public class WebUtilities_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("Encode should blat special characters", "\t\n\r ", WebUtilities.encode(in));
 	}
 
+	@Test
+	public void testEncodeToWriter() throws IOException {
+		StringWriter writer = new StringWriter();
+		WebUtilities.encode(null, writer);
+		Assert.assertEquals("Null string should not be written", "", writer.toString());
+
+		writer = new StringWriter();
+		WebUtilities.encode("no special characters", writer);
+		Assert.assertEquals("Incorrectly encoded plain string", "no special characters", writer.toString());
+
+		writer = new StringWriter();
+		WebUtilities.encode("<a href=\"x\">{1} & {2}</a>\u0001", writer);
+		Assert.assertEquals("Incorrectly encoded value",
+				"&lt;a href=&quot;x&quot;&gt;&#123;1&#125; &amp; &#123;2&#125;&lt;/a&gt;", writer.toString());
+
+		String in = characterRange('}' + 1, 0x2000);
+		writer = new StringWriter();
+		WebUtilities.encode(in, writer);
+		Assert.assertEquals("Extended characters should not be encoded", in, writer.toString());
+	}
+
 	@Test
 	public void testDecode() {
 		Assert.assertEquals("Incorrectly decoded null string", null, WebUtilities.decode(null));
@@ -23,6 +23,7 @@ import org.junit.runners.Suite;
 	SubordinateControlInterceptor_Test.class,
 	TargetableInterceptor_Test.class,
 	TransformXMLInterceptor_Test.class,
+	TransformerPool_Test.class,
 	VelocityInterceptor_Test.class,
 	ValidateXMLInterceptor_Test.class,
 	WhitespaceFilterInterceptor_Test.class,
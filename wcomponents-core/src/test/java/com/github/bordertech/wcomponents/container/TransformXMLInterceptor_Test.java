@@ -202,6 +202,26 @@ public class TransformXMLInterceptor_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("XML entities should not be decoded", out, actual.result);
 	}
 
+	/**
+	 * Test that encoded brackets are preserved when the content is larger than the transformer's read buffer.
+	 */
+	@Test
+	public void testPaintWithEncodedBracketsLargeContent() {
+		StringBuilder entities = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			entities.append("&#123;").append(i).append("&amp;&#125;{}&amp;#12;");
+		}
+
+		String in = "<kung><fu>" + entities + "</fu></kung>";
+		String out = "<omg><wtf>" + entities + "</wtf></omg>";
+
+		MyComponent testUI = new MyComponent(in);
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_CONTENT_PATH, "");
+		TransformXMLTestHelper.reloadTransformer();
+		TestResult actual = generateOutput(testUI);
+		Assert.assertEquals("Encoded brackets should not be decoded", out, actual.result);
+	}
+
 	/**
 	 *
 	 * @return XML with bad characters
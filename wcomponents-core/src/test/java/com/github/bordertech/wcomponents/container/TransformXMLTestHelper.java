@@ -1,12 +1,5 @@
 package com.github.bordertech.wcomponents.container;
 
-import com.github.bordertech.wcomponents.util.SystemException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import javax.xml.transform.Templates;
-
 /**
  * Helper class for tests using {@link TransformXMLInterceptor}.
  *
@@ -31,29 +24,12 @@ public final class TransformXMLTestHelper {
 	}
 
 	/**
-	 * Use reflection the reinitialize the TransformXMLInterceptor class.
+	 * Discard the compiled XSLT and pooled transformers used by the TransformXMLInterceptor and recompile the theme
+	 * XSLT.
 	 */
 	public static void reloadTransformer() {
-		try {
-			Field field = TransformXMLInterceptor.class.getDeclaredField("TEMPLATES");
-			// Make the field accessible.
-			field.setAccessible(true);
-
-			//Make the field non-final.
-			Field modifiersField = Field.class.getDeclaredField("modifiers");
-			modifiersField.setAccessible(true);
-			modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
-
-			//Get the value from the static method
-			Method initTemplates = TransformXMLInterceptor.class.getDeclaredMethod("initTemplates");
-			initTemplates.setAccessible(true);
-			Templates value = (Templates) initTemplates.invoke(null);
-
-			field.set(null, value);
-
-		} catch (SecurityException | InvocationTargetException | NoSuchFieldException | NoSuchMethodException | IllegalArgumentException | IllegalAccessException ex) {
-			throw new SystemException(ex);
-		}
+		TransformerPool.clear();
+		TransformerPool.getInstance(false);
 	}
 
 }
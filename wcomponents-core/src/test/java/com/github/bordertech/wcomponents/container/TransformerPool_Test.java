@@ -0,0 +1,105 @@
+package com.github.bordertech.wcomponents.container;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link TransformerPool} class.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class TransformerPool_Test {
+
+	/**
+	 * Start each test with no compiled XSLT.
+	 */
+	@Before
+	public void setUp() {
+		TransformerPool.clear();
+	}
+
+	/**
+	 * Put things back as they were.
+	 */
+	@After
+	public void tearDown() {
+		TransformerPool.clear();
+	}
+
+	@Test
+	public void testGetInstanceCachedByDebugFlag() {
+		TransformerPool pool = TransformerPool.getInstance(false);
+		Assert.assertSame("Should return the same pool", pool, TransformerPool.getInstance(false));
+		Assert.assertNotSame("Should return a different pool for debug", pool, TransformerPool.getInstance(true));
+		Assert.assertSame("Should return the same pool for the theme XSLT resource", pool, TransformerPool.
+				getInstance(TransformerPool.getThemeXsltResourceName(), false));
+	}
+
+	@Test
+	public void testClear() {
+		TransformerPool pool = TransformerPool.getInstance(false);
+		TransformerPool.clear();
+		Assert.assertNotSame("Should return a new pool after clear", pool, TransformerPool.getInstance(false));
+	}
+
+	@Test
+	public void testBorrowAndRelease() throws Exception {
+		TransformerPool pool = TransformerPool.getInstance(false);
+		Assert.assertEquals("Pool should start empty", 0, pool.getIdleCount());
+
+		Transformer transformer = pool.borrow();
+		StringWriter writer = new StringWriter();
+		transformer.transform(new StreamSource(new StringReader(TransformXMLTestHelper.TEST_XML)), new StreamResult(writer));
+		Assert.assertEquals("Incorrect transform result", TransformXMLTestHelper.EXPECTED, writer.toString());
+
+		pool.release(transformer);
+		Assert.assertEquals("Released transformer should be idle", 1, pool.getIdleCount());
+		Assert.assertSame("Should reuse the released transformer", transformer, pool.borrow());
+		Assert.assertEquals("Pool should be empty", 0, pool.getIdleCount());
+
+		// Reused transformer should give the same result
+		writer = new StringWriter();
+		transformer.transform(new StreamSource(new StringReader(TransformXMLTestHelper.TEST_XML)), new StreamResult(writer));
+		Assert.assertEquals("Incorrect transform result", TransformXMLTestHelper.EXPECTED, writer.toString());
+	}
+
+	@Test
+	public void testBorrowWhenEmpty() {
+		TransformerPool pool = TransformerPool.getInstance(false);
+		Transformer transformer1 = pool.borrow();
+		Transformer transformer2 = pool.borrow();
+		Assert.assertNotSame("Should create a new transformer when none idle", transformer1, transformer2);
+	}
+
+	@Test
+	public void testDebugParameter() {
+		Assert.assertNull("Debug parameter should not be set",
+				TransformerPool.getInstance(false).borrow().getParameter("isDebug"));
+
+		TransformerPool pool = TransformerPool.getInstance(true);
+		Transformer transformer = pool.borrow();
+		Assert.assertNotNull("Debug parameter should be set", transformer.getParameter("isDebug"));
+
+		pool.release(transformer);
+		Assert.assertNotNull("Debug parameter should be set after release", pool.borrow().getParameter("isDebug"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetInstanceMissingXslt() {
+		TransformerPool.getInstance("/theme/missing/xslt/all.xsl", false);
+	}
+
+	@Test
+	public void testWarmUp() {
+		TransformXMLInterceptor.warmUp();
+		Assert.assertEquals("Warm up should leave an idle transformer", 1, TransformerPool.getInstance(false).getIdleCount());
+	}
+}
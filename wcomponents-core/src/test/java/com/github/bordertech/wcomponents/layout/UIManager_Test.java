@@ -0,0 +1,94 @@
+package com.github.bordertech.wcomponents.layout;
+
+import com.github.bordertech.wcomponents.AbstractWComponent;
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.Renderer;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import java.io.PrintWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * UIManager_Test - unit tests for {@link UIManager}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIManager_Test {
+
+	/**
+	 * The render context used for the tests.
+	 */
+	private final RenderContext context = new WebXmlRenderContext(new PrintWriter(new NullWriter()));
+
+	/**
+	 * Put the configuration back as it was.
+	 */
+	@After
+	public void tearDown() {
+		Config.reset();
+	}
+
+	@Test
+	public void testGetRenderer() {
+		Renderer renderer = UIManager.getRenderer(new WText(), context);
+		Assert.assertNotNull("Should have found a renderer for WText", renderer);
+		Assert.assertSame("Should return the cached renderer", renderer, UIManager.getRenderer(new WText(), context));
+	}
+
+	@Test
+	public void testGetRendererFromSuperclass() {
+		Renderer renderer = UIManager.getRenderer(new MyText(), context);
+		Assert.assertEquals("Should use the WText renderer for a WText subclass",
+				UIManager.getRenderer(new WText(), context).getClass(), renderer.getClass());
+	}
+
+	@Test
+	public void testGetRendererNotFound() {
+		Assert.assertNull("Should not find a renderer", UIManager.getRenderer(new MyComponent(), context));
+		Assert.assertNull("Should not find a renderer when cached", UIManager.getRenderer(new MyComponent(), context));
+	}
+
+	@Test
+	public void testGetRendererOverride() {
+		Assert.assertNull("Should not find a renderer", UIManager.getRenderer(new MyComponent(), context));
+
+		Config.getInstance().setProperty(ConfigurationProperties.RENDERER_OVERRIDE_PREFIX + MyComponent.class.getName(),
+				MyRenderer.class.getName());
+		Assert.assertNull("Cache should not be flushed before listeners are notified",
+				UIManager.getRenderer(new MyComponent(), context));
+
+		Config.notifyListeners();
+		Assert.assertTrue("Should use the configured renderer after cache flush",
+				UIManager.getRenderer(new MyComponent(), context) instanceof MyRenderer);
+	}
+
+	/**
+	 * A component which has no renderer.
+	 */
+	public static final class MyComponent extends AbstractWComponent {
+	}
+
+	/**
+	 * A WText subclass which has no renderer of its own.
+	 */
+	public static final class MyText extends WText {
+	}
+
+	/**
+	 * A renderer which does nothing.
+	 */
+	public static final class MyRenderer implements Renderer {
+
+		@Override
+		public void render(final WComponent component, final RenderContext renderContext) {
+			// NO-OP
+		}
+	}
+}
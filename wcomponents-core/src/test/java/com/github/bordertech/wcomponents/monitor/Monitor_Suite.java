@@ -14,7 +14,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	ProfileContainer_Test.class,
 	UicStats_Test.class,
-	UicStatsAsHtml_Test.class
+	UicStatsAsHtml_Test.class,
+	UicSizeMonitor_Test.class
 })
 public class Monitor_Suite {
 }
@@ -0,0 +1,147 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WApplication;
+import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link UicSizeMonitor}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UicSizeMonitor_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The context to measure.
+	 */
+	private UIContextImpl uic;
+
+	@Before
+	public void setUp() {
+		UicSizeMonitor.getInstance().reset();
+
+		WApplication app = new WApplication();
+		WTextField text = new WTextField();
+		app.add(text);
+		app.setLocked(true);
+
+		uic = new UIContextImpl();
+		uic.setUI(app);
+		setActiveContext(uic);
+		text.setText("Some text for the model");
+		resetContext();
+	}
+
+	@After
+	public void tearDown() {
+		UicSizeMonitor.getInstance().reset();
+		Config.reset();
+	}
+
+	@Test
+	public void testMeasure() throws Exception {
+		UicSizeMonitor monitor = UicSizeMonitor.getInstance();
+		monitor.measure(uic);
+		monitor.measure(uic);
+
+		Assert.assertEquals("Incorrect sample count", 2, monitor.getSampleCount());
+
+		String uiClass = WApplication.class.getName();
+		long size = UicSizeMonitor.getSerializedSize(uic);
+		Assert.assertEquals("Incorrect mean size", Long.valueOf(size), monitor.getMeanSizes().get(uiClass));
+		Assert.assertEquals("Incorrect max size", Long.valueOf(size), monitor.getMaxSizes().get(uiClass));
+
+		long[] histogram = monitor.getSizeHistograms().get(uiClass);
+		Assert.assertEquals("Incorrect number of histogram ranges", monitor.getSizeRanges().length, histogram.length);
+
+		long total = 0;
+
+		for (long count : histogram) {
+			total += count;
+		}
+
+		Assert.assertEquals("Incorrect histogram total", 2, total);
+
+		String[] types = monitor.getTopComponentTypes();
+		Assert.assertTrue("Should report the text field", types.length > 0 && types[0].startsWith(WTextField.class.
+				getName() + '='));
+	}
+
+	@Test
+	public void testRegister() throws Exception {
+		ObjectName name = new ObjectName(UicSizeMonitor.OBJECT_NAME);
+
+		// Servlets initialised by other tests may still hold a registration
+		boolean wasRegistered = isRegistered(name);
+		UicSizeMonitor.getInstance().measure(uic);
+		Assert.assertEquals("Measuring should not register the monitor", wasRegistered, isRegistered(name));
+
+		UicSizeMonitor.register();
+
+		try {
+			UicSizeMonitor.register();
+			Assert.assertTrue("Monitor should be registered with JMX", isRegistered(name));
+			Assert.assertEquals("Incorrect sample count through JMX", 1L, ManagementFactory.getPlatformMBeanServer().
+					getAttribute(name, "SampleCount"));
+
+			UicSizeMonitor.unregister();
+			Assert.assertTrue("Monitor should stay registered until the last registration is released",
+					isRegistered(name));
+		} finally {
+			UicSizeMonitor.unregister();
+		}
+
+		Assert.assertEquals("Monitor should be unregistered", wasRegistered, isRegistered(name));
+	}
+
+	@Test
+	public void testSampleDisabled() {
+		UicSizeMonitor.getInstance().sample(uic);
+		Assert.assertEquals("Should not sample by default", 0, UicSizeMonitor.getInstance().getSampleCount());
+	}
+
+	@Test
+	public void testSampleEnabled() {
+		Config.getInstance().setProperty(ConfigurationProperties.MONITOR_UICONTEXT_SIZE_SAMPLE_RATE, "1");
+		UicSizeMonitor.getInstance().sample(uic);
+		Assert.assertEquals("Should sample every request", 1, UicSizeMonitor.getInstance().getSampleCount());
+	}
+
+	@Test
+	public void testTopComponentTypesLimit() {
+		Config.getInstance().setProperty(ConfigurationProperties.MONITOR_UICONTEXT_SIZE_TOP_COMPONENTS, "0");
+		UicSizeMonitor.getInstance().measure(uic);
+		Assert.assertEquals("Should not report any component types", 0, UicSizeMonitor.getInstance().
+				getTopComponentTypes().length);
+	}
+
+	@Test
+	public void testReset() {
+		UicSizeMonitor monitor = UicSizeMonitor.getInstance();
+		monitor.measure(uic);
+		monitor.reset();
+
+		Assert.assertEquals("Sample count should be reset", 0, monitor.getSampleCount());
+		Assert.assertTrue("Histograms should be reset", monitor.getSizeHistograms().isEmpty());
+		Assert.assertEquals("Component types should be reset", 0, monitor.getTopComponentTypes().length);
+	}
+
+	/**
+	 * @param name the MBean name to check.
+	 * @return true if the MBean is registered with the platform MBean server, otherwise false.
+	 */
+	private static boolean isRegistered(final ObjectName name) {
+		return ManagementFactory.getPlatformMBeanServer().isRegistered(name);
+	}
+}
@@ -13,7 +13,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	UIRegistryAmicableImpl_Test.class,
-	UIRegistryClassLoaderImpl_Test.class
+	UIRegistryClassLoaderImpl_Test.class,
+	UIRegistryConcurrentImpl_Test.class
 })
 public class Registry_Suite {
 }
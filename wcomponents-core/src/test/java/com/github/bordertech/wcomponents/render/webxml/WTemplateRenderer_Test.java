@@ -2,9 +2,16 @@ package com.github.bordertech.wcomponents.render.webxml;
 
 import com.github.bordertech.wcomponents.WTemplate;
 import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.template.HandlebarsRendererImpl;
 import com.github.bordertech.wcomponents.template.TemplateRendererFactory;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Options;
 import java.io.IOException;
+import java.util.Map;
 import org.junit.Assert;
 import org.custommonkey.xmlunit.exceptions.XpathException;
 import org.junit.Test;
@@ -58,6 +65,52 @@ public class WTemplateRenderer_Test extends AbstractWebXmlRendererTestCase {
 		assertOutput(output);
 	}
 
+	@Test
+	public void testHandlebarsInlineTemplateReused() throws IOException, SAXException, XpathException {
+		String inline = "param=[{{mytest}}]";
+
+		WTemplate template1 = new WTemplate();
+		template1.setEngineName(TemplateRendererFactory.TemplateEngine.HANDLEBARS);
+		template1.setInlineTemplate(inline);
+		template1.addParameter("mytest", "first");
+
+		WTemplate template2 = new WTemplate();
+		template2.setEngineName(TemplateRendererFactory.TemplateEngine.HANDLEBARS);
+		template2.setInlineTemplate(inline);
+		template2.addParameter("mytest", "second");
+
+		// The compiled template is shared, but the parameters must not be
+		Assert.assertTrue("Incorrect output for first template", toXHtml(template1).contains("param=[first]"));
+		Assert.assertTrue("Incorrect output for second template", toXHtml(template2).contains("param=[second]"));
+		Assert.assertTrue("Incorrect output for first template rendered again", toXHtml(template1).contains(
+				"param=[first]"));
+	}
+
+	@Test
+	public void testHandlebarsEngineCustomised() {
+		Config.getInstance().setProperty(ConfigurationProperties.TEMPLATE_RENDERING_ENGINE + ".custom",
+				CustomHandlebarsRendererImpl.class.getName());
+
+		try {
+			WTemplate custom = new WTemplate();
+			custom.setEngineName("custom");
+			custom.setInlineTemplate("helper=[{{custom}}]");
+
+			WTemplate plain = new WTemplate();
+			plain.setEngineName(TemplateRendererFactory.TemplateEngine.HANDLEBARS);
+			plain.setInlineTemplate("plain=[{{custom}}]");
+
+			Assert.assertTrue("Customised engine should be used", toXHtml(custom).contains("helper=[customised]"));
+			Assert.assertTrue("Customised engine should not be used by other renderers", toXHtml(plain).contains(
+					"plain=[]"));
+			Assert.assertTrue("Customised engine should be used when rendered again", toXHtml(custom).contains(
+					"helper=[customised]"));
+			Assert.assertEquals("Customised engine should be reused", 1, CustomHandlebarsRendererImpl.engines);
+		} finally {
+			Config.reset();
+		}
+	}
+
 	@Test
 	public void testHandlebarsTemplate() throws IOException, SAXException, XpathException {
 		WTemplate template = new WTemplate("templates/Test_Handlebars.hbs", TemplateRendererFactory.TemplateEngine.HANDLEBARS);
@@ -154,6 +207,30 @@ public class WTemplateRenderer_Test extends AbstractWebXmlRendererTestCase {
 		Assert.assertTrue("Not exist from wc not in output", output.contains("not2=[]"));
 	}
 
+	/**
+	 * A handlebars renderer which adds a "custom" helper to its engine.
+	 */
+	public static class CustomHandlebarsRendererImpl extends HandlebarsRendererImpl {
+
+		/**
+		 * The number of engines created.
+		 */
+		private static int engines;
+
+		@Override
+		protected Handlebars getHandlebarsEngine(final Map<String, Object> options) {
+			engines++;
+			Handlebars handlebars = super.getHandlebarsEngine(options);
+			handlebars.registerHelper("custom", new Helper<Object>() {
+				@Override
+				public Object apply(final Object context, final Options helperOptions) {
+					return "customised";
+				}
+			});
+			return handlebars;
+		}
+	}
+
 	/**
 	 * Test bean.
 	 */
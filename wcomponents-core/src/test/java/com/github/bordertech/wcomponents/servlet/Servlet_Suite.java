@@ -17,6 +17,8 @@ import org.junit.runners.Suite;
 	ServletUtilTest.class,
 	ServletUtilDeviceType_Test.class,
 	ThemeServlet_Test.class,
+	UIContextLock_Test.class,
+	UIContextStore_Test.class,
 	WServlet_Test.class,
 	WServletPerformance_Test.class
 })
@@ -0,0 +1,140 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * UIContextLock_Test - unit tests for {@link UIContextLock}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextLock_Test {
+
+	@Test
+	public void testSharedLocksConcurrent() throws Exception {
+		UIContext uic = new UIContextImpl();
+		Lock lock = UIContextLock.lock(uic, true);
+
+		try {
+			Assert.assertTrue("Shared lock should be acquired while another shared lock is held",
+					tryLockInOtherThread(uic, true));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Test
+	public void testExclusiveLockExcludesShared() throws Exception {
+		UIContext uic = new UIContextImpl();
+		Lock lock = UIContextLock.lock(uic, false);
+
+		try {
+			Assert.assertFalse("Shared lock should not be acquired while an exclusive lock is held",
+					tryLockInOtherThread(uic, true));
+		} finally {
+			lock.unlock();
+		}
+
+		Assert.assertTrue("Shared lock should be acquired once the exclusive lock is released",
+				tryLockInOtherThread(uic, true));
+	}
+
+	@Test
+	public void testSharedLockExcludesExclusive() throws Exception {
+		UIContext uic = new UIContextImpl();
+		Lock lock = UIContextLock.lock(uic, true);
+
+		try {
+			Assert.assertFalse("Exclusive lock should not be acquired while a shared lock is held",
+					tryLockInOtherThread(uic, false));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Test
+	public void testLocksPerContext() throws Exception {
+		Lock lock = UIContextLock.lock(new UIContextImpl(), false);
+
+		try {
+			Assert.assertTrue("Exclusive lock on another context should be acquired",
+					tryLockInOtherThread(new UIContextImpl(), false));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Test
+	public void testLockHeldByContext() {
+		UIContextImpl uic = new UIContextImpl();
+		Lock lock = UIContextLock.lock(uic, false);
+
+		try {
+			Assert.assertTrue("Context's own lock should be held", ((ReentrantReadWriteLock) uic.getRequestLock()).
+					isWriteLocked());
+		} finally {
+			lock.unlock();
+		}
+
+		Assert.assertFalse("Context's own lock should be released", ((ReentrantReadWriteLock) uic.getRequestLock()).
+				isWriteLocked());
+	}
+
+	@Test
+	public void testStatistics() {
+		UIContextLock.resetStatistics();
+		UIContext uic = new UIContextImpl();
+
+		UIContextLock.lock(uic, true).unlock();
+		UIContextLock.lock(uic, true).unlock();
+		UIContextLock.lock(uic, false).unlock();
+
+		Assert.assertEquals("Incorrect shared lock count", 2, UIContextLock.getSharedLockCount());
+		Assert.assertEquals("Incorrect exclusive lock count", 1, UIContextLock.getExclusiveLockCount());
+
+		UIContextLock.resetStatistics();
+		Assert.assertEquals("Shared lock count should be reset", 0, UIContextLock.getSharedLockCount());
+		Assert.assertEquals("Exclusive lock count should be reset", 0, UIContextLock.getExclusiveLockCount());
+	}
+
+	/**
+	 * Attempts to acquire a lock on a context in another thread.
+	 *
+	 * @param uic the context to lock.
+	 * @param shared true to acquire a shared lock, false for an exclusive lock.
+	 * @return true if the lock was acquired.
+	 * @throws Exception if the other thread fails.
+	 */
+	private static boolean tryLockInOtherThread(final UIContext uic, final boolean shared) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			Future<Boolean> result = executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					UIContextLock.lock(uic, shared).unlock();
+					return Boolean.TRUE;
+				}
+			});
+
+			try {
+				return result.get(200, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				return false;
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
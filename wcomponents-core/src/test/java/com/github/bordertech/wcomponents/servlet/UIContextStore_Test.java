@@ -0,0 +1,223 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Lock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * UIContextStore_Test - unit tests for the {@link UIContextStore} implementations.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class UIContextStore_Test {
+
+	/**
+	 * The key to store contexts under.
+	 */
+	private static final String KEY = "UIContextStore_Test.key";
+
+	@Test
+	public void testHeapStore() {
+		UIContextStore store = new UIContextStoreHeapImpl();
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+
+		Assert.assertNull("Should not have a context before one is set", store.getUIContext(session, KEY));
+
+		store.setUIContext(session, KEY, uic);
+		store.releaseUIContext(session, KEY, uic);
+
+		Assert.assertSame("Heap store should return the same context", uic, store.getUIContext(session, KEY));
+		Assert.assertSame("Heap store should store the context as a session attribute", uic, session.getAttribute(KEY));
+	}
+
+	@Test
+	public void testHeapStoreCompact() {
+		UIContextStore store = new UIContextStoreHeapImpl();
+		MockHttpSession session = new MockHttpSession();
+		WTextField text = new WTextField();
+		text.setLocked(true);
+
+		UIContextImpl uic = new UIContextImpl();
+		UIContextHolder.pushContext(uic);
+
+		try {
+			text.setText("a");
+			text.setText(null);
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		store.setUIContext(session, KEY, uic);
+
+		// Another request is still using the context
+		Lock lock = UIContextLock.lock(uic, true);
+
+		try {
+			store.releaseUIContext(session, KEY, uic);
+			Assert.assertNotNull("Context should not be compacted while in use", uic.getModel(text));
+		} finally {
+			lock.unlock();
+		}
+
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_UICONTEXT_STORE_COMPACT, "false");
+
+		try {
+			store.releaseUIContext(session, KEY, uic);
+			Assert.assertNotNull("Context should not be compacted when disabled", uic.getModel(text));
+		} finally {
+			Config.reset();
+		}
+
+		store.releaseUIContext(session, KEY, uic);
+		Assert.assertNull("Model in default state should be removed once the context is released", uic.getModel(
+				text));
+		Assert.assertSame("Heap store should still hold the context", uic, store.getUIContext(session, KEY));
+	}
+
+	@Test
+	public void testOffHeapStore() {
+		assertSerializingStore(new UIContextStoreOffHeapImpl());
+	}
+
+	@Test
+	public void testMappedFileStore() {
+		assertSerializingStore(new UIContextStoreMappedFileImpl());
+	}
+
+	@Test
+	public void testCompressedStore() {
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_UICONTEXT_STORE_COMPRESS, "true");
+
+		try {
+			assertSerializingStore(new UIContextStoreOffHeapImpl());
+		} finally {
+			Config.reset();
+		}
+	}
+
+	@Test
+	public void testConcurrentUsersShareContext() {
+		UIContextStore store = new UIContextStoreOffHeapImpl();
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+
+		store.setUIContext(session, KEY, uic);
+		UIContext uic2 = store.getUIContext(session, KEY);
+		Assert.assertSame("Concurrent requests should share the context", uic, uic2);
+
+		store.releaseUIContext(session, KEY, uic);
+		Assert.assertSame("Context should be retained while in use", uic, store.getUIContext(session, KEY));
+
+		store.releaseUIContext(session, KEY, uic);
+		store.releaseUIContext(session, KEY, uic);
+		Assert.assertNotSame("Context should be discarded once released", uic, store.getUIContext(session, KEY));
+	}
+
+	@Test
+	public void testReleaseReplacedContext() {
+		UIContextStore store = new UIContextStoreOffHeapImpl();
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+		UIContext uic2 = new UIContextImpl();
+
+		store.setUIContext(session, KEY, uic);
+		store.setUIContext(session, KEY, uic2);
+		store.releaseUIContext(session, KEY, uic);
+
+		Assert.assertSame("Releasing a replaced context should not release the new context", uic2, store.
+				getUIContext(session, KEY));
+	}
+
+	@Test
+	public void testBufferReused() {
+		final int[] allocations = new int[1];
+
+		UIContextStore store = new UIContextStoreOffHeapImpl() {
+			@Override
+			protected ByteBuffer allocateBuffer(final int capacity) {
+				allocations[0]++;
+				return super.allocateBuffer(capacity);
+			}
+		};
+
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+		uic.setFwkAttribute("test", "value");
+		store.setUIContext(session, KEY, uic);
+		store.releaseUIContext(session, KEY, uic);
+
+		for (int i = 0; i < 3; i++) {
+			UIContext restored = store.getUIContext(session, KEY);
+			Assert.assertEquals("Incorrect restored attribute", "value", restored.getFwkAttribute("test"));
+			store.releaseUIContext(session, KEY, restored);
+		}
+
+		Assert.assertEquals("Session should reuse its buffer", 1, allocations[0]);
+
+		// A context which no longer fits needs a new buffer
+		UIContext restored = store.getUIContext(session, KEY);
+		restored.setFwkAttribute("large", new byte[10000]);
+		store.releaseUIContext(session, KEY, restored);
+		Assert.assertEquals("Larger context should allocate a new buffer", 2, allocations[0]);
+		Assert.assertEquals("Incorrect attribute after buffer grew", 10000, ((byte[]) store.getUIContext(session, KEY).
+				getFwkAttribute("large")).length);
+	}
+
+	@Test
+	public void testMappedFileStoreReused() {
+		UIContextStore store = new UIContextStoreMappedFileImpl();
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+		store.setUIContext(session, KEY, uic);
+		store.releaseUIContext(session, KEY, uic);
+
+		for (int i = 0; i < 3; i++) {
+			UIContext restored = store.getUIContext(session, KEY);
+			restored.setFwkAttribute("count", i);
+			store.releaseUIContext(session, KEY, restored);
+		}
+
+		Assert.assertEquals("Incorrect attribute after reusing file", 2, store.getUIContext(session, KEY).
+				getFwkAttribute("count"));
+	}
+
+	/**
+	 * Checks that a serializing store round-trips a context, including when the session is serialized.
+	 *
+	 * @param store the store to check.
+	 */
+	private void assertSerializingStore(final UIContextStore store) {
+		MockHttpSession session = new MockHttpSession();
+		UIContext uic = new UIContextImpl();
+		uic.setFwkAttribute("test", "value");
+
+		store.setUIContext(session, KEY, uic);
+		store.releaseUIContext(session, KEY, uic);
+
+		Assert.assertFalse("Context should not be stored on the heap", session.getAttribute(KEY) instanceof UIContext);
+
+		UIContext restored = store.getUIContext(session, KEY);
+		Assert.assertNotSame("Context should have been restored from its serialized form", uic, restored);
+		Assert.assertEquals("Incorrect restored attribute", "value", restored.getFwkAttribute("test"));
+		store.releaseUIContext(session, KEY, restored);
+
+		MockHttpSession session2 = new MockHttpSession();
+		session2.setAttribute(KEY, SerializationUtil.pipe(session.getAttribute(KEY)));
+
+		restored = store.getUIContext(session2, KEY);
+		Assert.assertEquals("Incorrect attribute after session serialization", "value", restored.getFwkAttribute(
+				"test"));
+		store.releaseUIContext(session2, KEY, restored);
+	}
+}
@@ -10,6 +10,7 @@ import com.github.bordertech.wcomponents.WApplication;
 import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WPanel;
 import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.registry.UIRegistry;
 import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.NullWriter;
@@ -19,6 +20,8 @@ import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -77,6 +80,45 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("Incorrect paint count for session2", 1, content.getPaintCount());
 	}
 
+	@Test
+	public void testServiceOffHeapStore() throws ServletException, IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.FACTORY_PREFIX + UIContextStore.class.getName(),
+				UIContextStoreOffHeapImpl.class.getName());
+
+		// The UI must be registered, so that the serialized context refers to the shared UI rather than a copy
+		MyWServlet servlet = new MyWServlet(UIRegistry.getInstance().getUI(OffHeapUI.class.getName()));
+		servlet.init(new MockServletConfig());
+
+		MockHttpSession session = new MockHttpSession();
+
+		sendRequest(session, servlet);
+		sendRequest(session, servlet);
+
+		Assert.assertNull("Context should not be stored on the heap", getContextForSession(servlet, session));
+
+		// The session should only hold the serialized context
+		String key = servlet.getClass().getName() + ".servlet.model";
+		Object stored = session.getAttribute(key);
+		Assert.assertNotNull("Context should be stored in the session", stored);
+		Assert.assertNull("Context should have been discarded once serialized", getField(stored, "uic"));
+		ByteBuffer buffer = (ByteBuffer) getField(stored, "buffer");
+		Assert.assertNotNull("Context should be held in serialized form", buffer);
+		Assert.assertTrue("Serialized context should not be empty", buffer.remaining() > 0);
+
+		// The second request should have carried on from the state left by the first request
+		UIContextStore store = new UIContextStoreOffHeapImpl();
+		UIContext uic = store.getUIContext(session, key);
+		setActiveContext(uic);
+
+		try {
+			OffHeapUI ui = (OffHeapUI) uic.getUI();
+			Assert.assertEquals("Incorrect handle request count", 2, ui.getHandleRequestCount());
+			Assert.assertEquals("Incorrect paint count", 2, ui.getPaintCount());
+		} finally {
+			store.releaseUIContext(session, key, uic);
+		}
+	}
+
 	@Test
 	public void testServiceWithException() throws ServletException, IOException {
 		// A null UI should result in an exception which should be handled internally
@@ -289,7 +331,25 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 	 * @return the user context for the session
 	 */
 	private UIContext getContextForSession(final WServlet servlet, final HttpSession session) {
-		return (UIContext) session.getAttribute(servlet.getClass().getName() + ".servlet.model");
+		Object uic = session.getAttribute(servlet.getClass().getName() + ".servlet.model");
+		return uic instanceof UIContext ? (UIContext) uic : null;
+	}
+
+	/**
+	 * Reads a private field.
+	 *
+	 * @param obj the object to read the field from.
+	 * @param name the name of the field.
+	 * @return the value of the field.
+	 */
+	private Object getField(final Object obj, final String name) {
+		try {
+			Field field = obj.getClass().getDeclaredField(name);
+			field.setAccessible(true);
+			return field.get(obj);
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to read field " + name, e);
+		}
 	}
 
 	/**
@@ -334,6 +394,19 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 		}
 	}
 
+	/**
+	 * The UI used for testing the off-heap store, which is served from the UI registry.
+	 */
+	public static final class OffHeapUI extends MockContainer {
+
+		/**
+		 * Creates an OffHeapUI.
+		 */
+		public OffHeapUI() {
+			add(new WText(LABEL_TEXT));
+		}
+	}
+
 	/**
 	 * A WServlet that lets you specify the root component.
 	 */
@@ -0,0 +1,148 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * AbstractSearchReplaceWriter_Test - unit tests for {@link AbstractSearchReplaceWriter}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class AbstractSearchReplaceWriter_Test {
+
+	@Test
+	public void testNoSearchStrings() throws IOException {
+		Assert.assertEquals("Output should not be altered", "abc", replace(new String[0], "abc"));
+	}
+
+	@Test
+	public void testSimpleReplace() throws IOException {
+		String[] search = {"foo", "bar"};
+		Assert.assertEquals("Incorrect replacement", "[foo] and [bar], [bar][foo]",
+				replace(search, "foo and bar, barfoo"));
+	}
+
+	@Test
+	public void testLongestMatchReplaced() throws IOException {
+		String[] search = {"ab", "abc", "b"};
+		Assert.assertEquals("Longest match should be replaced", "[abc]d[ab][b]", replace(search, "abcdabb"));
+	}
+
+	@Test
+	public void testFirstMatchReplaced() throws IOException {
+		// "bc" is found first, but "abcd" starts earlier
+		String[] search = {"abcd", "bc"};
+		Assert.assertEquals("Earliest match should be replaced", "[abcd]a[bc]", replace(search, "abcdabc"));
+	}
+
+	@Test
+	public void testMatchAcrossBufferBoundary() throws IOException {
+		String[] search = {"<marker/>"};
+		StringBuilder input = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+
+		for (int i = 0; i < 100; i++) {
+			input.append(i).append("<marker/>");
+			expected.append(i).append("[<marker/>]");
+		}
+
+		Assert.assertEquals("Incorrect replacement", expected.toString(), replace(search, input.toString()));
+	}
+
+	@Test
+	public void testMatchesSimpleSearch() throws IOException {
+		String[] search = {"a", "ab", "aab", "bab", "bb", "abba", "baaab"};
+		Random random = new Random(1);
+
+		for (int i = 0; i < 200; i++) {
+			StringBuilder input = new StringBuilder();
+			int len = random.nextInt(40);
+
+			for (int j = 0; j < len; j++) {
+				input.append(random.nextBoolean() ? 'a' : 'b');
+			}
+
+			String text = input.toString();
+			Assert.assertEquals("Incorrect replacement for " + text, simpleReplace(search, text),
+					replace(search, text));
+		}
+	}
+
+	/**
+	 * Replaces the search strings in the input using a {@link AbstractSearchReplaceWriter}.
+	 *
+	 * @param search the search strings.
+	 * @param input the input text.
+	 * @return the text with the search strings replaced by "[search]".
+	 * @throws IOException an IO exception
+	 */
+	private static String replace(final String[] search, final String input) throws IOException {
+		StringWriter backing = new StringWriter();
+
+		try (BracketWriter writer = new BracketWriter(search, backing)) {
+			// Write in small chunks to exercise the buffering
+			for (int i = 0; i < input.length(); i += 3) {
+				writer.write(input, i, Math.min(3, input.length() - i));
+			}
+		}
+
+		return backing.toString();
+	}
+
+	/**
+	 * Replaces the search strings in the input by checking every search string at every position.
+	 *
+	 * @param search the search strings.
+	 * @param input the input text.
+	 * @return the text with the search strings replaced by "[search]".
+	 */
+	private static String simpleReplace(final String[] search, final String input) {
+		StringBuilder result = new StringBuilder();
+		int pos = 0;
+
+		while (pos < input.length()) {
+			String longest = null;
+
+			for (String key : search) {
+				if (input.startsWith(key, pos) && (longest == null || key.length() > longest.length())) {
+					longest = key;
+				}
+			}
+
+			if (longest == null) {
+				result.append(input.charAt(pos++));
+			} else {
+				result.append('[').append(longest).append(']');
+				pos += longest.length();
+			}
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * A search/replace writer which wraps matched search strings in brackets.
+	 */
+	private static final class BracketWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * @param search the search strings.
+		 * @param backing the backing writer.
+		 */
+		private BracketWriter(final String[] search, final Writer backing) {
+			super(search, backing);
+		}
+
+		@Override
+		protected void doReplace(final String search, final Writer backing) throws IOException {
+			backing.write('[');
+			backing.write(search);
+			backing.write(']');
+		}
+	}
+}
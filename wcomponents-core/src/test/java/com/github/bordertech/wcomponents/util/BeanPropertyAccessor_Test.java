@@ -0,0 +1,242 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.beanutils.NestedNullException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * BeanPropertyAccessor_Test - unit tests for {@link BeanPropertyAccessor}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class BeanPropertyAccessor_Test {
+
+	@Test
+	public void testGetProperty() throws Exception {
+		MyBean bean = new MyBean("a", 1);
+
+		Assert.assertEquals("Incorrect string property", "a", BeanPropertyAccessor.getProperty(bean, "name"));
+		Assert.assertEquals("Incorrect primitive property", 1, BeanPropertyAccessor.getProperty(bean, "count"));
+		Assert.assertEquals("Incorrect boolean property", Boolean.FALSE, BeanPropertyAccessor.getProperty(bean,
+				"active"));
+	}
+
+	@Test
+	public void testGetNestedProperty() throws Exception {
+		MyBean bean = new MyBean("a", 1);
+		bean.setChild(new MyBean("b", 2));
+		bean.getChild().setChild(new MySubBean("c", 3));
+
+		Assert.assertEquals("Incorrect nested property", "b", BeanPropertyAccessor.getProperty(bean, "child.name"));
+		Assert.assertEquals("Incorrect nested subclass property", "sub", BeanPropertyAccessor.getProperty(bean,
+				"child.child.extra"));
+	}
+
+	@Test
+	public void testGetIndexedAndMappedProperty() throws Exception {
+		MyBean bean = new MyBean("a", 1);
+		bean.setItems(Arrays.asList("x", "y"));
+		Map<String, Object> map = new HashMap<>();
+		map.put("key", "value");
+		map.put("bean", bean);
+
+		Assert.assertEquals("Incorrect indexed property", "y", BeanPropertyAccessor.getProperty(bean, "items[1]"));
+		Assert.assertEquals("Incorrect map property", "value", BeanPropertyAccessor.getProperty(map, "key"));
+		Assert.assertEquals("Incorrect nested map property", "a", BeanPropertyAccessor.getProperty(map,
+				"bean.name"));
+	}
+
+	@Test(expected = NestedNullException.class)
+	public void testGetNestedNullProperty() throws Exception {
+		BeanPropertyAccessor.getProperty(new MyBean("a", 1), "child.name");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPropertyNullBean() throws Exception {
+		BeanPropertyAccessor.getProperty(null, "name");
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testGetUnknownProperty() throws Exception {
+		BeanPropertyAccessor.getProperty(new MyBean("a", 1), "unknown");
+	}
+
+	@Test(expected = InvocationTargetException.class)
+	public void testGetPropertyException() throws Exception {
+		BeanPropertyAccessor.getProperty(new MyBean("a", 1), "broken");
+	}
+
+	@Test
+	public void testGetPropertyError() throws Exception {
+		try {
+			BeanPropertyAccessor.getProperty(new MyBean("a", 1), "error");
+			Assert.fail("Should have thrown an InvocationTargetException");
+		} catch (InvocationTargetException e) {
+			Assert.assertTrue("Error should be wrapped, as for PropertyUtils", e.getCause() instanceof LinkageError);
+		}
+	}
+
+	@Test
+	public void testSetProperty() throws Exception {
+		MyBean bean = new MyBean("a", 1);
+		bean.setChild(new MyBean("b", 2));
+
+		BeanPropertyAccessor.setProperty(bean, "name", "x");
+		BeanPropertyAccessor.setProperty(bean, "count", 5);
+		BeanPropertyAccessor.setProperty(bean, "child.name", "y");
+		BeanPropertyAccessor.setProperty(bean, "name", null);
+
+		Assert.assertNull("Incorrect string property after set", bean.getName());
+		Assert.assertEquals("Incorrect primitive property after set", 5, bean.getCount());
+		Assert.assertEquals("Incorrect nested property after set", "y", bean.getChild().getName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetPropertyIncorrectType() throws Exception {
+		BeanPropertyAccessor.setProperty(new MyBean("a", 1), "count", "5");
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testSetReadOnlyProperty() throws Exception {
+		BeanPropertyAccessor.setProperty(new MyBean("a", 1), "broken", "x");
+	}
+
+	/**
+	 * A test bean.
+	 */
+	public static class MyBean {
+
+		/**
+		 * The name.
+		 */
+		private String name;
+
+		/**
+		 * The count.
+		 */
+		private int count;
+
+		/**
+		 * The child bean.
+		 */
+		private MyBean child;
+
+		/**
+		 * The items.
+		 */
+		private List<String> items;
+
+		/**
+		 * @param name the name
+		 * @param count the count
+		 */
+		public MyBean(final String name, final int count) {
+			this.name = name;
+			this.count = count;
+		}
+
+		/**
+		 * @return the name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @param name the name to set
+		 */
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return the count
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * @param count the count to set
+		 */
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+		/**
+		 * @return false
+		 */
+		public boolean isActive() {
+			return false;
+		}
+
+		/**
+		 * @return the child bean
+		 */
+		public MyBean getChild() {
+			return child;
+		}
+
+		/**
+		 * @param child the child bean to set
+		 */
+		public void setChild(final MyBean child) {
+			this.child = child;
+		}
+
+		/**
+		 * @return the items
+		 */
+		public List<String> getItems() {
+			return items;
+		}
+
+		/**
+		 * @param items the items to set
+		 */
+		public void setItems(final List<String> items) {
+			this.items = items;
+		}
+
+		/**
+		 * @return never returns
+		 */
+		public String getBroken() {
+			throw new IllegalStateException("Broken property");
+		}
+
+		/**
+		 * @return never returns
+		 */
+		public String getError() {
+			throw new LinkageError("Error property");
+		}
+	}
+
+	/**
+	 * A test bean subclass.
+	 */
+	public static class MySubBean extends MyBean {
+
+		/**
+		 * @param name the name
+		 * @param count the count
+		 */
+		public MySubBean(final String name, final int count) {
+			super(name, count);
+		}
+
+		/**
+		 * @return the extra property
+		 */
+		public String getExtra() {
+			return "sub";
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TableUtil_Test - unit tests for the sorting methods of {@link TableUtil}.
+ *
+ * @author Aswin Kandula
+ * @since 1.5.15
+ */
+public class TableUtil_Test {
+
+	/**
+	 * Compares comparable values.
+	 */
+	private static final Comparator<Object> COMPARATOR = new Comparator<Object>() {
+		@Override
+		public int compare(final Object o1, final Object o2) {
+			return ((Comparable) o1).compareTo(o2);
+		}
+	};
+
+	@Test
+	public void testSortIndices() {
+		Object[] data = new Object[]{"c", "a", "d", "b"};
+
+		Assert.assertArrayEquals("Incorrect ascending sort", new int[]{1, 3, 0, 2}, TableUtil.sortIndices(data,
+				COMPARATOR, true));
+		Assert.assertArrayEquals("Incorrect descending sort", new int[]{2, 0, 3, 1}, TableUtil.sortIndices(data,
+				COMPARATOR, false));
+		Assert.assertArrayEquals("Incorrect sort of no rows", new int[0], TableUtil.sortIndices(new Object[0],
+				COMPARATOR, true));
+	}
+
+	@Test
+	public void testSortIndicesStable() {
+		Object[] data = new Object[]{"b", "a", "b", "a", "b"};
+
+		Assert.assertArrayEquals("Ascending sort should be stable", new int[]{1, 3, 0, 2, 4}, TableUtil.
+				sortIndices(data, COMPARATOR, true));
+		Assert.assertArrayEquals("Descending sort should be stable", new int[]{0, 2, 4, 1, 3}, TableUtil.
+				sortIndices(data, COMPARATOR, false));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSortIndicesMultipleColumns() {
+		Object[][] data = new Object[][]{
+			{"b", "a", "b", "a"},
+			{1, 2, 3, 1}
+		};
+
+		int[] sorted = TableUtil.sortIndices(data, new Comparator[]{COMPARATOR, COMPARATOR}, new boolean[]{true,
+			false});
+		Assert.assertArrayEquals("Incorrect multi-column sort", new int[]{1, 3, 2, 0}, sorted);
+	}
+
+	@Test
+	public void testSortIndicesParallel() {
+		Config.getInstance().setProperty(ConfigurationProperties.TABLE_SORT_PARALLEL_THRESHOLD, "100");
+
+		try {
+			Random random = new Random(1);
+			Object[] data = new Object[5000];
+
+			for (int i = 0; i < data.length; i++) {
+				data[i] = random.nextInt(50);
+			}
+
+			int[] sorted = TableUtil.sortIndices(data, COMPARATOR, true);
+			Assert.assertEquals("Incorrect number of rows", data.length, sorted.length);
+
+			for (int i = 1; i < sorted.length; i++) {
+				int diff = COMPARATOR.compare(data[sorted[i - 1]], data[sorted[i]]);
+				Assert.assertTrue("Rows should be in order", diff <= 0);
+				Assert.assertTrue("Equal rows should keep their order", diff < 0 || sorted[i - 1] < sorted[i]);
+			}
+		} finally {
+			Config.reset();
+		}
+	}
+
+	@Test
+	public void testSortIndicesMergeSort() {
+		Random random = new Random(1);
+		final Object[] data = new Object[1000];
+
+		for (int i = 0; i < data.length; i++) {
+			data[i] = random.nextInt(50);
+		}
+
+		// Arrays.sort of objects is a stable sort
+		Integer[] expected = new Integer[data.length];
+
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i;
+		}
+
+		Arrays.sort(expected, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer row1, final Integer row2) {
+				return COMPARATOR.compare(data[row1], data[row2]);
+			}
+		});
+
+		int[] sorted = TableUtil.sortIndices(data, COMPARATOR, true);
+
+		for (int i = 0; i < sorted.length; i++) {
+			Assert.assertEquals("Incorrect row at " + i, expected[i].intValue(), sorted[i]);
+		}
+
+		int[] sortIndices = new int[data.length];
+
+		for (int i = 0; i < sortIndices.length; i++) {
+			sortIndices[i] = i;
+		}
+
+		TableUtil.sortData(data, COMPARATOR, true, 0, data.length - 1, sortIndices);
+		Assert.assertArrayEquals("Incorrect sort of data", sorted, sortIndices);
+	}
+
+	@Test
+	public void testSortData() {
+		Object[] data = new Object[]{"c", "a", "d", "b", "a"};
+		int[] sortIndices = new int[]{0, 1, 2, 3, 4};
+
+		TableUtil.sortData(data, COMPARATOR, true, 1, 3, sortIndices);
+		Assert.assertArrayEquals("Only the given range should be sorted", new int[]{0, 1, 3, 2, 4}, sortIndices);
+
+		TableUtil.sortData(data, COMPARATOR, false, 0, 4, sortIndices);
+		Assert.assertArrayEquals("Incorrect descending sort", new int[]{2, 0, 3, 1, 4}, sortIndices);
+	}
+}
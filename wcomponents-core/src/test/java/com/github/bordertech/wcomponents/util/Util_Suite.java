@@ -12,9 +12,11 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	AbstractSearchReplaceWriter_Test.class,
 	AbstractComparator_Test.class,
 	AbstractTreeNode_Test.class,
 	Base64Util_Test.class,
+	BeanPropertyAccessor_Test.class,
 	DefaultInternalConfiguration_Test.class,
 	Duplet_Test.class,
 	EmptyIterator_Test.class,
@@ -29,6 +31,7 @@ import org.junit.runners.Suite;
 	ObjectGraphNode_Test.class,
 	ReflectionUtil_Test.class,
 	StepCountUtil_Test.class,
+	TableUtil_Test.class,
 	ThemeUtil_Test.class,
 	TreeItemUtil_Test.class,
 	TreeUtil_Test.class,
@@ -248,6 +248,25 @@ public class WhiteSpaceFilterPrintWriter_Test {
 		Assert.assertEquals(ERROR_MESSAGE + input + '"', expected, filter(input));
 	}
 
+	@Test
+	public void testBulkWriteMatchesCharacterWrite() {
+		// Long enough to cross the String chunk boundaries, with whitespace and tags spanning them
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			builder.append("<ui:root>  foo \n bar  <pre>  x  </pre>\t<!-- comment -->  <ui:text>  y  </ui:text></ui:root>  ");
+		}
+		String input = builder.toString();
+
+		StringWriter stringWriter = new StringWriter();
+		WhiteSpaceFilterPrintWriter filter = new WhiteSpaceFilterPrintWriter(stringWriter);
+		for (int i = 0; i < input.length(); i++) {
+			filter.write(input.charAt(i));
+		}
+		filter.flush();
+
+		Assert.assertEquals("Bulk write should match character write", stringWriter.toString(), filter(input));
+	}
+
 	/**
 	 * @param input the test input
 	 * @return the filtered result